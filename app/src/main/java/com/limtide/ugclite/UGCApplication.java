@@ -5,6 +5,7 @@ import android.util.Log;
 import android.os.Handler;
 import android.os.Looper;
 
+import com.limtide.ugclite.network.HttpClientProvider;
 import com.limtide.ugclite.utils.MuteManager;
 import com.limtide.ugclite.utils.CacheManager;
 import com.limtide.ugclite.utils.VideoThumbnailUtil;
@@ -30,6 +31,9 @@ public class UGCApplication extends Application {
         mainHandler = new Handler(Looper.getMainLooper());
         Log.d(TAG, "Application onCreate");
 
+        // 初始化全局共享的OkHttpClient（带HTTP磁盘缓存），需早于Glide和网络请求
+        HttpClientProvider.init(this);
+
         // 重置静音状态（APP冷启后重置为非静音）
         MuteManager muteManager = MuteManager.getInstance(this);
         muteManager.resetForColdStart();
@@ -0,0 +1,39 @@
+package com.limtide.ugclite;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.AppGlideModule;
+import com.limtide.ugclite.network.HttpClientProvider;
+
+import java.io.InputStream;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+
+/**
+ * Glide全局配置
+ * 让Glide的网络图片请求走全局共享的OkHttpClient，复用连接池和HTTP缓存，并按IMAGE类别统计缓存命中
+ */
+@GlideModule
+public class UGCGlideModule extends AppGlideModule {
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        OkHttpClient client = HttpClientProvider.getInstance().getClient();
+        Call.Factory callFactory = request -> client.newCall(
+                HttpClientProvider.tag(request.newBuilder(), HttpClientProvider.RequestCategory.IMAGE).build());
+        registry.replace(GlideUrl.class, InputStream.class, new OkHttpUrlLoader.Factory(callFactory));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,123 @@
+package com.limtide.ugclite.data.model;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 瀑布流卡片渲染模型 - 不可变
+ * 封面、标题、作者、点赞等展示值在帖子进入列表前（后台线程）算好，
+ * onBindViewHolder只把这些值赋给View，不再遍历clips、裁剪文本或格式化数字
+ *
+ * 线程安全：所有字段final，可在任意线程创建后交给主线程使用
+ */
+public final class CardModel {
+
+    public static final int COVER_NONE = -1;  // 没有可用封面
+    public static final int COVER_IMAGE = 0;  // 图片封面（与Clip.type一致）
+    public static final int COVER_VIDEO = 1;  // 视频封面，需要取帧或使用缓存缩略图
+
+    // 没有postId的卡片使用的本地id，取负数与postId派生的非负id区分
+    private static final AtomicLong NEXT_LOCAL_ID = new AtomicLong(-1);
+
+    public final Post post;             // 原始帖子，点击跳转详情页时使用
+    public final String postId;
+    public final long stableId;         // RecyclerView稳定id，由postId派生，点赞状态变化时保持不变
+    public final String coverUrl;       // 封面地址，COVER_NONE时为null
+    public final int coverType;
+    public final float coverAspectRatio; // 已限制在3:4到4:3之间
+    public final int coverWidthPx;      // 卡片列宽（px），封面按此尺寸解码
+    public final int coverHeightPx;     // 按卡片固定宽度换算好的封面高度
+    public final String displayText;    // 标题，没有标题时为正文，已trim
+    public final int titleLineCount;    // 标题按卡片宽度排版后的行数（1-2）
+    public final int estimatedHeightPx; // 整张卡片的估算高度（含外边距），用于入列时分配瀑布流的列
+    public final String authorName;
+    public final String avatarUrl;      // 没有头像时为null
+    public final boolean liked;
+    public final int likeCount;
+    public final String likeCountText;  // 格式化后的点赞数
+
+    public CardModel(Post post, String coverUrl, int coverType, float coverAspectRatio,
+                     int coverWidthPx, int coverHeightPx, String displayText, int titleLineCount,
+                     int estimatedHeightPx, String authorName, String avatarUrl, boolean liked, int likeCount) {
+        this(stableIdOf(post != null ? post.postId : null), post, coverUrl, coverType, coverAspectRatio,
+                coverWidthPx, coverHeightPx, displayText, titleLineCount, estimatedHeightPx,
+                authorName, avatarUrl, liked, likeCount);
+    }
+
+    private CardModel(long stableId, Post post, String coverUrl, int coverType, float coverAspectRatio,
+                      int coverWidthPx, int coverHeightPx, String displayText, int titleLineCount,
+                      int estimatedHeightPx, String authorName, String avatarUrl, boolean liked, int likeCount) {
+        this.stableId = stableId;
+        this.post = post;
+        this.postId = post != null ? post.postId : null;
+        this.coverUrl = coverUrl;
+        this.coverType = coverType;
+        this.coverAspectRatio = coverAspectRatio;
+        this.coverWidthPx = coverWidthPx;
+        this.coverHeightPx = coverHeightPx;
+        this.displayText = displayText;
+        this.titleLineCount = titleLineCount;
+        this.estimatedHeightPx = estimatedHeightPx;
+        this.authorName = authorName;
+        this.avatarUrl = avatarUrl;
+        this.liked = liked;
+        this.likeCount = likeCount;
+        this.likeCountText = formatCount(likeCount);
+    }
+
+    /**
+     * 点赞状态变化后生成新的模型，其它展示值保持不变
+     */
+    public CardModel withLikeState(boolean newLiked, int newLikeCount) {
+        if (newLiked == liked && newLikeCount == likeCount) {
+            return this;
+        }
+        return new CardModel(stableId, post, coverUrl, coverType, coverAspectRatio, coverWidthPx,
+                coverHeightPx, displayText, titleLineCount, estimatedHeightPx, authorName, avatarUrl,
+                newLiked, newLikeCount);
+    }
+
+    /**
+     * 由postId派生稳定id（64位FNV-1a哈希），同一postId刷新前后得到相同的id
+     * postId为空时分配一个进程内唯一的负数id
+     */
+    public static long stableIdOf(String postId) {
+        if (postId == null || postId.isEmpty()) {
+            return NEXT_LOCAL_ID.getAndDecrement();
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < postId.length(); i++) {
+            hash ^= postId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // 保持非负，与本地id区分
+        return hash & Long.MAX_VALUE;
+    }
+
+    /**
+     * 格式化数量显示：1234 -> 1.2K，56789 -> 56K，1234567 -> 1.2M
+     */
+    public static String formatCount(int count) {
+        if (count < 1000) {
+            return String.valueOf(count);
+        } else if (count < 10000) {
+            return String.format(Locale.US, "%.1fK", count / 1000.0);
+        } else if (count < 1000000) {
+            return String.format(Locale.US, "%dK", count / 1000);
+        } else {
+            return String.format(Locale.US, "%.1fM", count / 1000000.0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CardModel{" +
+                "postId=" + postId +
+                ", stableId=" + stableId +
+                ", coverType=" + coverType +
+                ", coverHeightPx=" + coverHeightPx +
+                ", estimatedHeightPx=" + estimatedHeightPx +
+                ", liked=" + liked +
+                '}';
+    }
+}
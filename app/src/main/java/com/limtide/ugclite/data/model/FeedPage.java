@@ -0,0 +1,60 @@
+package com.limtide.ugclite.data.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Feed分页数据 - 不可变
+ * 由FeedRepository.getFeedPages发出原始分页，经FeedPageTransformer过滤、去重并预计算布局后交给主线程
+ */
+public final class FeedPage {
+
+    public final int cursor;         // 请求该页使用的cursor
+    public final int rawCount;       // 服务端返回的原始条数（过滤、去重之前），用于推进cursor
+    public final boolean hasMore;    // 服务端是否还有更多数据
+    public final long latencyMs;     // 从发起请求到返回的耗时
+    public final List<Post> posts;   // 当前的帖子列表（处理后为可直接展示的帖子）
+    public final List<CardModel> cards; // 与posts一一对应的卡片渲染模型，未预计算时为null
+
+    public FeedPage(int cursor, int rawCount, boolean hasMore, long latencyMs,
+                    List<Post> posts, List<CardModel> cards) {
+        this.cursor = cursor;
+        this.rawCount = rawCount;
+        this.hasMore = hasMore;
+        this.latencyMs = latencyMs;
+        this.posts = posts != null ? Collections.unmodifiableList(posts) : Collections.emptyList();
+        this.cards = cards != null ? Collections.unmodifiableList(cards) : null;
+    }
+
+    /**
+     * 替换帖子列表，原有的布局预计算结果作废
+     */
+    public FeedPage withPosts(List<Post> newPosts) {
+        return new FeedPage(cursor, rawCount, hasMore, latencyMs, newPosts, null);
+    }
+
+    /**
+     * 附加与posts一一对应的卡片渲染模型
+     */
+    public FeedPage withCards(List<CardModel> newCards) {
+        return new FeedPage(cursor, rawCount, hasMore, latencyMs, posts, newCards);
+    }
+
+    /**
+     * 下一页的cursor
+     */
+    public int nextCursor() {
+        return cursor + rawCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedPage{" +
+                "cursor=" + cursor +
+                ", rawCount=" + rawCount +
+                ", hasMore=" + hasMore +
+                ", posts=" + posts.size() +
+                ", latencyMs=" + latencyMs +
+                '}';
+    }
+}
@@ -178,6 +178,10 @@ public class Post implements Parcelable, Serializable {
         @SerializedName("end")
         public int end;   // 高亮结束位置
 
+        // 无参构造函数，供流式解析器使用
+        public Hashtag() {
+        }
+
         @Override
         public int describeContents() {
             return 0;
@@ -220,6 +224,10 @@ public class Post implements Parcelable, Serializable {
         @SerializedName("url")
         public String url;
 
+        // 无参构造函数，供流式解析器使用
+        public Clip() {
+        }
+
         /**
          * 这是一个辅助方法（非 JSON 字段），用于瀑布流计算
          * 防止除以 0 导致崩溃
@@ -272,6 +280,10 @@ public class Post implements Parcelable, Serializable {
         @SerializedName("url")
         public String url;
 
+        // 无参构造函数，供流式解析器使用
+        public Music() {
+        }
+
         @Override
         public int describeContents() {
             return 0;
@@ -0,0 +1,137 @@
+package com.limtide.ugclite.data.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.limtide.ugclite.data.model.FeedPage;
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.network.NetworkQualityEstimator;
+import com.limtide.ugclite.utils.CardModelFactory;
+import com.limtide.ugclite.utils.CoverLayoutUtil;
+import com.limtide.ugclite.utils.VideoThumbnailUtil;
+
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Feed分页处理管线 - 把原始分页变成可直接渲染的分页
+ * - computation线程：过滤纯音频帖子、按postId去重、构建卡片渲染模型(CardModel)
+ * - IO线程：为本页视频安排缩略图预加载
+ * - 主线程：只接收处理完成的分页
+ *
+ * 线程说明：observeOn保证同一时刻只有一个线程处理分页，seenPostIds无需加锁
+ */
+public class FeedPageTransformer implements FlowableTransformer<FeedPage, FeedPage> {
+
+    private static final String TAG = "FeedPageTransformer";
+
+    private final Context context;
+    private final Set<String> seenPostIds;
+
+    /**
+     * @param context 上下文（只保留ApplicationContext）
+     * @param existingPostIds 已在列表中的postId，这些帖子不会再次发出
+     */
+    public FeedPageTransformer(Context context, Set<String> existingPostIds) {
+        this.context = context.getApplicationContext();
+        this.seenPostIds = new HashSet<>(existingPostIds);
+    }
+
+    @Override
+    public Publisher<FeedPage> apply(Flowable<FeedPage> upstream) {
+        return upstream
+                .observeOn(Schedulers.computation())
+                .map(page -> page.withPosts(dedupe(filterPosts(page.posts))))
+                .map(page -> page.withCards(CardModelFactory.build(context, page.posts)))
+                .observeOn(Schedulers.io())
+                .doOnNext(this::scheduleThumbnailPreload)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    /**
+     * 过滤帖子，只显示图片和视频类型，过滤掉纯音频（如MP3）
+     */
+    public static List<Post> filterPosts(List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return posts;
+        }
+
+        List<Post> filteredPosts = new ArrayList<>();
+        for (Post post : posts) {
+            if (shouldShowPost(post)) {
+                filteredPosts.add(post);
+            }
+        }
+        return filteredPosts;
+    }
+
+    /**
+     * 判断是否应该显示该帖子 - 至少有一个图片或视频类型的clip
+     */
+    public static boolean shouldShowPost(Post post) {
+        if (post == null || post.clips == null || post.clips.isEmpty()) {
+            Log.d(TAG, "过滤掉无clips的帖子: " + (post != null ? post.title : "null"));
+            return false;
+        }
+
+        if (CoverLayoutUtil.findCoverClip(post) == null) {
+            Log.d(TAG, "过滤掉纯音频帖子的clips，帖子标题: " + post.title);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 按postId去重，postId为空的帖子全部保留
+     */
+    private List<Post> dedupe(List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return posts;
+        }
+        List<Post> result = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (post.postId == null || post.postId.isEmpty() || seenPostIds.add(post.postId)) {
+                result.add(post);
+            }
+        }
+        if (result.size() != posts.size()) {
+            Log.d(TAG, "分页去重，丢弃重复帖子: " + (posts.size() - result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 为本页前几个视频帖子安排缩略图预加载（已有缓存的跳过），数量由网络档位决定
+     */
+    private void scheduleThumbnailPreload(FeedPage page) {
+        int maxPreload = NetworkQualityEstimator.getInstance().getTier().thumbnailPreloadCount;
+        int preloadCount = 0;
+        for (Post post : page.posts) {
+            if (preloadCount >= maxPreload) {
+                break;
+            }
+            Post.Clip cover = CoverLayoutUtil.findCoverClip(post);
+            if (cover == null || cover.type != 1 || cover.url == null || cover.url.isEmpty()) {
+                continue;
+            }
+            try {
+                if (VideoThumbnailUtil.getCachedThumbnail(context, cover.url) == null) {
+                    VideoThumbnailUtil.preloadThumbnail(context, cover.url, null);
+                    preloadCount++;
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "预加载视频缩略图失败: " + cover.url, e);
+            }
+        }
+        Log.d(TAG, "分页处理完成: " + page + "，安排缩略图预加载: " + preloadCount);
+    }
+}
@@ -0,0 +1,403 @@
+package com.limtide.ugclite.data.repository;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.limtide.ugclite.data.model.FeedPage;
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.database.AppDatabase;
+import com.limtide.ugclite.database.dao.FeedDao;
+import com.limtide.ugclite.database.entity.CachedFeedPost;
+import com.limtide.ugclite.database.entity.FeedAuthorEntity;
+import com.limtide.ugclite.database.entity.FeedClipEntity;
+import com.limtide.ugclite.database.entity.FeedHashtagEntity;
+import com.limtide.ugclite.database.entity.FeedPostEntity;
+import com.limtide.ugclite.network.ApiService;
+import com.limtide.ugclite.utils.CardModelFactory;
+import com.limtide.ugclite.utils.CoverLayoutUtil;
+import com.limtide.ugclite.utils.TextLayoutCache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Feed数据仓库
+ * 位于ApiService之前，提供离线优先的Feed数据：
+ * - 冷启动时先返回Room中缓存的作品，再由网络请求在后台重新验证
+ * - 网络返回的每一页按postId合并写入缓存（刷新页排在最前，加载更多追加在后）
+ * - 缓存按写入时间和数量双重限制过期
+ */
+public class FeedRepository {
+
+    private static final String TAG = "FeedRepository";
+
+    // 缓存过期策略
+    private static final int MAX_CACHED_POSTS = 100; // 最多缓存100条作品
+    private static final long MAX_CACHE_AGE_MS = 3L * 24 * 60 * 60 * 1000; // 作品最多保留3天
+
+    private static volatile FeedRepository instance;
+
+    private final AppDatabase database;
+    private final FeedDao feedDao;
+    private final ApiService apiService;
+    private final ExecutorService executorService;
+
+    /**
+     * 获取FeedRepository实例 - 双重检查锁定单例模式
+     */
+    public static FeedRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FeedRepository.class) {
+                if (instance == null) {
+                    instance = new FeedRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private FeedRepository(Context context) {
+        database = AppDatabase.getDatabase(context);
+        feedDao = database.feedDao();
+        apiService = ApiService.getInstance();
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * 读取缓存的作品（按Feed顺序）作为第一页，过期数据会先被清理
+     * 在缓存写入所用的单线程上读取，与写入串行；读取失败时发出空页
+     * @param limit 最多返回的数量
+     */
+    public Single<FeedPage> getCachedFeedPage(int limit) {
+        return Single.fromCallable(() -> {
+            List<Post> posts = new ArrayList<>();
+            try {
+                pruneCache(System.currentTimeMillis());
+                List<CachedFeedPost> cached = feedDao.getCachedPosts(limit);
+                for (CachedFeedPost cachedPost : cached) {
+                    posts.add(toPost(cachedPost));
+                }
+                Log.d(TAG, "读取缓存作品: " + posts.size() + " 条");
+            } catch (Exception e) {
+                Log.e(TAG, "读取Feed缓存失败", e);
+            }
+            return new FeedPage(0, posts.size(), true, 0, posts, null);
+        }).subscribeOn(Schedulers.from(executorService));
+    }
+
+    /**
+     * 从网络获取Feed数据，成功后合并写入缓存
+     * 参数与ApiService.getFeedData一致，回调不等待缓存写入完成
+     * @return 请求句柄，相同页的并发请求会合并为一次网络调用
+     */
+    public ApiService.FeedRequestHandle getFeedData(int count, boolean acceptVideoClip, int cursor, ApiService.FeedCallback callback) {
+        return apiService.getFeedData(count, acceptVideoClip, cursor, new ApiService.FeedCallback() {
+            @Override
+            public void onPostParsed(Post post, int index) {
+                if (callback != null) {
+                    callback.onPostParsed(post, index);
+                }
+            }
+
+            @Override
+            public void onSuccess(List<Post> posts, boolean hasMore) {
+                if (posts != null && !posts.isEmpty()) {
+                    savePage(new ArrayList<>(posts), cursor == 0);
+                }
+                if (callback != null) {
+                    callback.onSuccess(posts, hasMore);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) {
+                    callback.onError(errorMessage);
+                }
+            }
+        });
+    }
+
+    /**
+     * 获取单页Feed数据（Rx版本），成功后同样合并写入缓存
+     * 作品逐条解析出来时即预计算卡片标题，与读取剩余响应体并行
+     * 取消订阅时解除回调，相同页没有其它调用方时取消网络请求
+     */
+    public Single<FeedPage> getFeedPage(int count, boolean acceptVideoClip, int cursor) {
+        return Single.create(emitter -> {
+            long startTime = SystemClock.uptimeMillis();
+            ApiService.FeedRequestHandle handle = getFeedData(count, acceptVideoClip, cursor, new ApiService.FeedCallback() {
+                @Override
+                public void onPostParsed(Post post, int index) {
+                    // 边解析边预计算卡片标题，分页管线构建CardModel时直接命中缓存
+                    if (CoverLayoutUtil.findCoverClip(post) != null) {
+                        TextLayoutCache.getInstance().precomputeTitle(post.postId, CardModelFactory.displayText(post));
+                    }
+                }
+
+                @Override
+                public void onSuccess(List<Post> posts, boolean hasMore) {
+                    int rawCount = posts != null ? posts.size() : 0;
+                    emitter.onSuccess(new FeedPage(cursor, rawCount, hasMore,
+                            SystemClock.uptimeMillis() - startTime, posts, null));
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    emitter.tryOnError(new IOException(errorMessage));
+                }
+            });
+            emitter.setCancellable(handle::cancel);
+        });
+    }
+
+    /**
+     * 按cursor流获取连续的Feed分页
+     * - 每收到一个cursor就发起该页请求，最多maxInFlight页同时在途
+     * - 无论返回先后，分页都按cursor的请求顺序发出
+     * - 下游处理跟不上时，待请求的cursor在上游缓冲，不会额外发起请求
+     * @param cursors 需要加载的分页cursor
+     * @param maxInFlight 最多同时在途的页数
+     */
+    public Flowable<FeedPage> getFeedPages(Flowable<Integer> cursors, int count, boolean acceptVideoClip, int maxInFlight) {
+        return cursors.concatMapEager(
+                cursor -> getFeedPage(count, acceptVideoClip, cursor).toFlowable(),
+                maxInFlight, 1);
+    }
+
+    /**
+     * 清空Feed缓存
+     */
+    public void clearCache() {
+        executorService.execute(() -> {
+            try {
+                feedDao.deleteAllPosts();
+                feedDao.deleteOrphanAuthors();
+                Log.d(TAG, "Feed缓存已清空");
+            } catch (Exception e) {
+                Log.e(TAG, "清空Feed缓存失败", e);
+            }
+        });
+    }
+
+    /**
+     * 将一页作品按postId合并写入缓存
+     * @param posts 本页作品
+     * @param isFirstPage 是否为第一页（刷新），第一页排在已有缓存之前
+     */
+    private void savePage(List<Post> posts, boolean isFirstPage) {
+        executorService.execute(() -> {
+            try {
+                database.runInTransaction(() -> mergePage(posts, isFirstPage, System.currentTimeMillis()));
+            } catch (Exception e) {
+                Log.e(TAG, "写入Feed缓存失败", e);
+            }
+        });
+    }
+
+    private void mergePage(List<Post> posts, boolean isFirstPage, long now) {
+        // 按postId去重，保留页内首次出现的顺序
+        Map<String, Post> pagePosts = new LinkedHashMap<>();
+        for (Post post : posts) {
+            if (post != null && post.postId != null && !post.postId.isEmpty()
+                    && !pagePosts.containsKey(post.postId)) {
+                pagePosts.put(post.postId, post);
+            }
+        }
+        if (pagePosts.isEmpty()) {
+            return;
+        }
+
+        // 计算合并后的整体顺序
+        List<String> existingIds = feedDao.getOrderedPostIds();
+        List<String> order = new ArrayList<>(existingIds.size() + pagePosts.size());
+        if (isFirstPage) {
+            order.addAll(pagePosts.keySet());
+            for (String id : existingIds) {
+                if (!pagePosts.containsKey(id)) {
+                    order.add(id);
+                }
+            }
+        } else {
+            Set<String> existing = new HashSet<>(existingIds);
+            order.addAll(existingIds);
+            for (String id : pagePosts.keySet()) {
+                if (!existing.contains(id)) {
+                    order.add(id);
+                }
+            }
+        }
+
+        List<FeedPostEntity> postEntities = new ArrayList<>(pagePosts.size());
+        List<FeedClipEntity> clipEntities = new ArrayList<>();
+        List<FeedHashtagEntity> hashtagEntities = new ArrayList<>();
+        Map<String, FeedAuthorEntity> authorEntities = new LinkedHashMap<>();
+
+        for (int i = 0; i < order.size(); i++) {
+            String postId = order.get(i);
+            Post post = pagePosts.get(postId);
+            if (post == null) {
+                // 本页之外的作品只更新顺序，保留原写入时间
+                feedDao.updateSortIndex(postId, i);
+                continue;
+            }
+            postEntities.add(toPostEntity(post, i, now));
+            if (post.clips != null) {
+                for (int c = 0; c < post.clips.size(); c++) {
+                    Post.Clip clip = post.clips.get(c);
+                    if (clip != null) {
+                        clipEntities.add(toClipEntity(postId, c, clip));
+                    }
+                }
+            }
+            if (post.hashtags != null) {
+                for (int h = 0; h < post.hashtags.size(); h++) {
+                    Post.Hashtag hashtag = post.hashtags.get(h);
+                    if (hashtag != null) {
+                        hashtagEntities.add(toHashtagEntity(postId, h, hashtag));
+                    }
+                }
+            }
+            if (post.author != null && post.author.userId != null && !post.author.userId.isEmpty()) {
+                authorEntities.put(post.author.userId, toAuthorEntity(post.author));
+            }
+        }
+
+        List<String> pageIds = new ArrayList<>(pagePosts.keySet());
+        feedDao.upsertAuthors(new ArrayList<>(authorEntities.values()));
+        feedDao.upsertPosts(postEntities);
+        feedDao.deleteClipsForPosts(pageIds);
+        feedDao.deleteHashtagsForPosts(pageIds);
+        feedDao.insertClips(clipEntities);
+        feedDao.insertHashtags(hashtagEntities);
+
+        pruneCache(now);
+        Log.d(TAG, "缓存合并完成 - 本页: " + pageIds.size() + " 条, 第一页: " + isFirstPage
+                + ", 缓存总数: " + feedDao.getPostCount());
+    }
+
+    /**
+     * 按时间和数量清理过期缓存
+     */
+    private void pruneCache(long now) {
+        int expired = feedDao.deleteExpiredPosts(now - MAX_CACHE_AGE_MS);
+        int trimmed = feedDao.trimToCount(MAX_CACHED_POSTS);
+        if (expired > 0 || trimmed > 0) {
+            feedDao.deleteOrphanAuthors();
+            Log.d(TAG, "清理Feed缓存 - 过期: " + expired + " 条, 超量: " + trimmed + " 条");
+        }
+    }
+
+    // ==========================================
+    // Post与缓存实体之间的转换
+    // ==========================================
+
+    private static FeedPostEntity toPostEntity(Post post, int sortIndex, long now) {
+        FeedPostEntity entity = new FeedPostEntity();
+        entity.setPostId(post.postId);
+        entity.setTitle(post.title);
+        entity.setContent(post.content);
+        entity.setCreateTime(post.createTime);
+        entity.setAuthorId(post.author != null ? post.author.userId : null);
+        if (post.music != null) {
+            entity.setMusicUrl(post.music.url);
+            entity.setMusicVolume(post.music.volume);
+            entity.setMusicSeekTime(post.music.seekTime);
+        }
+        entity.setSortIndex(sortIndex);
+        entity.setCachedAt(now);
+        return entity;
+    }
+
+    private static FeedClipEntity toClipEntity(String postId, int clipIndex, Post.Clip clip) {
+        FeedClipEntity entity = new FeedClipEntity();
+        entity.setPostId(postId);
+        entity.setClipIndex(clipIndex);
+        entity.setType(clip.type);
+        entity.setWidth(clip.width);
+        entity.setHeight(clip.height);
+        entity.setUrl(clip.url);
+        return entity;
+    }
+
+    private static FeedHashtagEntity toHashtagEntity(String postId, int tagIndex, Post.Hashtag hashtag) {
+        FeedHashtagEntity entity = new FeedHashtagEntity();
+        entity.setPostId(postId);
+        entity.setTagIndex(tagIndex);
+        entity.setStart(hashtag.start);
+        entity.setEnd(hashtag.end);
+        return entity;
+    }
+
+    private static FeedAuthorEntity toAuthorEntity(Post.Author author) {
+        FeedAuthorEntity entity = new FeedAuthorEntity();
+        entity.setUserId(author.userId);
+        entity.setNickname(author.nickname);
+        entity.setAvatarUrl(author.avatarUrl);
+        return entity;
+    }
+
+    private static Post toPost(CachedFeedPost cached) {
+        FeedPostEntity entity = cached.post;
+        Post post = new Post();
+        post.postId = entity.getPostId();
+        post.title = entity.getTitle();
+        post.content = entity.getContent();
+        post.createTime = entity.getCreateTime();
+
+        if (cached.author != null) {
+            Post.Author author = new Post.Author();
+            author.userId = cached.author.getUserId();
+            author.nickname = cached.author.getNickname();
+            author.avatarUrl = cached.author.getAvatarUrl();
+            post.author = author;
+        }
+
+        if (cached.clips != null) {
+            List<FeedClipEntity> clips = new ArrayList<>(cached.clips);
+            Collections.sort(clips, Comparator.comparingInt(FeedClipEntity::getClipIndex));
+            for (FeedClipEntity clipEntity : clips) {
+                Post.Clip clip = new Post.Clip();
+                clip.type = clipEntity.getType();
+                clip.width = clipEntity.getWidth();
+                clip.height = clipEntity.getHeight();
+                clip.url = clipEntity.getUrl();
+                post.clips.add(clip);
+            }
+        }
+
+        if (cached.hashtags != null) {
+            List<FeedHashtagEntity> hashtags = new ArrayList<>(cached.hashtags);
+            Collections.sort(hashtags, Comparator.comparingInt(FeedHashtagEntity::getTagIndex));
+            for (FeedHashtagEntity hashtagEntity : hashtags) {
+                Post.Hashtag hashtag = new Post.Hashtag();
+                hashtag.start = hashtagEntity.getStart();
+                hashtag.end = hashtagEntity.getEnd();
+                post.hashtags.add(hashtag);
+            }
+        }
+
+        if (entity.getMusicUrl() != null) {
+            Post.Music music = new Post.Music();
+            music.url = entity.getMusicUrl();
+            music.volume = entity.getMusicVolume();
+            music.seekTime = entity.getMusicSeekTime();
+            post.music = music;
+        }
+        return post;
+    }
+}
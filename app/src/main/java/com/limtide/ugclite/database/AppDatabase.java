@@ -9,7 +9,12 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import android.content.Context;
 
+import com.limtide.ugclite.database.dao.FeedDao;
 import com.limtide.ugclite.database.dao.UserDao;
+import com.limtide.ugclite.database.entity.FeedAuthorEntity;
+import com.limtide.ugclite.database.entity.FeedClipEntity;
+import com.limtide.ugclite.database.entity.FeedHashtagEntity;
+import com.limtide.ugclite.database.entity.FeedPostEntity;
 import com.limtide.ugclite.database.entity.User;
 
 /**
@@ -17,8 +22,14 @@ import com.limtide.ugclite.database.entity.User;
  * 使用Room数据库管理应用数据
  */
 @Database(
-    entities = {User.class},
-    version = 1,
+    entities = {
+        User.class,
+        FeedPostEntity.class,
+        FeedClipEntity.class,
+        FeedHashtagEntity.class,
+        FeedAuthorEntity.class
+    },
+    version = 2,
     exportSchema = false
 )
 @TypeConverters({})
@@ -29,12 +40,47 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     public abstract UserDao userDao();
 
+    /**
+     * 获取Feed缓存数据访问对象
+     */
+    public abstract FeedDao feedDao();
+
     // 数据库名称
     private static final String DATABASE_NAME = "ugclite_database";
 
     // 单例实例
     private static volatile AppDatabase INSTANCE;
 
+    /**
+     * 版本1 -> 2：新增Feed缓存相关表，保留已有用户数据
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_posts` (`postId` TEXT NOT NULL, `title` TEXT, `content` TEXT, "
+                    + "`createTime` INTEGER NOT NULL, `authorId` TEXT, `musicUrl` TEXT, `musicVolume` INTEGER NOT NULL, "
+                    + "`musicSeekTime` INTEGER NOT NULL, `sortIndex` INTEGER NOT NULL, `cachedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`postId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_posts_sortIndex` ON `feed_posts` (`sortIndex`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_posts_cachedAt` ON `feed_posts` (`cachedAt`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_clips` (`postId` TEXT NOT NULL, `clipIndex` INTEGER NOT NULL, "
+                    + "`type` INTEGER NOT NULL, `width` INTEGER NOT NULL, `height` INTEGER NOT NULL, `url` TEXT, "
+                    + "PRIMARY KEY(`postId`, `clipIndex`), FOREIGN KEY(`postId`) REFERENCES `feed_posts`(`postId`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_clips_postId` ON `feed_clips` (`postId`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_hashtags` (`postId` TEXT NOT NULL, `tagIndex` INTEGER NOT NULL, "
+                    + "`start` INTEGER NOT NULL, `end` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`postId`, `tagIndex`), FOREIGN KEY(`postId`) REFERENCES `feed_posts`(`postId`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_hashtags_postId` ON `feed_hashtags` (`postId`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_authors` (`userId` TEXT NOT NULL, `nickname` TEXT, "
+                    + "`avatarUrl` TEXT, PRIMARY KEY(`userId`))");
+        }
+    };
+
     /**
      * 获取数据库实例（单例模式）
      */
@@ -54,6 +100,7 @@ public abstract class AppDatabase extends RoomDatabase {
                                     // 这里可以预埋测试账号
                                 }
                             })
+                            .addMigrations(MIGRATION_1_2)
                             .fallbackToDestructiveMigration()
                             .build();
                 }
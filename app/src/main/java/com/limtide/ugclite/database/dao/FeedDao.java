@@ -0,0 +1,109 @@
+package com.limtide.ugclite.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.limtide.ugclite.database.entity.CachedFeedPost;
+import com.limtide.ugclite.database.entity.FeedAuthorEntity;
+import com.limtide.ugclite.database.entity.FeedClipEntity;
+import com.limtide.ugclite.database.entity.FeedHashtagEntity;
+import com.limtide.ugclite.database.entity.FeedPostEntity;
+
+import java.util.List;
+
+/**
+ * Feed缓存数据访问对象
+ * 提供作品、片段、话题标签和作者的读写操作
+ */
+@Dao
+public interface FeedDao {
+
+    /**
+     * 按Feed顺序查询缓存作品（包含关联数据）
+     */
+    @Transaction
+    @Query("SELECT * FROM feed_posts ORDER BY sortIndex ASC LIMIT :limit")
+    List<CachedFeedPost> getCachedPosts(int limit);
+
+    /**
+     * 按Feed顺序查询全部缓存作品ID
+     */
+    @Query("SELECT postId FROM feed_posts ORDER BY sortIndex ASC")
+    List<String> getOrderedPostIds();
+
+    /**
+     * 插入或更新作品（不触发级联删除）
+     */
+    @Upsert
+    void upsertPosts(List<FeedPostEntity> posts);
+
+    /**
+     * 插入或更新作者
+     */
+    @Upsert
+    void upsertAuthors(List<FeedAuthorEntity> authors);
+
+    /**
+     * 插入片段
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertClips(List<FeedClipEntity> clips);
+
+    /**
+     * 插入话题标签
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertHashtags(List<FeedHashtagEntity> hashtags);
+
+    /**
+     * 删除指定作品的全部片段
+     */
+    @Query("DELETE FROM feed_clips WHERE postId IN (:postIds)")
+    void deleteClipsForPosts(List<String> postIds);
+
+    /**
+     * 删除指定作品的全部话题标签
+     */
+    @Query("DELETE FROM feed_hashtags WHERE postId IN (:postIds)")
+    void deleteHashtagsForPosts(List<String> postIds);
+
+    /**
+     * 更新作品的排列序号
+     */
+    @Query("UPDATE feed_posts SET sortIndex = :sortIndex WHERE postId = :postId")
+    void updateSortIndex(String postId, int sortIndex);
+
+    /**
+     * 删除早于指定时间写入的作品
+     */
+    @Query("DELETE FROM feed_posts WHERE cachedAt < :expireBefore")
+    int deleteExpiredPosts(long expireBefore);
+
+    /**
+     * 只保留排序最靠前的maxCount条作品
+     */
+    @Query("DELETE FROM feed_posts WHERE postId NOT IN (SELECT postId FROM feed_posts ORDER BY sortIndex ASC LIMIT :maxCount)")
+    int trimToCount(int maxCount);
+
+    /**
+     * 删除没有作品引用的作者
+     */
+    @Query("DELETE FROM feed_authors WHERE userId NOT IN (SELECT DISTINCT authorId FROM feed_posts WHERE authorId IS NOT NULL)")
+    int deleteOrphanAuthors();
+
+    /**
+     * 获取缓存作品总数
+     */
+    @Query("SELECT COUNT(*) FROM feed_posts")
+    int getPostCount();
+
+    /**
+     * 清空全部Feed缓存
+     */
+    @Query("DELETE FROM feed_posts")
+    void deleteAllPosts();
+}
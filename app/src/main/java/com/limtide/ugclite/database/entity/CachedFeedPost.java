@@ -0,0 +1,25 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.room.Embedded;
+import androidx.room.Relation;
+
+import java.util.List;
+
+/**
+ * 带关联数据的缓存作品
+ * 由Room一次性查出作品、片段、话题标签和作者
+ */
+public class CachedFeedPost {
+
+    @Embedded
+    public FeedPostEntity post;
+
+    @Relation(parentColumn = "postId", entityColumn = "postId")
+    public List<FeedClipEntity> clips;
+
+    @Relation(parentColumn = "postId", entityColumn = "postId")
+    public List<FeedHashtagEntity> hashtags;
+
+    @Relation(parentColumn = "authorId", entityColumn = "userId")
+    public FeedAuthorEntity author;
+}
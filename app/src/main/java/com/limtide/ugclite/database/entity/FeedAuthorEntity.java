@@ -0,0 +1,45 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Feed作者缓存实体类
+ * 多个作品共享同一作者记录，以userId为主键
+ */
+@Entity(tableName = "feed_authors")
+public class FeedAuthorEntity {
+
+    @PrimaryKey
+    @NonNull
+    private String userId = ""; // 作者ID作为主键
+
+    private String nickname; // 昵称
+    private String avatarUrl; // 头像URL
+
+    @NonNull
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(@NonNull String userId) {
+        this.userId = userId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+
+    public void setAvatarUrl(String avatarUrl) {
+        this.avatarUrl = avatarUrl;
+    }
+}
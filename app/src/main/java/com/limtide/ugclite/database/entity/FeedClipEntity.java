@@ -0,0 +1,77 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Feed作品片段缓存实体类
+ * 以(postId, clipIndex)为联合主键，作品删除时级联删除
+ */
+@Entity(tableName = "feed_clips",
+        primaryKeys = {"postId", "clipIndex"},
+        foreignKeys = @ForeignKey(entity = FeedPostEntity.class,
+                parentColumns = "postId",
+                childColumns = "postId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index("postId")})
+public class FeedClipEntity {
+
+    @NonNull
+    private String postId = ""; // 所属作品ID
+    private int clipIndex; // 片段在作品中的顺序
+    private int type; // 0：图片，1：视频，2：音频
+    private int width;
+    private int height;
+    private String url;
+
+    @NonNull
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(@NonNull String postId) {
+        this.postId = postId;
+    }
+
+    public int getClipIndex() {
+        return clipIndex;
+    }
+
+    public void setClipIndex(int clipIndex) {
+        this.clipIndex = clipIndex;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public void setType(int type) {
+        this.type = type;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
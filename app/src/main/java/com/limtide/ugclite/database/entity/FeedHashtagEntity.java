@@ -0,0 +1,59 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Feed作品话题标签缓存实体类
+ * 以(postId, tagIndex)为联合主键，作品删除时级联删除
+ */
+@Entity(tableName = "feed_hashtags",
+        primaryKeys = {"postId", "tagIndex"},
+        foreignKeys = @ForeignKey(entity = FeedPostEntity.class,
+                parentColumns = "postId",
+                childColumns = "postId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index("postId")})
+public class FeedHashtagEntity {
+
+    @NonNull
+    private String postId = ""; // 所属作品ID
+    private int tagIndex; // 标签在作品中的顺序
+    private int start; // 高亮起始位置
+    private int end; // 高亮结束位置
+
+    @NonNull
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(@NonNull String postId) {
+        this.postId = postId;
+    }
+
+    public int getTagIndex() {
+        return tagIndex;
+    }
+
+    public void setTagIndex(int tagIndex) {
+        this.tagIndex = tagIndex;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+}
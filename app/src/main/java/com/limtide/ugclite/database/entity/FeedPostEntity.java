@@ -0,0 +1,110 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Feed作品缓存实体类
+ * 以postId为主键，保存作品正文、作者引用、背景音乐以及在Feed中的排列顺序
+ */
+@Entity(tableName = "feed_posts",
+        indices = {@Index("sortIndex"), @Index("cachedAt")})
+public class FeedPostEntity {
+
+    @PrimaryKey
+    @NonNull
+    private String postId = ""; // 作品ID作为主键
+
+    private String title; // 标题
+    private String content; // 正文
+    private long createTime; // 作品创建时间（秒）
+    private String authorId; // 作者ID，对应feed_authors表
+    private String musicUrl; // 背景音乐URL，为空表示无音乐
+    private int musicVolume; // 背景音乐音量
+    private int musicSeekTime; // 背景音乐起始位置（毫秒）
+    private int sortIndex; // 在Feed中的排列顺序，越小越靠前
+    private long cachedAt; // 最近一次写入缓存的时间（毫秒）
+
+    @NonNull
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(@NonNull String postId) {
+        this.postId = postId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(long createTime) {
+        this.createTime = createTime;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getMusicUrl() {
+        return musicUrl;
+    }
+
+    public void setMusicUrl(String musicUrl) {
+        this.musicUrl = musicUrl;
+    }
+
+    public int getMusicVolume() {
+        return musicVolume;
+    }
+
+    public void setMusicVolume(int musicVolume) {
+        this.musicVolume = musicVolume;
+    }
+
+    public int getMusicSeekTime() {
+        return musicSeekTime;
+    }
+
+    public void setMusicSeekTime(int musicSeekTime) {
+        this.musicSeekTime = musicSeekTime;
+    }
+
+    public int getSortIndex() {
+        return sortIndex;
+    }
+
+    public void setSortIndex(int sortIndex) {
+        this.sortIndex = sortIndex;
+    }
+
+    public long getCachedAt() {
+        return cachedAt;
+    }
+
+    public void setCachedAt(long cachedAt) {
+        this.cachedAt = cachedAt;
+    }
+}
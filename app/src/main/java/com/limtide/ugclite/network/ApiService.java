@@ -2,14 +2,14 @@ package com.limtide.ugclite.network;
 
 import android.util.Log;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.limtide.ugclite.data.model.FeedResponse;
 import com.limtide.ugclite.data.model.Post;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -19,6 +19,7 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * API服务类 - 处理网络请求
@@ -28,13 +29,13 @@ public class ApiService {
 
     private static final String TAG = "ApiService";
     private static final String BASE_URL = "https://college-training-camp.bytedance.com/feed/";
-    private static final int CONNECT_TIMEOUT = 15; // 连接超时15秒
-    private static final int READ_TIMEOUT = 30;    // 读取超时30秒
 
     private OkHttpClient okHttpClient;
-    private Gson gson;
     private static volatile ApiService instance;
 
+    // 在途Feed请求，key为请求方法+参数，用于合并重复的分页请求
+    private final Map<String, InFlightCall> inFlightCalls = new HashMap<>();
+
 
     /**
      * 获取ApiService实例 - 双重检查锁定单例模式
@@ -55,17 +56,8 @@ public class ApiService {
      * 私有构造函数
      */
     private ApiService() {
-        // 初始化OkHttpClient
-        okHttpClient = new OkHttpClient.Builder()
-                .connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS)//连接超时时间
-                .readTimeout(READ_TIMEOUT, TimeUnit.SECONDS)//读取超时时间
-                .retryOnConnectionFailure(true)//失败重试
-                .build();
-
-        // 初始化Gson
-        gson = new GsonBuilder()
-                .setDateFormat("yyyy-MM-dd HH:mm:ss")
-                .create();
+        // 使用全局共享的OkHttpClient（带HTTP磁盘缓存）
+        okHttpClient = HttpClientProvider.getInstance().getClient();
     }
 
 
@@ -76,8 +68,9 @@ public class ApiService {
      * @param acceptVideoClip 是否支持视频片段
      * @param cursor 分页游标（0表示第一页）
      * @param callback 回调接口
+     * @return 请求句柄，可单独取消该回调而不影响合并到同一请求的其它回调
      */
-    public void getFeedData(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
+    public FeedRequestHandle getFeedData(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
         Log.d(TAG, "开始获取Feed数据 - GET方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip + ", cursor: " + cursor);
         Log.d(TAG, "开始获取Feed数据 - GET方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip);
 
@@ -93,30 +86,16 @@ public class ApiService {
 
         HttpUrl url = urlBuilder.build();
 
-        // 构建请求
-        Request request = new Request.Builder()
+        // 构建请求（标记为FEED类别用于缓存统计）
+        Request request = HttpClientProvider.tag(new Request.Builder(), HttpClientProvider.RequestCategory.FEED)
                 .url(url)
                 .get()
                 .addHeader("Content-Type", "application/json")
                 .addHeader("User-Agent", "UGCLite-Android/1.0")
                 .build();
 
-        // 异步发送请求 (enqueue)
-        okHttpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                // 网络层面的失败（如无网、DNS解析失败、超时）
-                Log.e(TAG, "网络请求失败", e);
-                if (callback != null) {
-                    callback.onError("网络请求失败: " + e.getMessage());
-                }
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                handleResponse(response, callback);
-            }
-        });
+        // 异步发送请求 (enqueue)，相同页的在途请求合并为一个Call
+        return enqueueCoalesced("GET|" + count + "|" + acceptVideoClip + "|" + cursor, request, callback);
     }
 
 
@@ -127,8 +106,9 @@ public class ApiService {
      * @param acceptVideoClip 是否支持视频片段
      * @param cursor 分页游标（0表示第一页）
      * @param callback 回调接口
+     * @return 请求句柄，可单独取消该回调而不影响合并到同一请求的其它回调
      */
-    public void getFeedDataPost(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
+    public FeedRequestHandle getFeedDataPost(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
         Log.d(TAG, "开始获取Feed数据 - POST方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip + ", cursor: " + cursor);
 
         // 构建请求体
@@ -143,29 +123,105 @@ public class ApiService {
 
         RequestBody formBody = formBuilder.build();
 
-        // 构建请求
-        Request request = new Request.Builder()
+        // 构建请求（标记为FEED类别用于缓存统计）
+        Request request = HttpClientProvider.tag(new Request.Builder(), HttpClientProvider.RequestCategory.FEED)
                 .url(BASE_URL)
                 .post(formBody)
                 .addHeader("Content-Type", "application/x-www-form-urlencoded")
                 .addHeader("User-Agent", "UGCLite-Android/1.0")
                 .build();
 
-        // 发送请求
-        okHttpClient.newCall(request).enqueue(new Callback() {
+        // 发送请求，相同页的在途请求合并为一个Call
+        return enqueueCoalesced("POST|" + count + "|" + acceptVideoClip + "|" + cursor, request, callback);
+    }
+
+    /**
+     * 发送Feed请求，相同key的在途请求共用一个OkHttp Call，结果分发给所有回调
+     * @param key 请求标识（方法+参数）
+     * @param request 请求（仅在没有相同在途请求时使用）
+     * @param callback 回调接口
+     * @return 请求句柄，可单独取消该回调
+     */
+    private FeedRequestHandle enqueueCoalesced(String key, Request request, FeedCallback callback) {
+        InFlightCall inFlight;
+        synchronized (inFlightCalls) {
+            inFlight = inFlightCalls.get(key);
+            if (inFlight != null) {
+                if (callback != null) {
+                    inFlight.callbacks.add(callback);
+                }
+                Log.d(TAG, "合并到在途请求: " + key + "，当前回调数: " + inFlight.callbacks.size());
+                return new FeedRequestHandle(inFlight, callback);
+            }
+
+            inFlight = new InFlightCall(key, okHttpClient.newCall(request));
+            if (callback != null) {
+                inFlight.callbacks.add(callback);
+            }
+            inFlightCalls.put(key, inFlight);
+        }
+
+        final InFlightCall target = inFlight;
+        target.call.enqueue(new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                Log.e(TAG, "网络请求失败", e);
-                if (callback != null) {
-                    callback.onError("网络请求失败: " + e.getMessage());
+                // 网络层面的失败（如无网、DNS解析失败、超时），GET请求已在RetryInterceptor中重试过
+                completeInFlight(target);
+                if (e instanceof CircuitBreakerInterceptor.CircuitOpenException) {
+                    // 熔断中快速失败，由调用方回退到缓存数据
+                    Log.w(TAG, e.getMessage());
+                    target.onError(e.getMessage());
+                    target.finished = true;
+                    return;
                 }
+                Log.e(TAG, "网络请求失败", e);
+                target.onError("网络请求失败: " + e.getMessage());
+                target.finished = true;
             }
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                handleResponse(response, callback);
+                // 响应到达后不再接受新的合并，之后的同页请求会重新发起
+                completeInFlight(target);
+                try {
+                    handleResponse(response, target);
+                } finally {
+                    target.finished = true;
+                }
             }
         });
+        return new FeedRequestHandle(target, callback);
+    }
+
+    /**
+     * 在途请求结束，从合并表中移除
+     */
+    private void completeInFlight(InFlightCall inFlight) {
+        synchronized (inFlightCalls) {
+            if (inFlightCalls.get(inFlight.key) == inFlight) {
+                inFlightCalls.remove(inFlight.key);
+            }
+        }
+    }
+
+    /**
+     * 解除单个回调；没有剩余回调时才取消共享的Call
+     */
+    private void detachCallback(InFlightCall inFlight, FeedCallback callback) {
+        boolean cancelCall = false;
+        synchronized (inFlightCalls) {
+            if (callback != null) {
+                inFlight.callbacks.remove(callback);
+            }
+            if (inFlight.callbacks.isEmpty() && inFlightCalls.get(inFlight.key) == inFlight) {
+                inFlightCalls.remove(inFlight.key);
+                cancelCall = true;
+            }
+        }
+        if (cancelCall) {
+            Log.d(TAG, "在途请求已无回调，取消Call: " + inFlight.key);
+            inFlight.call.cancel();
+        }
     }
 
     /**
@@ -183,12 +239,23 @@ public class ApiService {
                 }
                 return;
             }
-            //获取响应体字符串
-            String responseBody = response.body() != null ? response.body().string() : "";
-            Log.d(TAG, "API响应内容: " + responseBody);
+            //流式解析响应体：直接读取字符流，status_code校验通过的作品逐条回调
+            ResponseBody body = response.body();
+            if (body == null) {
+                String errorMsg = "响应体为空";
+                Log.e(TAG, errorMsg);
+                if (callback != null) {
+                    callback.onError(errorMsg);
+                }
+                return;
+            }
+            FeedResponse feedResponse = FeedStreamParser.parse(body.charStream(), (post, index) -> {
+                if (callback != null) {
+                    callback.onPostParsed(post, index);
+                }
+            });
+            Log.d(TAG, "API响应解析完成: " + feedResponse);
 
-            //Gson 解析 JSON -> Java 对象
-            FeedResponse feedResponse = gson.fromJson(responseBody, FeedResponse.class);
             //业务逻辑判断
             if (feedResponse != null) {
                 if (feedResponse.isSuccess()) {
@@ -228,17 +295,96 @@ public class ApiService {
     }
 
     /**
-     * 取消所有网络请求
+     * 取消所有Feed网络请求
+     * OkHttpClient为全局共享，这里只取消FEED类别的请求，不影响音乐、图片等其它请求
+     * 注意：会影响所有页面的Feed请求，页面销毁时应使用RequestScope只取消自己的请求
      */
     public void cancelAllRequests() {
-        Log.d(TAG, "取消所有网络请求");
+        Log.d(TAG, "取消所有Feed网络请求");
         if (okHttpClient != null) {
-            okHttpClient.dispatcher().cancelAll();
+            for (Call call : okHttpClient.dispatcher().queuedCalls()) {
+                cancelIfFeedCall(call);
+            }
+            for (Call call : okHttpClient.dispatcher().runningCalls()) {
+                cancelIfFeedCall(call);
+            }
+        }
+    }
+
+    private void cancelIfFeedCall(Call call) {
+        if (call.request().tag(HttpClientProvider.RequestCategory.class) == HttpClientProvider.RequestCategory.FEED) {
+            call.cancel();
         }
     }
 
 
 
+    /**
+     * 在途请求 - 一个OkHttp Call对应多个回调，自身作为分发回调
+     */
+    private static class InFlightCall implements FeedCallback {
+        final String key;
+        final Call call;
+        final List<FeedCallback> callbacks = new CopyOnWriteArrayList<>();
+        volatile boolean finished = false; // 结果已分发完毕
+
+        InFlightCall(String key, Call call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        @Override
+        public void onPostParsed(Post post, int index) {
+            for (FeedCallback callback : callbacks) {
+                callback.onPostParsed(post, index);
+            }
+        }
+
+        @Override
+        public void onSuccess(List<Post> posts, boolean hasMore) {
+            for (FeedCallback callback : callbacks) {
+                callback.onSuccess(posts, hasMore);
+            }
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            for (FeedCallback callback : callbacks) {
+                callback.onError(errorMessage);
+            }
+        }
+    }
+
+    /**
+     * Feed请求句柄
+     * cancel()只解除当前回调，合并到同一请求的其它回调仍会收到结果
+     */
+    public final class FeedRequestHandle implements RequestScope.Cancellable {
+        private final InFlightCall inFlight;
+        private final FeedCallback callback;
+
+        private FeedRequestHandle(InFlightCall inFlight, FeedCallback callback) {
+            this.inFlight = inFlight;
+            this.callback = callback;
+        }
+
+        /**
+         * 取消当前回调，最后一个回调取消时才真正取消网络请求
+         */
+        @Override
+        public void cancel() {
+            detachCallback(inFlight, callback);
+        }
+
+        /**
+         * 结果已分发或当前回调已解除
+         */
+        @Override
+        public boolean isDone() {
+            return inFlight.finished || (callback != null && !inFlight.callbacks.contains(callback));
+        }
+    }
+
     /**
      * Feed数据回调接口
      * 异步调用，渲染UI与获取数据同步进行
@@ -251,6 +397,15 @@ public class ApiService {
          */
         void onSuccess(List<Post> posts, boolean hasMore);
 
+        /**
+         * 单条作品解析完成（在网络线程回调，早于onSuccess）
+         * 只回调status_code已校验通过的作品；之后仍可能因响应中断收到onError，此时已回调的作品应一并作废
+         * @param post 已解析的作品
+         * @param index 在本页中的下标
+         */
+        default void onPostParsed(Post post, int index) {
+        }
+
         /**
          * 数据获取失败
          * @param errorMessage 错误信息
@@ -0,0 +1,157 @@
+package com.limtide.ugclite.network;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 按host熔断的拦截器
+ * - CLOSED：正常放行，连续失败达到阈值后打开
+ * - OPEN：直接抛出CircuitOpenException，不再等待15s/30s超时
+ * - HALF_OPEN：冷却期结束后只放行一个探测请求，成功则关闭，失败则重新打开
+ *
+ * 只有网络异常和5xx计为失败，4xx说明服务端可达，不影响熔断状态
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    private static final String TAG = "CircuitBreaker";
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;     // 连续失败3次打开熔断
+    private static final long DEFAULT_OPEN_DURATION_MS = 30000; // 熔断冷却30秒
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION_MS);
+    }
+
+    /**
+     * 可配置的构造方法，便于用MockWebServer脚本验证
+     */
+    CircuitBreakerInterceptor(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * 熔断打开时抛出的异常
+     */
+    public static class CircuitOpenException extends IOException {
+        public CircuitOpenException(String host) {
+            super("服务暂不可用(熔断中): " + host);
+        }
+    }
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * 单个host的熔断状态 - 通过synchronized保护
+     */
+    private class HostCircuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures = 0;
+        private long openedAt = 0;
+        private boolean probeInFlight = false;
+
+        synchronized boolean allowRequest() {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && SystemClock.elapsedRealtime() - openedAt >= openDurationMs) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == State.HALF_OPEN && !probeInFlight) {
+                // 只放行一个探测请求
+                probeInFlight = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void onSuccess(String host) {
+            if (state != State.CLOSED) {
+                Log.d(TAG, "熔断恢复: " + host);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+        }
+
+        synchronized void onFailure(String host) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    Log.w(TAG, "熔断打开: " + host + "，连续失败" + consecutiveFailures + "次，冷却" + openDurationMs + "ms");
+                }
+                state = State.OPEN;
+                openedAt = SystemClock.elapsedRealtime();
+                probeInFlight = false;
+            }
+        }
+
+        synchronized void onCanceled() {
+            probeInFlight = false;
+        }
+
+        synchronized boolean isOpen() {
+            return state == State.OPEN && SystemClock.elapsedRealtime() - openedAt < openDurationMs;
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String host = request.url().host();
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null) {
+            circuits.putIfAbsent(host, new HostCircuit());
+            circuit = circuits.get(host);
+        }
+
+        if (!circuit.allowRequest()) {
+            throw new CircuitOpenException(host);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                // 主动取消不代表服务端不可用，只释放探测名额
+                circuit.onCanceled();
+            } else {
+                circuit.onFailure(host);
+            }
+            throw e;
+        }
+
+        if (response.code() >= 500) {
+            circuit.onFailure(host);
+        } else {
+            circuit.onSuccess(host);
+        }
+        return response;
+    }
+
+    /**
+     * 指定host当前是否处于熔断状态
+     */
+    public boolean isOpen(String host) {
+        HostCircuit circuit = circuits.get(host);
+        return circuit != null && circuit.isOpen();
+    }
+}
@@ -0,0 +1,496 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.Post;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed流式解析器
+ * 直接从响应体的字符流中读取post_list，不生成完整响应字符串，也不走Gson反射
+ *
+ * - Post/Author/Clip/Hashtag/Music都使用手写TypeAdapter
+ * - 未知字段直接skipValue，字段类型不符时按默认值处理，不中断整页解析
+ * - 每个作品解析完成后通过PostConsumer逐条交给调用方；status_code出现之前解析出的作品先暂存，
+ *   status_code校验通过后按顺序提交，校验失败或解析中断时直接丢弃，不分发可能作废的数据
+ * - 不需要逐条处理的调用方使用parse(Reader)，在整页解析完后一次性取得作品列表
+ */
+public final class FeedStreamParser {
+
+    private static final TypeAdapter<Post.Author> AUTHOR_ADAPTER = new AuthorAdapter();
+    private static final TypeAdapter<Post.Clip> CLIP_ADAPTER = new ClipAdapter();
+    private static final TypeAdapter<Post.Hashtag> HASHTAG_ADAPTER = new HashtagAdapter();
+    private static final TypeAdapter<Post.Music> MUSIC_ADAPTER = new MusicAdapter();
+    private static final TypeAdapter<Post> POST_ADAPTER = new PostAdapter();
+
+    private FeedStreamParser() {
+    }
+
+    /**
+     * 已确认作品的逐条回调（在解析线程上调用）
+     */
+    public interface PostConsumer {
+        /**
+         * @param post 已完整解析、且本页status_code已校验通过的作品
+         * @param index 在本页post_list中的下标
+         */
+        void onPost(Post post, int index);
+    }
+
+    /**
+     * 流式解析一页Feed响应，整页解析完后一次性返回
+     * @param reader 响应体字符流（调用方负责关闭）
+     * @return 解析结果，postList包含全部已解析的作品
+     */
+    public static FeedResponse parse(Reader reader) throws IOException {
+        return parse(reader, null);
+    }
+
+    /**
+     * 流式解析一页Feed响应，同时把已确认的作品逐条交给consumer
+     * 解析中途抛出异常时，暂存的作品不会提交；已提交的作品由调用方结合随后的失败处理
+     * @param reader 响应体字符流（调用方负责关闭）
+     * @param consumer 逐条回调，可为null
+     * @return 解析结果，postList包含全部已解析的作品（无论是否已提交给consumer）
+     */
+    public static FeedResponse parse(Reader reader, PostConsumer consumer) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        FeedResponse feedResponse = new FeedResponse();
+        feedResponse.postList = new ArrayList<>();
+        StagedPosts staged = consumer != null ? new StagedPosts(consumer) : null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "status_code":
+                    feedResponse.statusCode = nextInt(in, -1);
+                    if (staged != null) {
+                        staged.onStatus(feedResponse.isSuccess());
+                    }
+                    break;
+                case "has_more":
+                    feedResponse.hasMore = nextInt(in, 0);
+                    break;
+                case "post_list":
+                    readPostList(in, feedResponse.postList, staged);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (staged != null) {
+            // 整页都没有status_code时按默认值判断，与调用方对整页结果的判断保持一致
+            staged.onStatus(feedResponse.isSuccess());
+        }
+        return feedResponse;
+    }
+
+    private static void readPostList(JsonReader in, List<Post> out, StagedPosts staged) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            Post post = POST_ADAPTER.read(in);
+            if (post != null) {
+                out.add(post);
+                if (staged != null) {
+                    staged.add(post);
+                }
+            }
+        }
+        in.endArray();
+    }
+
+    /**
+     * 按status_code暂存、提交或丢弃作品
+     * - status_code未出现：作品暂存
+     * - status_code校验通过：提交暂存的作品，之后的作品解析完即提交
+     * - status_code校验失败：丢弃暂存的作品，之后的作品也不再提交
+     */
+    private static final class StagedPosts {
+        private static final int STATUS_UNKNOWN = 0;
+        private static final int STATUS_ACCEPTED = 1;
+        private static final int STATUS_REJECTED = 2;
+
+        private final PostConsumer consumer;
+        private final List<Post> pending = new ArrayList<>();
+        private int status = STATUS_UNKNOWN;
+        private int committed = 0; // 已提交的作品数，即下一条作品的下标
+
+        StagedPosts(PostConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        void add(Post post) {
+            if (status == STATUS_ACCEPTED) {
+                consumer.onPost(post, committed++);
+            } else if (status == STATUS_UNKNOWN) {
+                pending.add(post);
+            }
+        }
+
+        void onStatus(boolean success) {
+            if (status != STATUS_UNKNOWN) {
+                return; // 重复的status_code以第一次为准
+            }
+            status = success ? STATUS_ACCEPTED : STATUS_REJECTED;
+            if (success) {
+                for (Post post : pending) {
+                    consumer.onPost(post, committed++);
+                }
+            }
+            pending.clear();
+        }
+    }
+
+    // ==========================================
+    // 基础读取工具 - 类型不符时返回默认值
+    // ==========================================
+
+    private static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return in.nextString();
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(in.nextBoolean());
+        }
+        in.skipValue();
+        return null;
+    }
+
+    private static int nextInt(JsonReader in, int defaultValue) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            // 先按字符串取出再解析：JsonReader.nextInt失败时不会消费该值，后续读取会整体出错
+            String value = in.nextString();
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return in.nextBoolean() ? 1 : 0;
+        }
+        in.skipValue();
+        return defaultValue;
+    }
+
+    private static long nextLong(JsonReader in, long defaultValue) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            String value = in.nextString();
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        in.skipValue();
+        return defaultValue;
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        List<T> list = new ArrayList<>();
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return list;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            T item = adapter.read(in);
+            if (item != null) {
+                list.add(item);
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : list) {
+            adapter.write(out, item);
+        }
+        out.endArray();
+    }
+
+    /**
+     * 非对象值（null或类型不符）直接跳过，返回true表示调用方应返回null
+     */
+    private static boolean skipIfNotObject(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return true;
+        }
+        return false;
+    }
+
+    // ==========================================
+    // 手写TypeAdapter
+    // ==========================================
+
+    private static final class PostAdapter extends TypeAdapter<Post> {
+        @Override
+        public void write(JsonWriter out, Post post) throws IOException {
+            if (post == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("post_id").value(post.postId);
+            out.name("title").value(post.title);
+            out.name("content").value(post.content);
+            out.name("create_time").value(post.createTime);
+            out.name("author");
+            AUTHOR_ADAPTER.write(out, post.author);
+            out.name("hashtag");
+            writeList(out, post.hashtags, HASHTAG_ADAPTER);
+            out.name("clips");
+            writeList(out, post.clips, CLIP_ADAPTER);
+            out.name("music");
+            MUSIC_ADAPTER.write(out, post.music);
+            out.endObject();
+        }
+
+        @Override
+        public Post read(JsonReader in) throws IOException {
+            if (skipIfNotObject(in)) {
+                return null;
+            }
+            Post post = new Post();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "post_id":
+                        post.postId = nextString(in);
+                        break;
+                    case "title":
+                        post.title = nextString(in);
+                        break;
+                    case "content":
+                        post.content = nextString(in);
+                        break;
+                    case "create_time":
+                        post.createTime = nextLong(in, post.createTime);
+                        break;
+                    case "author":
+                        post.author = AUTHOR_ADAPTER.read(in);
+                        break;
+                    case "hashtag":
+                        // 兼容hashtag为单个对象的情况
+                        if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                            Post.Hashtag single = HASHTAG_ADAPTER.read(in);
+                            if (single != null) {
+                                post.setHashtagFromObject(single);
+                            }
+                        } else {
+                            post.hashtags = readList(in, HASHTAG_ADAPTER);
+                        }
+                        break;
+                    case "clips":
+                        post.clips = readList(in, CLIP_ADAPTER);
+                        break;
+                    case "music":
+                        post.music = MUSIC_ADAPTER.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return post;
+        }
+    }
+
+    private static final class AuthorAdapter extends TypeAdapter<Post.Author> {
+        @Override
+        public void write(JsonWriter out, Post.Author author) throws IOException {
+            if (author == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("user_id").value(author.userId);
+            out.name("nickname").value(author.nickname);
+            out.name("avatar").value(author.avatarUrl);
+            out.endObject();
+        }
+
+        @Override
+        public Post.Author read(JsonReader in) throws IOException {
+            if (skipIfNotObject(in)) {
+                return null;
+            }
+            Post.Author author = new Post.Author();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "user_id":
+                        author.userId = nextString(in);
+                        break;
+                    case "nickname":
+                        author.nickname = nextString(in);
+                        break;
+                    case "avatar":
+                        author.avatarUrl = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return author;
+        }
+    }
+
+    private static final class ClipAdapter extends TypeAdapter<Post.Clip> {
+        @Override
+        public void write(JsonWriter out, Post.Clip clip) throws IOException {
+            if (clip == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("type").value(clip.type);
+            out.name("width").value(clip.width);
+            out.name("height").value(clip.height);
+            out.name("url").value(clip.url);
+            out.endObject();
+        }
+
+        @Override
+        public Post.Clip read(JsonReader in) throws IOException {
+            if (skipIfNotObject(in)) {
+                return null;
+            }
+            Post.Clip clip = new Post.Clip();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "type":
+                        clip.type = nextInt(in, 0);
+                        break;
+                    case "width":
+                        clip.width = nextInt(in, 0);
+                        break;
+                    case "height":
+                        clip.height = nextInt(in, 0);
+                        break;
+                    case "url":
+                        clip.url = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return clip;
+        }
+    }
+
+    private static final class HashtagAdapter extends TypeAdapter<Post.Hashtag> {
+        @Override
+        public void write(JsonWriter out, Post.Hashtag hashtag) throws IOException {
+            if (hashtag == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("start").value(hashtag.start);
+            out.name("end").value(hashtag.end);
+            out.endObject();
+        }
+
+        @Override
+        public Post.Hashtag read(JsonReader in) throws IOException {
+            if (skipIfNotObject(in)) {
+                return null;
+            }
+            Post.Hashtag hashtag = new Post.Hashtag();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "start":
+                        hashtag.start = nextInt(in, 0);
+                        break;
+                    case "end":
+                        hashtag.end = nextInt(in, 0);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return hashtag;
+        }
+    }
+
+    private static final class MusicAdapter extends TypeAdapter<Post.Music> {
+        @Override
+        public void write(JsonWriter out, Post.Music music) throws IOException {
+            if (music == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("volume").value(music.volume);
+            out.name("seek_time").value(music.seekTime);
+            out.name("url").value(music.url);
+            out.endObject();
+        }
+
+        @Override
+        public Post.Music read(JsonReader in) throws IOException {
+            if (skipIfNotObject(in)) {
+                return null;
+            }
+            Post.Music music = new Post.Music();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "volume":
+                        music.volume = nextInt(in, 0);
+                        break;
+                    case "seek_time":
+                        music.seekTime = nextInt(in, 0);
+                        break;
+                    case "url":
+                        music.url = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return music;
+        }
+    }
+}
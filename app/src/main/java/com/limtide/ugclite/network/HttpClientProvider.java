@@ -0,0 +1,222 @@
+package com.limtide.ugclite.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 全局共享的OkHttpClient提供者
+ * - 整个应用共用一个OkHttpClient（连接池、线程池、磁盘缓存共享）
+ * - 带固定大小的HTTP磁盘缓存，自动处理ETag/Last-Modified条件请求
+ * - 按请求类别统计缓存命中、条件命中(304)和未命中次数
+ * - Feed GET请求指数退避重试，按host熔断（见RetryInterceptor、CircuitBreakerInterceptor）
+ *
+ * 使用前需在Application中调用init()，否则退化为不带磁盘缓存的客户端
+ */
+public class HttpClientProvider {
+
+    private static final String TAG = "HttpClientProvider";
+
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE = 30 * 1024 * 1024; // HTTP磁盘缓存30MB
+    private static final int CONNECT_TIMEOUT = 15; // 连接超时15秒
+    private static final int READ_TIMEOUT = 30;    // 读取超时30秒
+
+    private static volatile HttpClientProvider instance;
+
+    private final OkHttpClient okHttpClient;
+    private final Cache cache;
+    private final CircuitBreakerInterceptor circuitBreaker = new CircuitBreakerInterceptor();
+    private final Map<RequestCategory, CacheCounter> counters = new EnumMap<>(RequestCategory.class);
+
+    /**
+     * 请求类别 - 通过Request.tag(RequestCategory.class)标记
+     */
+    public enum RequestCategory {
+        FEED,   // Feed列表
+        MUSIC,  // 背景音乐
+        IMAGE,  // 封面、头像等图片源
+        OTHER   // 未标记的请求
+    }
+
+    /**
+     * 初始化带磁盘缓存的共享客户端（在Application.onCreate中调用）
+     */
+    public static void init(Context context) {
+        if (instance == null) {
+            synchronized (HttpClientProvider.class) {
+                if (instance == null) {
+                    File cacheDir = new File(context.getApplicationContext().getCacheDir(), HTTP_CACHE_DIR);
+                    instance = new HttpClientProvider(new Cache(cacheDir, HTTP_CACHE_SIZE));
+                    Log.d(TAG, "共享OkHttpClient初始化完成，缓存目录: " + cacheDir.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取实例 - 未初始化时创建不带磁盘缓存的客户端
+     */
+    public static HttpClientProvider getInstance() {
+        if (instance == null) {
+            synchronized (HttpClientProvider.class) {
+                if (instance == null) {
+                    Log.w(TAG, "HttpClientProvider未初始化，使用无磁盘缓存的客户端");
+                    instance = new HttpClientProvider(null);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private HttpClientProvider(Cache cache) {
+        this.cache = cache;
+        for (RequestCategory category : RequestCategory.values()) {
+            counters.put(category, new CacheCounter());
+        }
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS)//连接超时时间
+                .readTimeout(READ_TIMEOUT, TimeUnit.SECONDS)//读取超时时间
+                .retryOnConnectionFailure(true)//失败重试
+                .addInterceptor(new CacheStatsInterceptor())// 统计最终结果，放在最外层
+                .addInterceptor(new RetryInterceptor())
+                .addInterceptor(circuitBreaker)// 每次尝试都经过熔断判断
+                .addNetworkInterceptor(NetworkQualityEstimator.getInstance().bandwidthInterceptor())// 采样带宽
+                .eventListenerFactory(NetworkQualityEstimator.getInstance().eventListenerFactory());// 采样RTT
+        if (cache != null) {
+            builder.cache(cache);
+        }
+        okHttpClient = builder.build();
+    }
+
+    /**
+     * 获取共享的OkHttpClient
+     * 需要不同超时的调用方请使用getClient().newBuilder()派生，仍共享连接池和缓存
+     */
+    public OkHttpClient getClient() {
+        return okHttpClient;
+    }
+
+    /**
+     * 获取按host熔断的拦截器，用于查询熔断状态
+     */
+    public CircuitBreakerInterceptor getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 为请求标记类别，用于缓存统计
+     */
+    public static Request.Builder tag(Request.Builder builder, RequestCategory category) {
+        return builder.tag(RequestCategory.class, category);
+    }
+
+    /**
+     * 获取指定类别的缓存计数
+     */
+    public CacheCounter getCounter(RequestCategory category) {
+        return counters.get(category);
+    }
+
+    /**
+     * 获取所有类别的缓存统计摘要
+     */
+    public String getStatsSummary() {
+        StringBuilder sb = new StringBuilder("HTTP缓存统计{");
+        for (RequestCategory category : RequestCategory.values()) {
+            sb.append(category.name()).append('=').append(counters.get(category)).append(", ");
+        }
+        if (cache != null) {
+            try {
+                sb.append("size=").append(cache.size()).append('/').append(cache.maxSize());
+            } catch (IOException e) {
+                sb.append("size=unknown");
+            }
+        } else {
+            sb.append("disabled");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * 清空HTTP磁盘缓存
+     */
+    public void evictCache() {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evictAll();
+            Log.d(TAG, "HTTP磁盘缓存已清空");
+        } catch (IOException e) {
+            Log.w(TAG, "清空HTTP磁盘缓存失败", e);
+        }
+    }
+
+    /**
+     * 单个类别的缓存计数
+     */
+    public static class CacheCounter {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong conditionalHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getConditionalHits() {
+            return conditionalHits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+
+        @Override
+        public String toString() {
+            return "hit:" + hits.get() + "/304:" + conditionalHits.get() + "/miss:" + misses.get();
+        }
+    }
+
+    /**
+     * 统计缓存结果的应用层拦截器
+     * - 只有cacheResponse：直接命中缓存
+     * - cacheResponse + 304 networkResponse：条件请求命中
+     * - 其它：未命中
+     */
+    private class CacheStatsInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+
+            RequestCategory category = request.tag(RequestCategory.class);
+            CacheCounter counter = counters.get(category != null ? category : RequestCategory.OTHER);
+
+            Response cacheResponse = response.cacheResponse();
+            Response networkResponse = response.networkResponse();
+            if (cacheResponse != null && networkResponse == null) {
+                counter.hits.incrementAndGet();
+            } else if (cacheResponse != null && networkResponse.code() == 304) {
+                counter.conditionalHits.incrementAndGet();
+            } else {
+                counter.misses.incrementAndGet();
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.limtide.ugclite.network;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 网络质量估算器
+ * - 通过OkHttp EventListener采集Feed、图片、音乐请求的首包耗时(RTT)
+ * - 通过网络拦截器采集下载速率：只累计读取时阻塞在网络上的时间，读取方处理数据（流式解析、图片解码、写文件）的耗时不计入；
+ *   阻塞时间占比过低说明读取节奏由读取方决定，该样本不反映网络速率，直接丢弃
+ * - 指数平滑后划分为网络档位(NetworkTier)，供分页大小、是否请求视频、图片解码尺寸、视频预加载等使用
+ *
+ * 线程说明：采样来自OkHttp调度线程和读取响应体的线程，估算值通过synchronized保护；档位为volatile，可在任意线程读取
+ */
+public class NetworkQualityEstimator {
+
+    private static final String TAG = "NetworkQuality";
+
+    private static final float SMOOTHING = 0.25f;             // 指数平滑系数
+    private static final long MIN_BANDWIDTH_SAMPLE_BYTES = 16 * 1024; // 小于16KB的响应不计入带宽
+    private static final float MIN_NETWORK_BOUND_RATIO = 0.5f;        // 阻塞在网络上的时间低于此占比时丢弃样本
+
+    private static volatile NetworkQualityEstimator instance;
+
+    private long rttMs = -1;             // 平滑后的首包耗时，-1表示还没有样本
+    private long bandwidthKbps = -1;     // 平滑后的下载速率，-1表示还没有样本
+    private volatile NetworkTier tier = NetworkTier.UNKNOWN;
+
+    /**
+     * 网络档位及对应的加载策略
+     */
+    public enum NetworkTier {
+        //          pageSize acceptVideo maxImagePx thumbnails videoPreload
+        UNKNOWN    (20,      true,       0,         6,         2),
+        POOR       (10,      false,      360,       0,         0),
+        MODERATE   (15,      true,       540,       3,         1),
+        GOOD       (20,      true,       0,         6,         2),
+        EXCELLENT  (20,      true,       0,         6,         3);
+
+        public final int feedPageSize;          // Feed每页数量
+        public final boolean acceptVideoClip;   // 是否请求视频作品
+        public final int maxImageSizePx;        // 图片解码的最大边长，0表示不限制
+        public final int thumbnailPreloadCount; // 每页预加载的视频缩略图数量
+        public final int videoPreloadCount;     // 预加载的视频数量
+
+        NetworkTier(int feedPageSize, boolean acceptVideoClip, int maxImageSizePx,
+                    int thumbnailPreloadCount, int videoPreloadCount) {
+            this.feedPageSize = feedPageSize;
+            this.acceptVideoClip = acceptVideoClip;
+            this.maxImageSizePx = maxImageSizePx;
+            this.thumbnailPreloadCount = thumbnailPreloadCount;
+            this.videoPreloadCount = videoPreloadCount;
+        }
+    }
+
+    /**
+     * 获取实例 - 双重检查锁定单例模式
+     */
+    public static NetworkQualityEstimator getInstance() {
+        if (instance == null) {
+            synchronized (NetworkQualityEstimator.class) {
+                if (instance == null) {
+                    instance = new NetworkQualityEstimator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private NetworkQualityEstimator() {
+    }
+
+    /**
+     * 当前网络档位
+     */
+    public NetworkTier getTier() {
+        return tier;
+    }
+
+    public synchronized long getRttMs() {
+        return rttMs;
+    }
+
+    public synchronized long getBandwidthKbps() {
+        return bandwidthKbps;
+    }
+
+    /**
+     * 供OkHttpClient.Builder.eventListenerFactory使用
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> isSampled(call) ? new SamplingListener() : EventListener.NONE;
+    }
+
+    /**
+     * 供OkHttpClient.Builder.addNetworkInterceptor使用，只对实际走网络的响应采样带宽（缓存命中不经过网络拦截器）
+     */
+    public Interceptor bandwidthInterceptor() {
+        return chain -> {
+            Response response = chain.proceed(chain.request());
+            ResponseBody body = response.body();
+            if (body == null || !isSampled(chain.request())) {
+                return response;
+            }
+            return response.newBuilder().body(new SampledBody(body)).build();
+        };
+    }
+
+    private boolean isSampled(Call call) {
+        return isSampled(call.request());
+    }
+
+    /**
+     * 只采样Feed、图片、音乐请求
+     */
+    private boolean isSampled(Request request) {
+        HttpClientProvider.RequestCategory category = request.tag(HttpClientProvider.RequestCategory.class);
+        return category == HttpClientProvider.RequestCategory.FEED
+                || category == HttpClientProvider.RequestCategory.IMAGE
+                || category == HttpClientProvider.RequestCategory.MUSIC;
+    }
+
+    synchronized void addRttSample(long sampleMs) {
+        rttMs = rttMs < 0 ? sampleMs : (long) (rttMs + SMOOTHING * (sampleMs - rttMs));
+        updateTier();
+    }
+
+    synchronized void addBandwidthSample(long bytes, long elapsedMs) {
+        long sampleKbps = bytes * 8 / Math.max(1, elapsedMs);
+        bandwidthKbps = bandwidthKbps < 0 ? sampleKbps : (long) (bandwidthKbps + SMOOTHING * (sampleKbps - bandwidthKbps));
+        updateTier();
+    }
+
+    /**
+     * 根据RTT和带宽重新划分档位 - 需在synchronized内调用
+     */
+    private void updateTier() {
+        NetworkTier newTier;
+        if (rttMs < 0) {
+            newTier = NetworkTier.UNKNOWN;
+        } else if (rttMs > 1000 || (bandwidthKbps >= 0 && bandwidthKbps < 150)) {
+            newTier = NetworkTier.POOR;
+        } else if (rttMs > 400 || (bandwidthKbps >= 0 && bandwidthKbps < 700)) {
+            newTier = NetworkTier.MODERATE;
+        } else if (rttMs > 150 || bandwidthKbps < 2000) {
+            // 没有带宽样本时最多判定为GOOD
+            newTier = NetworkTier.GOOD;
+        } else {
+            newTier = NetworkTier.EXCELLENT;
+        }
+
+        if (newTier != tier) {
+            Log.d(TAG, "网络档位变化: " + tier + " -> " + newTier + "，RTT: " + rttMs + "ms，带宽: " + bandwidthKbps + "kbps");
+            tier = newTier;
+        }
+    }
+
+    /**
+     * 单次请求的RTT采样监听器 - 同一请求的事件按顺序回调，无需同步
+     */
+    private class SamplingListener extends EventListener {
+        private long requestStart = -1;
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (requestStart > 0) {
+                addRttSample(SystemClock.elapsedRealtime() - requestStart);
+            }
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            requestStart = -1;
+        }
+    }
+
+    /**
+     * 统计读取耗时的响应体 - 读完时按阻塞在网络上的时间计算带宽
+     */
+    private class SampledBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        SampledBody(ResponseBody delegate) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new TimedSource(delegate.source()));
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    /**
+     * 记录每次从网络读取的阻塞时间；只在读取线程上访问，无需同步
+     * 读到末尾或提前关闭（如流式解析读完JSON后直接关闭）时上报一次
+     */
+    private class TimedSource extends ForwardingSource {
+        private long bytes = 0;
+        private long blockedNs = 0;
+        private long firstReadNs = -1;
+        private long lastReadEndNs = -1;
+        private boolean reported = false;
+
+        TimedSource(BufferedSource delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long start = SystemClock.elapsedRealtimeNanos();
+            if (firstReadNs < 0) {
+                firstReadNs = start;
+            }
+            long read = super.read(sink, byteCount);
+            lastReadEndNs = SystemClock.elapsedRealtimeNanos();
+            blockedNs += lastReadEndNs - start;
+            if (read == -1) {
+                report();
+            } else {
+                bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            report();
+            super.close();
+        }
+
+        private void report() {
+            if (reported || bytes < MIN_BANDWIDTH_SAMPLE_BYTES) {
+                return;
+            }
+            reported = true;
+            long totalNs = lastReadEndNs - firstReadNs;
+            if (blockedNs < totalNs * MIN_NETWORK_BOUND_RATIO) {
+                // 大部分时间花在读取方处理数据上，读取节奏不由网络决定
+                return;
+            }
+            addBandwidthSample(bytes, blockedNs / 1_000_000);
+        }
+    }
+}
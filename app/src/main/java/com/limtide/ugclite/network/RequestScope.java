@@ -0,0 +1,199 @@
+package com.limtide.ugclite.network;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import okhttp3.Call;
+
+/**
+ * 按页面（Fragment/Activity）划分的请求取消范围
+ * - 页面发起的请求、下载、订阅登记到自己的scope
+ * - 页面销毁时只取消本scope内的工作，其它页面和共享预加载不受影响
+ * - 合并请求（ApiService.FeedRequestHandle）取消时只解除本页面的回调，其它调用方仍会收到结果
+ *
+ * 线程安全：内部集合通过synchronized保护，可在任意线程登记和取消
+ */
+public class RequestScope {
+
+    private static final String TAG = "RequestScope";
+
+    /**
+     * 可被scope取消的工作
+     */
+    public interface Cancellable {
+        void cancel();
+
+        /**
+         * 工作是否已结束（结束的工作会在登记新工作时被清理）
+         */
+        default boolean isDone() {
+            return false;
+        }
+    }
+
+    private final String name;
+    private final Set<Cancellable> items = new LinkedHashSet<>();
+    private boolean cancelled = false;
+
+    public RequestScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 创建与生命周期绑定的scope，ON_DESTROY时自动取消
+     * Fragment中使用getViewLifecycleOwner()，视图销毁时即取消
+     */
+    public static RequestScope bind(@NonNull LifecycleOwner owner, String name) {
+        RequestScope scope = new RequestScope(name);
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner lifecycleOwner) {
+                lifecycleOwner.getLifecycle().removeObserver(this);
+                scope.cancel();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * 登记工作；scope已取消时立即取消该工作
+     */
+    public <T extends Cancellable> T add(T item) {
+        if (item == null) {
+            return null;
+        }
+        boolean cancelNow;
+        synchronized (items) {
+            cancelNow = cancelled;
+            if (!cancelNow) {
+                pruneDone();
+                items.add(item);
+            }
+        }
+        if (cancelNow) {
+            item.cancel();
+        }
+        return item;
+    }
+
+    /**
+     * 登记OkHttp Call
+     * @return 登记项，请求结束后应调用remove
+     */
+    public Cancellable add(Call call) {
+        return add(new CallItem(call));
+    }
+
+    /**
+     * 登记Rx订阅，取消时dispose；订阅结束后在登记新工作时自动清理
+     */
+    public Cancellable add(Disposable disposable) {
+        return add(new DisposableItem(disposable));
+    }
+
+    /**
+     * 工作正常结束后移除登记
+     */
+    public void remove(Cancellable item) {
+        synchronized (items) {
+            items.remove(item);
+        }
+    }
+
+    /**
+     * 取消scope内的所有工作，之后登记的工作会被立即取消
+     */
+    public void cancel() {
+        List<Cancellable> toCancel;
+        synchronized (items) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(items);
+            items.clear();
+        }
+        Log.d(TAG, "取消请求范围: " + name + "，工作数: " + toCancel.size());
+        for (Cancellable item : toCancel) {
+            try {
+                item.cancel();
+            } catch (Exception e) {
+                Log.w(TAG, "取消工作失败: " + name, e);
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        synchronized (items) {
+            return cancelled;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 清理已结束的工作 - 需在synchronized内调用
+     */
+    private void pruneDone() {
+        Iterator<Cancellable> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * OkHttp Call登记项
+     */
+    private static class CallItem implements Cancellable {
+        private final Call call;
+
+        CallItem(Call call) {
+            this.call = call;
+        }
+
+        @Override
+        public void cancel() {
+            call.cancel();
+        }
+
+        @Override
+        public boolean isDone() {
+            return call.isCanceled();
+        }
+    }
+
+    /**
+     * Rx订阅登记项
+     */
+    private static class DisposableItem implements Cancellable {
+        private final Disposable disposable;
+
+        DisposableItem(Disposable disposable) {
+            this.disposable = disposable;
+        }
+
+        @Override
+        public void cancel() {
+            disposable.dispose();
+        }
+
+        @Override
+        public boolean isDone() {
+            return disposable.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.limtide.ugclite.network;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 重试拦截器 - 只对幂等的Feed GET请求生效
+ * - 网络异常、408/429/5xx时按指数退避 + 随机抖动(full jitter)重试
+ * - 响应带Retry-After时按服务端要求的时间等待，超过上限则不再重试
+ * - 熔断器打开或请求已取消时立即放弃
+ *
+ * 在OkHttp的调度线程中等待，不占用主线程
+ */
+public class RetryInterceptor implements Interceptor {
+
+    private static final String TAG = "RetryInterceptor";
+
+    private static final int DEFAULT_MAX_RETRIES = 2;          // 最多重试2次（共3次请求）
+    private static final long DEFAULT_BASE_DELAY_MS = 500;     // 首次退避基数
+    private static final long DEFAULT_MAX_DELAY_MS = 5000;     // 单次退避上限
+    private static final long MAX_RETRY_AFTER_MS = 10000;      // 可接受的Retry-After上限
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Random random;
+
+    public RetryInterceptor() {
+        this(DEFAULT_MAX_RETRIES, DEFAULT_BASE_DELAY_MS, DEFAULT_MAX_DELAY_MS, new Random());
+    }
+
+    /**
+     * 可配置的构造方法，便于用MockWebServer脚本验证（缩短延迟、固定随机数）
+     */
+    RetryInterceptor(int maxRetries, long baseDelayMs, long maxDelayMs, Random random) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.random = random;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+
+        int attempt = 0;
+        while (true) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (CircuitBreakerInterceptor.CircuitOpenException e) {
+                // 熔断中，重试没有意义
+                throw e;
+            } catch (IOException e) {
+                if (attempt >= maxRetries || chain.call().isCanceled()) {
+                    throw e;
+                }
+                long delay = backoffDelay(attempt);
+                Log.w(TAG, "请求异常，" + delay + "ms后第" + (attempt + 1) + "次重试: " + request.url().encodedPath() + ", " + e.getMessage());
+                sleep(delay);
+                attempt++;
+                continue;
+            }
+
+            if (!isRetryableCode(response.code()) || attempt >= maxRetries || chain.call().isCanceled()) {
+                return response;
+            }
+
+            long delay = retryAfterDelay(response);
+            if (delay < 0) {
+                delay = backoffDelay(attempt);
+            } else if (delay > MAX_RETRY_AFTER_MS) {
+                Log.w(TAG, "Retry-After过长(" + delay + "ms)，不再重试");
+                return response;
+            }
+            Log.w(TAG, "状态码" + response.code() + "，" + delay + "ms后第" + (attempt + 1) + "次重试: " + request.url().encodedPath());
+            response.close();
+            sleep(delay);
+            attempt++;
+        }
+    }
+
+    /**
+     * 只有带FEED标记的GET请求才重试
+     */
+    private boolean isRetryable(Request request) {
+        return "GET".equals(request.method())
+                && request.tag(HttpClientProvider.RequestCategory.class) == HttpClientProvider.RequestCategory.FEED;
+    }
+
+    private boolean isRetryableCode(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    /**
+     * 指数退避 + full jitter：在[0, min(max, base * 2^attempt)]内随机
+     */
+    long backoffDelay(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 16));
+        return (long) (random.nextDouble() * cap);
+    }
+
+    /**
+     * 解析Retry-After（秒数或HTTP日期），没有或无法解析时返回-1
+     */
+    static long retryAfterDelay(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+                format.setTimeZone(TimeZone.getTimeZone("GMT"));
+                Date date = format.parse(value.trim());
+                return Math.max(0, date.getTime() - System.currentTimeMillis());
+            } catch (ParseException parseError) {
+                return -1;
+            }
+        }
+    }
+
+    private void sleep(long delayMs) throws IOException {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("重试等待被中断");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.limtide.ugclite.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultDataSource;
+import androidx.media3.datasource.TransferListener;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+
+import com.limtide.ugclite.utils.CacheManager;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 视频磁盘缓存 - 进程内唯一的Media3 SimpleCache（LRU淘汰），所有播放器通过CacheDataSource读取
+ * - 重播、返回同一帖子、重新打开详情页时直接从磁盘读取已下载的部分，不再重新下载整个视频
+ * - 缓存上限由CacheManager.MAX_VIDEO_CACHE_SIZE决定，超出时淘汰最久未使用的片段
+ * - 上游使用Media3自带的HTTP数据源，不经过共享OkHttpClient，避免视频数据挤占HTTP磁盘缓存
+ * - 每个播放器使用独立的PlaybackBytes统计本次播放的缓存命中字节数和网络字节数
+ *
+ * 线程安全：SimpleCache内部同步；统计字段为AtomicLong，可在加载线程和主线程同时访问
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class VideoCacheProvider {
+
+    private static final String TAG = "VideoCacheProvider";
+
+    private static final String VIDEO_CACHE_DIR = "video_cache";
+
+    private static volatile VideoCacheProvider instance;
+
+    private final SimpleCache cache;
+    private final Context appContext;
+    private final PlaybackBytes totalBytes = new PlaybackBytes();
+
+    public static VideoCacheProvider getInstance(Context context) {
+        if (instance == null) {
+            synchronized (VideoCacheProvider.class) {
+                if (instance == null) {
+                    instance = new VideoCacheProvider(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private VideoCacheProvider(Context appContext) {
+        this.appContext = appContext;
+        File cacheDir = new File(appContext.getCacheDir(), VIDEO_CACHE_DIR);
+        cache = new SimpleCache(cacheDir,
+                new LeastRecentlyUsedCacheEvictor(CacheManager.MAX_VIDEO_CACHE_SIZE),
+                new StandaloneDatabaseProvider(appContext));
+        Log.d(TAG, "视频缓存初始化完成，目录: " + cacheDir.getAbsolutePath()
+                + "，上限: " + CacheManager.MAX_VIDEO_CACHE_SIZE / (1024 * 1024) + "MB");
+    }
+
+    /**
+     * 创建带缓存的数据源工厂，读取的字节数记录到bytes（同时计入全局统计）
+     */
+    @NonNull
+    public CacheDataSource.Factory createDataSourceFactory(@NonNull PlaybackBytes bytes) {
+        DefaultDataSource.Factory upstream = new DefaultDataSource.Factory(appContext)
+                .setTransferListener(new NetworkBytesListener(bytes));
+        return new CacheDataSource.Factory()
+                .setCache(cache)
+                .setUpstreamDataSourceFactory(upstream)
+                .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+                .setEventListener(new CacheDataSource.EventListener() {
+                    @Override
+                    public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+                        bytes.cacheBytes.addAndGet(cachedBytesRead);
+                        totalBytes.cacheBytes.addAndGet(cachedBytesRead);
+                    }
+
+                    @Override
+                    public void onCacheIgnored(int reason) {
+                        Log.w(TAG, "视频缓存被跳过，原因: " + reason);
+                    }
+                });
+    }
+
+    /**
+     * 当前缓存占用的字节数
+     */
+    public long getCacheSize() {
+        return cache.getCacheSpace();
+    }
+
+    /**
+     * 清空视频缓存（正在读取的片段会在读取结束后删除）
+     */
+    public void clear() {
+        int removed = 0;
+        for (String key : cache.getKeys()) {
+            cache.removeResource(key);
+            removed++;
+        }
+        Log.d(TAG, "视频缓存已清空，资源数: " + removed);
+    }
+
+    /**
+     * 全局统计摘要
+     */
+    public String getStatsSummary() {
+        return "视频缓存统计{" + totalBytes + ", size=" + getCacheSize()
+                + "/" + CacheManager.MAX_VIDEO_CACHE_SIZE + '}';
+    }
+
+    /**
+     * 只统计网络传输的字节（缓存文件读取也会经过DefaultDataSource，按isNetwork区分）
+     */
+    private class NetworkBytesListener implements TransferListener {
+        private final PlaybackBytes bytes;
+
+        NetworkBytesListener(PlaybackBytes bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void onTransferInitializing(@NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {
+        }
+
+        @Override
+        public void onTransferStart(@NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {
+        }
+
+        @Override
+        public void onBytesTransferred(@NonNull DataSource source, @NonNull DataSpec dataSpec,
+                                       boolean isNetwork, int bytesTransferred) {
+            if (isNetwork) {
+                bytes.networkBytes.addAndGet(bytesTransferred);
+                totalBytes.networkBytes.addAndGet(bytesTransferred);
+            }
+        }
+
+        @Override
+        public void onTransferEnd(@NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {
+        }
+    }
+
+    /**
+     * 一次播放（或全局）的缓存命中字节数和网络字节数
+     */
+    public static class PlaybackBytes {
+        private final AtomicLong cacheBytes = new AtomicLong();
+        private final AtomicLong networkBytes = new AtomicLong();
+
+        public long getCacheBytes() {
+            return cacheBytes.get();
+        }
+
+        public long getNetworkBytes() {
+            return networkBytes.get();
+        }
+
+        /**
+         * 输出本次播放的统计并清零，没有读取任何数据时返回null
+         */
+        @Nullable
+        public String drain() {
+            long cached = cacheBytes.getAndSet(0);
+            long network = networkBytes.getAndSet(0);
+            if (cached == 0 && network == 0) {
+                return null;
+            }
+            return format(cached, network);
+        }
+
+        @Override
+        public String toString() {
+            return format(cacheBytes.get(), networkBytes.get());
+        }
+
+        private static String format(long cached, long network) {
+            long total = cached + network;
+            return String.format(Locale.US, "缓存命中: %.1fKB, 网络: %.1fKB, 命中率: %d%%",
+                    cached / 1024.0, network / 1024.0, total > 0 ? cached * 100 / total : 0);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.limtide.ugclite.network;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+
+import com.limtide.ugclite.utils.ScrollWorkCoordinator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 视频头部预缓存 - 提前把即将播放的视频的前HEAD_BYTES字节写入VideoCacheProvider的播放缓存
+ * - 首页登记可见卡片附近的视频，详情页登记相邻页面的视频，打开时播放器直接从本地字节起播
+ * - 每个调用方（owner）登记一个窗口，数量受当前网络档位的videoPreloadCount限制，弱网下不预缓存
+ * - 窗口更新时取消已不在任何窗口中的任务（包括正在下载的），页面销毁时清空自己的窗口
+ * - 惯性滑动期间通过ScrollWorkCoordinator延后，下载在单个低优先级线程上串行执行
+ *
+ * 线程安全：窗口和任务表由lock保护，update/clear可在任意线程调用（通常为主线程）
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class VideoPrecacher {
+
+    private static final String TAG = "VideoPrecacher";
+
+    public static final long HEAD_BYTES = 512 * 1024; // 约为常见码率下的前2~4秒
+
+    private static volatile VideoPrecacher instance;
+
+    /**
+     * 创建单个视频的头部下载，测试中替换为不访问网络的实现
+     */
+    interface HeadWriterFactory {
+        @NonNull
+        HeadWriter create(@NonNull String url, @NonNull VideoCacheProvider.PlaybackBytes bytes);
+    }
+
+    /**
+     * 头部下载 - cache()阻塞写入缓存，cancel()可在其它线程调用，被取消的cache()抛出InterruptedIOException
+     */
+    interface HeadWriter {
+        void cache() throws IOException;
+
+        void cancel();
+    }
+
+    private final HeadWriterFactory writerFactory;
+    private final Supplier<NetworkQualityEstimator.NetworkTier> tierSource;
+    private final VideoCacheProvider.PlaybackBytes precacheBytes = new VideoCacheProvider.PlaybackBytes();
+    private final Object lock = new Object();
+    private final Map<String, List<String>> windows = new HashMap<>();     // owner -> 视频地址
+    private final Map<String, PrecacheTask> tasks = new LinkedHashMap<>(); // 视频地址 -> 排队或下载中的任务
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "VideoPrecache");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private int completedCount = 0;
+    private int cancelledCount = 0;
+    private int failedCount = 0;
+
+    public static VideoPrecacher getInstance(Context context) {
+        if (instance == null) {
+            synchronized (VideoPrecacher.class) {
+                if (instance == null) {
+                    VideoCacheProvider cacheProvider = VideoCacheProvider.getInstance(context);
+                    instance = new VideoPrecacher((url, bytes) -> createCacheWriter(cacheProvider, url, bytes),
+                            () -> NetworkQualityEstimator.getInstance().getTier());
+                }
+            }
+        }
+        return instance;
+    }
+
+    VideoPrecacher(@NonNull HeadWriterFactory writerFactory,
+                   @NonNull Supplier<NetworkQualityEstimator.NetworkTier> tierSource) {
+        this.writerFactory = writerFactory;
+        this.tierSource = tierSource;
+    }
+
+    /**
+     * 通过播放缓存写入视频的前HEAD_BYTES字节，已缓存的部分由CacheWriter跳过
+     */
+    @NonNull
+    private static HeadWriter createCacheWriter(VideoCacheProvider cacheProvider, String url,
+                                                VideoCacheProvider.PlaybackBytes bytes) {
+        CacheDataSource dataSource = cacheProvider.createDataSourceFactory(bytes).createDataSource();
+        DataSpec dataSpec = new DataSpec.Builder()
+                .setUri(Uri.parse(url))
+                .setPosition(0)
+                .setLength(HEAD_BYTES)
+                .build();
+        CacheWriter writer = new CacheWriter(dataSource, dataSpec, null, null);
+        return new HeadWriter() {
+            @Override
+            public void cache() throws IOException {
+                writer.cache();
+            }
+
+            @Override
+            public void cancel() {
+                writer.cancel();
+            }
+        };
+    }
+
+    /**
+     * 更新调用方的预缓存窗口
+     * @param urls 按播放可能性由高到低排列的视频地址，超出当前档位数量的部分忽略
+     */
+    public void update(@NonNull String owner, @NonNull List<String> urls) {
+        int limit = tierSource.get().videoPreloadCount;
+        List<String> window = new ArrayList<>();
+        for (String url : urls) {
+            if (window.size() >= limit) {
+                break;
+            }
+            if (url != null && !url.isEmpty() && !window.contains(url)) {
+                window.add(url);
+            }
+        }
+
+        List<PrecacheTask> toSchedule = new ArrayList<>();
+        synchronized (lock) {
+            if (window.isEmpty()) {
+                windows.remove(owner);
+            } else {
+                windows.put(owner, window);
+            }
+            cancelUnwantedLocked();
+            for (String url : window) {
+                if (!tasks.containsKey(url)) {
+                    PrecacheTask task = new PrecacheTask(url);
+                    tasks.put(url, task);
+                    toSchedule.add(task);
+                }
+            }
+        }
+        for (PrecacheTask task : toSchedule) {
+            ScrollWorkCoordinator.getInstance().runWhenIdle(ScrollWorkCoordinator.Priority.VIDEO_PREFETCH,
+                    task.url, () -> worker.execute(task));
+        }
+    }
+
+    /**
+     * 清空调用方的窗口（页面销毁时调用），不再被其它窗口需要的任务会被取消
+     */
+    public void clear(@NonNull String owner) {
+        synchronized (lock) {
+            if (windows.remove(owner) == null) {
+                return;
+            }
+            cancelUnwantedLocked();
+        }
+        Log.d(TAG, getStats());
+    }
+
+    /**
+     * 预缓存统计
+     */
+    public String getStats() {
+        synchronized (lock) {
+            return "视频预缓存统计 - 完成: " + completedCount + "，取消: " + cancelledCount
+                    + "，失败: " + failedCount + "，进行中: " + tasks.size()
+                    + "，" + precacheBytes;
+        }
+    }
+
+    /**
+     * 取消不在任何窗口中的任务 - 需在synchronized(lock)内调用
+     */
+    private void cancelUnwantedLocked() {
+        Iterator<Map.Entry<String, PrecacheTask>> iterator = tasks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PrecacheTask> entry = iterator.next();
+            if (!isWantedLocked(entry.getKey())) {
+                entry.getValue().cancel();
+                cancelledCount++;
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isWantedLocked(String url) {
+        for (List<String> window : windows.values()) {
+            if (window.contains(url)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 单个视频的头部下载任务
+     */
+    private class PrecacheTask implements Runnable {
+        private final String url;
+        private volatile boolean cancelled = false;
+        private volatile HeadWriter writer;
+
+        PrecacheTask(String url) {
+            this.url = url;
+        }
+
+        void cancel() {
+            cancelled = true;
+            HeadWriter current = writer;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            writer = writerFactory.create(url, precacheBytes);
+            boolean completed = false;
+            try {
+                // 创建writer之前被取消时，cancel()没有可取消的writer，这里再检查一次
+                if (!cancelled) {
+                    writer.cache();
+                    completed = true;
+                    Log.d(TAG, "视频头部预缓存完成: " + url);
+                }
+            } catch (InterruptedIOException e) {
+                Log.d(TAG, "视频头部预缓存已取消: " + url);
+            } catch (IOException e) {
+                Log.w(TAG, "视频头部预缓存失败: " + url, e);
+            } finally {
+                synchronized (lock) {
+                    if (completed) {
+                        completedCount++;
+                    } else if (!cancelled) {
+                        failedCount++;
+                    }
+                    // 完成或失败后移出任务表；窗口仍包含该地址时，下次update会重新登记（已缓存的部分会被跳过）
+                    if (tasks.get(url) == this) {
+                        tasks.remove(url);
+                    }
+                }
+            }
+        }
+    }
+}
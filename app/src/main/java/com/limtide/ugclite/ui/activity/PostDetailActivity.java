@@ -22,7 +22,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
 import androidx.core.view.ViewCompat;
+import androidx.core.widget.TextViewCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import android.transition.AutoTransition;
 import android.transition.ChangeBounds;
@@ -39,9 +41,12 @@ import com.limtide.ugclite.R;
 import com.limtide.ugclite.ui.adapter.MediaPagerAdapter;
 import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.ActivityPostDetailBinding;
+import com.limtide.ugclite.network.RequestScope;
+import com.limtide.ugclite.network.VideoPrecacher;
 import com.limtide.ugclite.utils.LikeManager;
 import com.limtide.ugclite.utils.FollowManager;
 import com.limtide.ugclite.utils.MuteManager;
+import com.limtide.ugclite.utils.TextLayoutCache;
 import com.limtide.ugclite.ui.component.MusicPlayer;
 
 import java.lang.ref.WeakReference;
@@ -51,6 +56,11 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
 /**
  * 作品详情页Activity
  *
@@ -87,6 +97,8 @@ public class PostDetailActivity extends AppCompatActivity {
 
     // 音乐播放器
     private MusicPlayer musicPlayer;
+    private RequestScope requestScope; // 本页面的请求范围，onDestroy时只取消本页面的下载
+    private Disposable contentTextSubscription; // 正文后台预计算，onDestroy时释放
 
     // 自动轮播相关
     private Handler autoPlayHandler;
@@ -105,6 +117,9 @@ public class PostDetailActivity extends AppCompatActivity {
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        // 本页面的请求范围，随Activity销毁自动取消
+        requestScope = RequestScope.bind(this, TAG);
+
         try {
             binding = ActivityPostDetailBinding.inflate(getLayoutInflater());
             setContentView(binding.getRoot());
@@ -231,6 +246,7 @@ public class PostDetailActivity extends AppCompatActivity {
      */
     private void initMusicPlayer() {
         musicPlayer = new MusicPlayer(this);
+        musicPlayer.setRequestScope(requestScope);
         musicPlayer.setMusicPlayerListener(new MusicPlayer.MusicPlayerListener() {
             @Override
             public void onPrepared() {
@@ -546,6 +562,9 @@ public class PostDetailActivity extends AppCompatActivity {
         // 设置当前页
         binding.viewPager.setCurrentItem(currentMediaPosition, false);
 
+        // 预缓存相邻页的视频头部
+        precacheAdjacentVideos(currentMediaPosition);
+
         // 初始化位置信息
         lastKnownPosition = currentMediaPosition;
 
@@ -707,40 +726,84 @@ public class PostDetailActivity extends AppCompatActivity {
      */
     private void setupContentWithHashtags() {
         String content = currentPost.content != null ? currentPost.content : "";
+        List<Post.Hashtag> hashtags = currentPost.hashtags;
+        if (hashtags != null && !hashtags.isEmpty()) {
+            binding.contentText.setMovementMethod(LinkMovementMethod.getInstance());
+        }
 
-        if (currentPost.hashtags != null && !currentPost.hashtags.isEmpty()) {
-            SpannableStringBuilder spannableBuilder = new SpannableStringBuilder();
+        if (!TextLayoutCache.isSupported() || content.isEmpty()) {
+            binding.contentText.setText(buildContentText(content, hashtags));
+            return;
+        }
 
-            int lastEnd = 0;
-            // 按话题标签位置排序
-            for (Post.Hashtag hashtag : currentPost.hashtags) {
-                // 添加普通文本
-                if (hashtag.start > lastEnd) {
-                    spannableBuilder.append(content.substring(lastEnd, hashtag.start));
-                }
+        // 再次打开同一帖子时直接使用缓存的预计算结果
+        PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(binding.contentText);
+        PrecomputedTextCompat cached = TextLayoutCache.getInstance().getContent(currentPost.postId, content, params);
+        if (cached != null) {
+            applyContentText(cached);
+            return;
+        }
 
-                // 添加高亮的话题标签
-                String hashtagText = content.substring(hashtag.start, hashtag.end);
-                SpannableString hashtagSpan = new SpannableString(hashtagText);
-                hashtagSpan.setSpan(new ForegroundColorSpan(Color.parseColor("#1890FF")),
-                        0, hashtagText.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-                hashtagSpan.setSpan(new SafeClickableSpan(this, hashtagText), 0, hashtagText.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        // 在后台构建话题标签span并测量正文，完成前先清空布局中的占位文本
+        binding.contentText.setText("");
+        String postId = currentPost.postId != null ? currentPost.postId : "";
+        contentTextSubscription = Single.fromCallable(() ->
+                        TextLayoutCache.getInstance().precomputeContent(postId, buildContentText(content, hashtags), params))
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(this::applyContentText, error -> {
+                    Log.w(TAG, "正文预计算失败，直接显示: " + error.getMessage());
+                    binding.contentText.setText(buildContentText(content, hashtags));
+                });
+    }
 
-                spannableBuilder.append(hashtagSpan);
-                lastEnd = hashtag.end;
-            }
+    /**
+     * 显示预计算好的正文；排版参数与TextView不一致时退回普通文本（保留span）
+     */
+    private void applyContentText(PrecomputedTextCompat precomputed) {
+        try {
+            TextViewCompat.setPrecomputedText(binding.contentText, precomputed);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "正文排版参数不一致，不使用预计算结果");
+            binding.contentText.setText(new SpannableString(precomputed));
+        }
+    }
+
+    /**
+     * 构建正文文本，话题标签高亮并可点击
+     * 可在后台线程调用；span不持有页面引用，结果可跨页面缓存
+     */
+    private static CharSequence buildContentText(String content, @Nullable List<Post.Hashtag> hashtags) {
+        if (hashtags == null || hashtags.isEmpty()) {
+            // 没有话题标签，直接显示
+            return content;
+        }
+        SpannableStringBuilder spannableBuilder = new SpannableStringBuilder();
 
-            // 添加剩余文本
-            if (lastEnd < content.length()) {
-                spannableBuilder.append(content.substring(lastEnd));
+        int lastEnd = 0;
+        // 按话题标签位置排序
+        for (Post.Hashtag hashtag : hashtags) {
+            // 添加普通文本
+            if (hashtag.start > lastEnd) {
+                spannableBuilder.append(content.substring(lastEnd, hashtag.start));
             }
 
-          binding.contentText.setText(spannableBuilder);
-            binding.contentText.setMovementMethod(LinkMovementMethod.getInstance());
-        } else {
-            // 没有话题标签，直接显示
-            binding.contentText.setText(content);
+            // 添加高亮的话题标签
+            String hashtagText = content.substring(hashtag.start, hashtag.end);
+            SpannableString hashtagSpan = new SpannableString(hashtagText);
+            hashtagSpan.setSpan(new ForegroundColorSpan(Color.parseColor("#1890FF")),
+                    0, hashtagText.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            hashtagSpan.setSpan(new SafeClickableSpan(hashtagText), 0, hashtagText.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+            spannableBuilder.append(hashtagSpan);
+            lastEnd = hashtag.end;
+        }
+
+        // 添加剩余文本
+        if (lastEnd < content.length()) {
+            spannableBuilder.append(content.substring(lastEnd));
         }
+        return spannableBuilder;
     }
 
  
@@ -1354,6 +1417,27 @@ public class PostDetailActivity extends AppCompatActivity {
         startActivity(Intent.createChooser(shareIntent, "分享作品"));
     }
 
+    /**
+     * 预缓存左右相邻页的视频头部，下一页优先
+     * 当前页由播放器直接加载，不再登记预缓存，避免与播放器同时下载同一段数据
+     */
+    private void precacheAdjacentVideos(int position) {
+        if (mediaClips == null || mediaClips.isEmpty()) {
+            return;
+        }
+        List<String> urls = new ArrayList<>();
+        int[] candidates = {position + 1, position - 1};
+        for (int index : candidates) {
+            if (index >= 0 && index < mediaClips.size()) {
+                Post.Clip clip = mediaClips.get(index);
+                if (clip != null && clip.type == 1) {
+                    urls.add(clip.url);
+                }
+            }
+        }
+        VideoPrecacher.getInstance(this).update(TAG, urls);
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -1362,6 +1446,12 @@ public class PostDetailActivity extends AppCompatActivity {
         // 停止自动轮播
         stopAutoPlay();
 
+        // 释放正文预计算订阅
+        if (contentTextSubscription != null) {
+            contentTextSubscription.dispose();
+            contentTextSubscription = null;
+        }
+
         // 清理Handler
         if (autoPlayHandler != null) {
             autoPlayHandler.removeCallbacksAndMessages(null);
@@ -1379,6 +1469,9 @@ public class PostDetailActivity extends AppCompatActivity {
             }
         }
 
+        // 取消本页面登记的视频头部预缓存
+        VideoPrecacher.getInstance(this).clear(TAG);
+
         // 释放所有视频播放器资源
         releaseAllVideoPlayers();
 
@@ -1440,6 +1533,9 @@ public class PostDetailActivity extends AppCompatActivity {
 
             activity.currentMediaPosition = position;
 
+            // 预缓存新的相邻页视频头部，离开窗口的预缓存会被取消
+            activity.precacheAdjacentVideos(position);
+
             // 安全地更新进度条指示器
             try {
                 if (activity.binding != null && activity.binding.tabIndicator != null) {
@@ -1533,31 +1629,25 @@ public class PostDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * 安全的ClickableSpan - 使用WeakReference避免内存泄漏
+     * 安全的ClickableSpan - 不持有页面引用，点击时从被点击的View取得Context
+     * 正文预计算结果会跨页面缓存，span不能引用某个Activity实例
      */
     private static class SafeClickableSpan extends ClickableSpan {
-        private final WeakReference<PostDetailActivity> activityRef;
         private final String hashtagText;
 
-        SafeClickableSpan(PostDetailActivity activity, String hashtagText) {
-            this.activityRef = new WeakReference<>(activity);
+        SafeClickableSpan(String hashtagText) {
             this.hashtagText = hashtagText;
         }
 
         @Override
         public void onClick(@NonNull View widget) {
-            PostDetailActivity activity = activityRef.get();
-            if (activity == null || activity.isFinishing() || activity.isDestroyed()) {
-                return;
-            }
-
             try {
                 // 点击话题标签跳转
-                Intent intent = new Intent(activity, HashtagActivity.class);
+                Intent intent = new Intent(widget.getContext(), HashtagActivity.class);
                 intent.putExtra("hashtag", hashtagText);
-                activity.startActivity(intent);
+                widget.getContext().startActivity(intent);
             } catch (Exception e) {
-                Log.e(activity.TAG, "Error starting hashtag activity: " + e.getMessage(), e);
+                Log.e(TAG, "Error starting hashtag activity: " + e.getMessage(), e);
             }
         }
 
@@ -0,0 +1,199 @@
+package com.limtide.ugclite.ui.adapter;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.request.target.Target;
+import com.limtide.ugclite.data.model.CardModel;
+import com.limtide.ugclite.network.NetworkQualityEstimator;
+import com.limtide.ugclite.ui.component.WaterfallLayoutManager;
+import com.limtide.ugclite.utils.FeedImageOptions;
+
+/**
+ * 瀑布流图片预加载器 - 按滚动方向提前N个item预加载封面和头像
+ * - 预加载请求与NoteCardAdapter实际请求的尺寸、选项完全一致，绑定时直接命中内存缓存
+ * - 预加载窗口内的图片按解码后大小计入内存预算，超出预算的item不再预加载
+ * - 窗口移动或滚动方向改变时，取消滑出窗口的请求
+ * - 弱网（POOR档位）下不预加载，避免与可见卡片争抢带宽
+ *
+ * 线程说明：只在主线程使用（RecyclerView滚动回调）
+ */
+public class FeedImagePreloader extends RecyclerView.OnScrollListener {
+
+    private static final String TAG = "FeedImagePreloader";
+
+    public static final int DEFAULT_LOOKAHEAD = 8;   // 默认提前预加载的item数
+    private static final int BUDGET_FRACTION = 4;    // 预加载最多占用Glide内存缓存的1/4
+
+    private final Context context;
+    private final NoteCardAdapter adapter;
+    private final int lookahead;
+    private final long memoryBudgetBytes;
+    private final int avatarBytes;
+
+    private final SparseArray<PreloadEntry> entries = new SparseArray<>(); // position -> 预加载请求
+    private long budgetUsedBytes = 0;
+
+    private int lastFirst = RecyclerView.NO_POSITION;
+    private int lastLast = RecyclerView.NO_POSITION;
+    private boolean lastForward = true;
+
+    public FeedImagePreloader(@NonNull Context context, @NonNull NoteCardAdapter adapter, int lookahead) {
+        this.context = context;
+        this.adapter = adapter;
+        this.lookahead = lookahead;
+        this.memoryBudgetBytes = new MemorySizeCalculator.Builder(context).build().getMemoryCacheSize() / BUDGET_FRACTION;
+        int avatarSize = adapter.getAvatarSizePx();
+        this.avatarBytes = avatarSize * avatarSize * 4; // 圆形头像需要透明通道，ARGB_8888
+        Log.d(TAG, "图片预加载器初始化，提前: " + lookahead + "，内存预算: " + (memoryBudgetBytes / 1024) + "KB");
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) {
+            return; // 布局变化触发的回调，没有滚动方向
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(layoutManager instanceof WaterfallLayoutManager)) {
+            return;
+        }
+        WaterfallLayoutManager waterfall = (WaterfallLayoutManager) layoutManager;
+        int first = waterfall.findFirstVisibleItemPosition();
+        int last = waterfall.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        boolean forward = dy > 0;
+        if (first == lastFirst && last == lastLast && forward == lastForward) {
+            return; // 可见范围和方向都没变
+        }
+        lastFirst = first;
+        lastLast = last;
+        lastForward = forward;
+        updateWindow(first, last, forward);
+    }
+
+    /**
+     * 取消所有预加载并重置状态（列表刷新或视图销毁时调用）
+     */
+    public void cancelAll() {
+        for (int i = 0; i < entries.size(); i++) {
+            entries.valueAt(i).clear();
+        }
+        entries.clear();
+        budgetUsedBytes = 0;
+        lastFirst = RecyclerView.NO_POSITION;
+        lastLast = RecyclerView.NO_POSITION;
+    }
+
+    private void updateWindow(int first, int last, boolean forward) {
+        if (NetworkQualityEstimator.getInstance().getTier() == NetworkQualityEstimator.NetworkTier.POOR) {
+            cancelAll();
+            return;
+        }
+
+        int itemCount = adapter.getItemCount();
+        int from = forward ? last + 1 : Math.max(0, first - lookahead);
+        int to = forward ? Math.min(itemCount - 1, last + lookahead) : first - 1;
+
+        // 取消滑出窗口的请求
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            int position = entries.keyAt(i);
+            if (position < from || position > to) {
+                PreloadEntry entry = entries.valueAt(i);
+                entry.clear();
+                budgetUsedBytes -= entry.bytes;
+                entries.removeAt(i);
+            }
+        }
+
+        // 按滚动方向由近及远发起新的预加载，超出内存预算即停止
+        int count = to - from + 1;
+        for (int i = 0; i < count; i++) {
+            int position = forward ? from + i : to - i;
+            if (entries.get(position) != null) {
+                continue;
+            }
+            CardModel card = adapter.getCard(position);
+            if (card == null) {
+                continue;
+            }
+            int bytes = estimateBytes(card);
+            if (budgetUsedBytes + bytes > memoryBudgetBytes) {
+                break;
+            }
+            entries.put(position, preload(card, bytes));
+            budgetUsedBytes += bytes;
+        }
+    }
+
+    /**
+     * 发起与NoteCardAdapter绑定时相同尺寸、相同选项的请求
+     * 视频封面由VideoThumbnailUtil在分页管线中预加载，这里只处理图片封面
+     */
+    private PreloadEntry preload(CardModel card, int bytes) {
+        Target<?> cover = null;
+        if (card.coverType == CardModel.COVER_IMAGE) {
+            cover = Glide.with(context)
+                    .load(card.coverUrl)
+                    .apply(FeedImageOptions.cover(card.coverWidthPx, card.coverHeightPx))
+                    .preload();
+        }
+        Target<?> avatar = null;
+        if (card.avatarUrl != null) {
+            avatar = Glide.with(context)
+                    .load(card.avatarUrl)
+                    .apply(adapter.getAvatarOptions())
+                    .preload();
+        }
+        return new PreloadEntry(cover, avatar, bytes);
+    }
+
+    /**
+     * 估算解码后占用的内存 - 封面RGB_565每像素2字节
+     */
+    private int estimateBytes(CardModel card) {
+        int bytes = 0;
+        if (card.coverType == CardModel.COVER_IMAGE) {
+            bytes += card.coverWidthPx * card.coverHeightPx * 2;
+        }
+        if (card.avatarUrl != null) {
+            bytes += avatarBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * 单个item的预加载请求
+     */
+    private class PreloadEntry {
+        private final Target<?> cover;
+        private final Target<?> avatar;
+        private final int bytes;
+
+        PreloadEntry(Target<?> cover, Target<?> avatar, int bytes) {
+            this.cover = cover;
+            this.avatar = avatar;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 取消未完成的请求；已完成的预加载已进入内存缓存，不受影响
+         */
+        void clear() {
+            if (cover != null) {
+                Glide.with(context).clear(cover);
+            }
+            if (avatar != null) {
+                Glide.with(context).clear(avatar);
+            }
+        }
+    }
+}
@@ -15,13 +15,14 @@ import com.limtide.ugclite.R;
 import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.ItemMediaImageBinding;
 import com.limtide.ugclite.databinding.ItemMediaVideoBinding;
+import com.limtide.ugclite.network.VideoCacheProvider;
+import com.limtide.ugclite.ui.component.ExoPlayerPool;
 import com.limtide.ugclite.ui.component.VideoPlayerView;
+import com.limtide.ugclite.utils.VideoStateStore;
 import com.limtide.ugclite.utils.VideoThumbnailUtil;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 /**
  * 媒体适配器 - 用于详情页ViewPager2
@@ -32,6 +33,7 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private static final String TAG = "MediaPagerAdapter";
     private static final int VIEW_TYPE_IMAGE = 0;
     private static final int VIEW_TYPE_VIDEO = 1;
+    private static final long POSITION_TOLERANCE_MS = 500; // 播放器位置与保存位置相差在此范围内时不再跳转
 
     private Context context;
     private List<Post.Clip> mediaClips;
@@ -49,12 +51,14 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         this.context = context;
         this.mediaClips = mediaClips;
         this.firstClipAspectRatio = calculateFirstClipAspectRatio();
+        this.videoStateStore = VideoStateStore.getInstance(context);
     }
 
     public MediaPagerAdapter(Context context, List<Post.Clip> mediaClips, float firstClipAspectRatio) {
         this.context = context;
         this.mediaClips = mediaClips;
         this.firstClipAspectRatio = firstClipAspectRatio;
+        this.videoStateStore = VideoStateStore.getInstance(context);
     }
 
     public void setOnMediaClickListener(OnMediaClickListener listener) {
@@ -293,85 +297,64 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         // 加载视频封面
         loadVideoThumbnail(holder, clip.url);
 
-        // 清理之前的视频播放器
-        if (holder.videoPlayerView != null) {
-            Log.d(TAG, "清理之前的VideoPlayerView");
-            holder.videoPlayerView.release();
-            holder.binding.videoContainer.removeView(holder.videoPlayerView);
-            videoPlayerViews.remove(holder.videoPlayerView);
-            holder.videoPlayerView = null;
+        // 复用ViewHolder中的VideoPlayerView（PlayerView和Surface保留），只把池中的播放器重新绑定到新视频
+        if (holder.videoPlayerView == null) {
+            Log.d(TAG, "创建VideoPlayerView for URL: " + clip.url);
+            holder.videoPlayerView = new VideoPlayerView(context);
+
+            // 添加到容器
+            android.view.ViewGroup.LayoutParams playerParams =
+                new android.view.ViewGroup.LayoutParams(
+                    android.view.ViewGroup.LayoutParams.MATCH_PARENT,
+                    android.view.ViewGroup.LayoutParams.MATCH_PARENT
+                );
+            holder.binding.videoContainer.addView(holder.videoPlayerView, playerParams);
         }
 
-        // 创建新的VideoPlayerView
-        Log.d(TAG, "创建新的VideoPlayerView for URL: " + clip.url);
-        holder.videoPlayerView = new VideoPlayerView(context);
-
-        // 添加到容器
-        android.view.ViewGroup.LayoutParams playerParams =
-            new android.view.ViewGroup.LayoutParams(
-                android.view.ViewGroup.LayoutParams.MATCH_PARENT,
-                android.view.ViewGroup.LayoutParams.MATCH_PARENT
-            );
-        holder.binding.videoContainer.addView(holder.videoPlayerView, playerParams);
-
         // 添加到跟踪列表
         addVideoPlayerView(holder.videoPlayerView);
 
         // 设置视频URL
         if (clip.url != null && !clip.url.isEmpty()) {
+            // 检查是否有保存的状态需要恢复，有则直接从保存的位置开始缓冲
+            VideoStateStore.VideoState savedState = videoStateStore.get(clip.url);
             Log.d(TAG, "设置视频URL: " + clip.url);
-            holder.videoPlayerView.setVideoUrl(clip.url);
+            holder.videoPlayerView.setVideoUrl(clip.url, savedState != null ? savedState.position : 0);
 
-            // 检查是否有保存的状态需要恢复
-            VideoState savedState = videoStates.get(clip.url);
             if (savedState != null) {
                 Log.d(TAG, "恢复视频状态 - URL: " + clip.url.substring(clip.url.lastIndexOf('/') + 1) +
                           ", position: " + savedState.position + ", isPlaying: " + savedState.isPlaying);
 
-                // 创建状态恢复监听器
-                androidx.media3.common.Player.Listener stateRestoreListener = new androidx.media3.common.Player.Listener() {
-                    @Override
-                    public void onPlaybackStateChanged(int playbackState) {
-                        if (playbackState == androidx.media3.common.Player.STATE_READY) {
-                            Log.d(TAG, "视频准备就绪，开始恢复状态");
-
-                            // 恢复静音状态
-                            holder.videoPlayerView.setMuted(savedState.isMuted);
-
-                            // 恢复播放位置
-                            if (savedState.position > 0) {
-                                holder.videoPlayerView.seekTo(savedState.position);
-                                Log.d(TAG, "恢复播放位置: " + savedState.position);
-                            }
+                if (holder.videoPlayerView.isReady()) {
+                    // 池中同一视频的播放器已就绪，不会再收到STATE_READY，直接恢复
+                    restoreVideoState(holder, savedState);
+                } else {
+                    // 创建状态恢复监听器
+                    androidx.media3.common.Player.Listener stateRestoreListener = new androidx.media3.common.Player.Listener() {
+                        @Override
+                        public void onPlaybackStateChanged(int playbackState) {
+                            if (playbackState == androidx.media3.common.Player.STATE_READY) {
+                                Log.d(TAG, "视频准备就绪，开始恢复状态");
+                                restoreVideoState(holder, savedState);
 
-                            // 恢复播放状态（延迟一点时间确保seek完成）
-                            if (savedState.isPlaying) {
-                                // 延迟100ms后恢复播放，确保seek完成
-                                holder.videoPlayerView.postDelayed(() -> {
-                                    if (holder.videoPlayerView != null) {
-                                        holder.videoPlayerView.start();
-                                        Log.d(TAG, "恢复播放状态");
-                                    }
-                                }, 100);
+                                // 移除监听器避免重复调用
+                                holder.videoPlayerView.removeOnPreparedListener(this);
                             }
+                        }
 
+                        @Override
+                        public void onPlayerError(androidx.media3.common.PlaybackException error) {
+                            Log.e(TAG, "视频状态恢复时播放错误", error);
+                            // 清理错误状态，避免下次恢复时出错
+                            videoStateStore.remove(clip.url);
                             // 移除监听器避免重复调用
                             holder.videoPlayerView.removeOnPreparedListener(this);
                         }
-                    }
-
-                    @Override
-                    public void onPlayerError(androidx.media3.common.PlaybackException error) {
-                        Log.e(TAG, "视频状态恢复时播放错误", error);
-                        // 清理错误状态，避免下次恢复时出错
-                        videoStates.remove(clip.url);
-                        // 移除监听器避免重复调用
-                        holder.videoPlayerView.removeOnPreparedListener(this);
-                    }
-                };
+                    };
 
-                // 添加状态恢复监听器
-                holder.videoPlayerView.setOnPreparedListener(stateRestoreListener);
+                    // 添加状态恢复监听器
+                    holder.videoPlayerView.setOnPreparedListener(stateRestoreListener);
+                }
             } else {
                 Log.d(TAG, "没有找到保存的视频状态，使用默认状态");
             }
@@ -442,13 +425,37 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
                 }
             });
 
-            Log.d(TAG, "视频数据绑定完成: " + clip.url + ", position: " + position + ", 新创建的播放器: " + (holder.videoPlayerView != null));
+            Log.d(TAG, "视频数据绑定完成: " + clip.url + ", position: " + position);
         } else {
             Log.w(TAG, "视频URL为空，position: " + position);
         }
     }
 
+    /**
+     * 恢复保存的静音状态、播放位置和播放状态
+     */
+    private void restoreVideoState(VideoViewHolder holder, VideoStateStore.VideoState savedState) {
+        // 恢复静音状态
+        holder.videoPlayerView.setMuted(savedState.isMuted);
+
+        // 恢复播放位置 - 播放器通常已从保存的位置开始准备，只有复用的播放器位置不一致时才跳转
+        long drift = Math.abs(holder.videoPlayerView.getCurrentPosition() - savedState.position);
+        if (savedState.position > 0 && drift > POSITION_TOLERANCE_MS) {
+            holder.videoPlayerView.seekTo(savedState.position);
+            Log.d(TAG, "恢复播放位置: " + savedState.position);
+        }
 
+        // 恢复播放状态（延迟一点时间确保seek完成）
+        if (savedState.isPlaying) {
+            // 延迟100ms后恢复播放，确保seek完成
+            holder.videoPlayerView.postDelayed(() -> {
+                if (holder.videoPlayerView != null) {
+                    holder.videoPlayerView.start();
+                    Log.d(TAG, "恢复播放状态");
+                }
+            }, 100);
+        }
+    }
 
     @Override
     public int getItemCount() {
@@ -490,27 +497,12 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     // 用于跟踪所有活跃的VideoPlayerView实例
     private List<VideoPlayerView> videoPlayerViews = new ArrayList<>();
 
-    // 保存视频状态信息的映射 - 只保存当前页面和相邻页面的状态
-    private java.util.Map<String, VideoState> videoStates = new java.util.HashMap<>();
+    // 视频状态存储（LRU，批量持久化），重新打开帖子时从上次的位置继续
+    private final VideoStateStore videoStateStore;
 
     // 当前可见的页面位置，用于主动释放非相邻页面资源
     private int currentPosition = 0;
 
-    /**
-     * 视频状态信息类
-     */
-    private static class VideoState {
-        long position;      // 播放位置
-        boolean isPlaying;  // 是否正在播放
-        boolean isMuted;    // 是否静音
-
-        VideoState(long position, boolean isPlaying, boolean isMuted) {
-            this.position = position;
-            this.isPlaying = isPlaying;
-            this.isMuted = isMuted;
-        }
-    }
-
     /**
      * 暂停所有视频播放
      */
@@ -533,6 +525,7 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         for (VideoPlayerView videoPlayer : videoPlayerViews) {
             if (videoPlayer != null) {
                 try {
+                    saveVideoState(videoPlayer);
                     videoPlayer.release();
                     // 从父容器中移除
                     if (videoPlayer.getParent() instanceof android.view.ViewGroup) {
@@ -548,47 +541,25 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         // 清空列表
         videoPlayerViews.clear();
 
-        // 清理保存的状态
-        videoStates.clear();
+        // 立即写入保存的状态，下次打开同一帖子时恢复
+        videoStateStore.flush();
 
-        Log.d(TAG, "清理所有视频资源完成，剩余实例: " + videoPlayerViews.size() + ", 状态数: " + videoStates.size());
-    }
-
-    /**
-     * 清理过期的视频状态，当状态数量过多时调用
-     */
-    public void cleanupOldStatesIfNecessary() {
-        // 如果状态数量超过20个，清理最旧的一半状态
-        if (videoStates.size() > 20) {
-            List<String> keys = new ArrayList<>(videoStates.keySet());
-            int toRemove = keys.size() / 2;
-
-            for (int i = 0; i < toRemove; i++) {
-                String key = keys.get(i);
-                videoStates.remove(key);
-                Log.d(TAG, "清理过期视频状态: " + key);
-            }
+        // 详情页销毁后停止池中空闲的播放器，释放解码器
+        ExoPlayerPool pool = ExoPlayerPool.getInstance(context);
+        pool.stopIdlePlayers();
+        Log.d(TAG, pool.getStats());
+        Log.d(TAG, VideoCacheProvider.getInstance(context).getStatsSummary());
 
-            Log.d(TAG, "清理完成，剩余状态数: " + videoStates.size());
-        }
+        Log.d(TAG, "清理所有视频资源完成，剩余实例: " + videoPlayerViews.size() + ", 状态数: " + videoStateStore.size());
     }
 
-
     /**
-     * 彻底移除VideoPlayerView
+     * 把VideoPlayerView的播放器归还到池中，View保留（页面回到相邻位置时重新租用）
      */
-    private void removeVideoPlayerView(VideoPlayerView videoPlayerView) {
+    private void releaseVideoPlayer(VideoPlayerView videoPlayerView) {
         if (videoPlayerView != null) {
-            videoPlayerView.release();
-            videoPlayerViews.remove(videoPlayerView);
-
-            // 从父容器中移除
-            if (videoPlayerView.getParent() instanceof android.view.ViewGroup) {
-                android.view.ViewGroup parent = (android.view.ViewGroup) videoPlayerView.getParent();
-                parent.removeView(videoPlayerView);
-            }
-
-            Log.d(TAG, "彻底移除VideoPlayerView，剩余实例: " + videoPlayerViews.size());
+            videoPlayerView.releasePlayer();
+            Log.d(TAG, "归还非相邻页面的播放器: " + videoPlayerView.getVideoUrl());
         }
     }
 
@@ -608,15 +579,14 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     public void setCurrentPosition(int position) {
         this.currentPosition = position;
         releaseNonAdjacentVideos(position);
-        // 注意：不清理videoStates，保留所有视频状态以便恢复播放
-        Log.d(TAG, "设置当前页面位置: " + position + ", 保留视频状态数: " + videoStates.size());
+        Log.d(TAG, "设置当前页面位置: " + position + ", 保存的视频状态数: " + videoStateStore.size());
     }
 
     /**
      * 释放非相邻页面的视频资源
      */
     private void releaseNonAdjacentVideos(int currentPosition) {
-        List<VideoPlayerView> toRemove = new ArrayList<>();
+        List<VideoPlayerView> toRelease = new ArrayList<>();
 
         for (VideoPlayerView videoPlayer : videoPlayerViews) {
             // 获取视频播放器对应的页面位置
@@ -625,13 +595,13 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             // 如果不是当前页面或相邻页面，则释放
             if (Math.abs(playerPosition - currentPosition) > 1) {
                 Log.d(TAG, "释放非相邻页面视频资源，当前位置: " + currentPosition + ", 播放器位置: " + playerPosition);
-                toRemove.add(videoPlayer);
+                toRelease.add(videoPlayer);
             }
         }
 
-        // 移除并释放非相邻页面的视频播放器
-        for (VideoPlayerView videoPlayer : toRemove) {
-            removeVideoPlayerView(videoPlayer);
+        // 归还非相邻页面的播放器，释放解码器
+        for (VideoPlayerView videoPlayer : toRelease) {
+            releaseVideoPlayer(videoPlayer);
         }
     }
 
@@ -651,44 +621,6 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         return -1; // 未找到对应位置
     }
 
-    /**
-     * 清理过期的视频状态，只保留当前页面和相邻页面的状态
-     */
-    private void cleanupOldVideoStates(int currentPosition) {
-        List<String> toRemove = new ArrayList<>();
-
-        for (Map.Entry<String, VideoState> entry : videoStates.entrySet()) {
-            String videoUrl = entry.getKey();
-            int position = getClipPositionByUrl(videoUrl);
-
-            // 如果不是当前页面或相邻页面，则清理状态
-            if (position != -1 && Math.abs(position - currentPosition) > 1) {
-                toRemove.add(videoUrl);
-            }
-        }
-
-        // 移除过期的状态
-        for (String videoUrl : toRemove) {
-            videoStates.remove(videoUrl);
-            Log.d(TAG, "清理过期视频状态: " + videoUrl);
-        }
-    }
-
-    /**
-     * 根据URL获取Clip的位置
-     */
-    private int getClipPositionByUrl(String videoUrl) {
-        if (videoUrl != null && mediaClips != null) {
-            for (int i = 0; i < mediaClips.size(); i++) {
-                Post.Clip clip = mediaClips.get(i);
-                if (clip.url != null && clip.url.equals(videoUrl)) {
-                    return i;
-                }
-            }
-        }
-        return -1;
-    }
-
     @Override
     public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
         super.onViewRecycled(holder);
@@ -700,41 +632,38 @@ public class MediaPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
                 String videoUrl = videoHolder.videoPlayerView.getVideoUrl();
 
                 // 保存所有视频状态，不限制页面位置
-                if (videoUrl != null) {
-                    long currentPosition = videoHolder.videoPlayerView.getCurrentPosition();
-                    boolean isPlaying = videoHolder.videoPlayerView.isPlaying();
-                    boolean isMuted = videoHolder.videoPlayerView.isMuted();
-
-                    VideoState state = new VideoState(currentPosition, isPlaying, isMuted);
-                    videoStates.put(videoUrl, state);
-
-                    Log.d(TAG, "保存视频状态 - Position: " + holderPosition +
-                              ", URL: " + videoUrl.substring(videoUrl.lastIndexOf('/') + 1) +
-                              ", playPosition: " + currentPosition +
-                              ", isPlaying: " + isPlaying +
-                              ", 总状态数: " + videoStates.size());
-                }
+                saveVideoState(videoHolder.videoPlayerView);
 
                 // 从跟踪列表中移除
                 videoPlayerViews.remove(videoHolder.videoPlayerView);
 
-                // 完全释放视频播放器资源
+                // 归还播放器到池中，View留在ViewHolder中供下次绑定复用
                 videoHolder.videoPlayerView.release();
 
-                // 从父容器中移除
-                if (videoHolder.videoPlayerView.getParent() instanceof android.view.ViewGroup) {
-                    android.view.ViewGroup parent = (android.view.ViewGroup) videoHolder.videoPlayerView.getParent();
-                    parent.removeView(videoHolder.videoPlayerView);
-                }
-
-                // 清空holder的引用
-                videoHolder.videoPlayerView = null;
-
                 Log.d(TAG, "VideoViewHolder被回收 - Position: " + holderPosition +
                           ", 剩余视频实例: " + videoPlayerViews.size() +
-                          ", 保存的状态数: " + videoStates.size());
+                          ", 保存的状态数: " + videoStateStore.size());
             }
         }
     }
 
+    /**
+     * 保存视频的播放位置、播放状态和静音状态
+     */
+    private void saveVideoState(VideoPlayerView videoPlayer) {
+        String videoUrl = videoPlayer.getVideoUrl();
+        if (videoUrl == null) {
+            return;
+        }
+        long currentPosition = videoPlayer.getCurrentPosition();
+        boolean isPlaying = videoPlayer.isPlaying();
+        boolean isMuted = videoPlayer.isMuted();
+        videoStateStore.put(videoUrl, currentPosition, isPlaying, isMuted);
+
+        Log.d(TAG, "保存视频状态 - URL: " + videoUrl.substring(videoUrl.lastIndexOf('/') + 1) +
+                  ", playPosition: " + currentPosition +
+                  ", isPlaying: " + isPlaying +
+                  ", 总状态数: " + videoStateStore.size());
+    }
+
 }
\ No newline at end of file
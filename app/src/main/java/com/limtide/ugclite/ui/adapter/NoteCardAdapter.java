@@ -2,9 +2,11 @@ package com.limtide.ugclite.ui.adapter;
 
 import android.content.Context;
 import android.content.Intent;
+import android.graphics.drawable.Drawable;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
+import android.view.View;
 import android.view.ViewGroup;
 
 import java.io.Serializable;
@@ -12,273 +14,396 @@ import java.io.Serializable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
 import com.limtide.ugclite.R;
 import com.limtide.ugclite.ui.activity.PostDetailActivity;
+import com.limtide.ugclite.data.model.CardModel;
 import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.NoteCardBinding;
+import com.limtide.ugclite.ui.component.WaterfallLayoutManager;
+import com.limtide.ugclite.utils.CardModelFactory;
+import com.limtide.ugclite.utils.FeedImageOptions;
 import com.limtide.ugclite.utils.LikeManager;
+import com.limtide.ugclite.utils.TextLayoutCache;
 import com.limtide.ugclite.utils.VideoThumbnailUtil;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
 
 /**
  * 瀑布流适配器 - 用于展示note_card内容
  *
  * @线程安全说明:
- * - 使用ReentrantReadWriteLock保护集合操作
- * - 使用Collections.synchronizedList保证List操作线程安全
- * - 所有数据修改操作都在写锁保护下进行
- * - 所有数据读取操作都在读锁保护下进行
+ * - 列表数据是不可变快照（AsyncListDiffer），新列表在后台线程与当前快照做差异计算，
+ *   计算完成后在主线程整体替换并只分发最小的插入、删除、移动和局部变化
+ * - 绑定和点击只读取当前展示的快照，无需加锁
+ * - 修改数据的方法（setCards/addCards/clearPosts/refreshLikeStates等）必须在主线程调用；
+ *   latestCards和seenPostIds记录最新提交的列表，连续提交时以它为基础，不会丢失尚未完成差异计算的数据
+ * - 卡片展示值由CardModel在后台预先算好，绑定时只做赋值
+ * - 卡片所在的列在提交列表时按估算高度分配（追加时只为新卡片分配），与快照一起生效，
+ *   供WaterfallLayoutManager布局时直接查找
  */
-    public class NoteCardAdapter extends RecyclerView.Adapter<NoteCardAdapter.ViewHolder> {
+    public class NoteCardAdapter extends RecyclerView.Adapter<NoteCardAdapter.ViewHolder>
+        implements WaterfallLayoutManager.ColumnLookup {
 
     private static final String TAG = "WaterfallAdapter";
-    private final List<Post> postList;
-    private final ReentrantReadWriteLock dataLock = new ReentrantReadWriteLock();
+    private static final float AVATAR_SIZE_DP = 16f; // 与UserAvatarStyle一致
+    public static final int COLUMN_COUNT = 2;        // 瀑布流列数
+    // 按postId判断是否同一卡片，按展示值判断内容是否变化；只有点赞变化时返回payload做局部刷新
+    private static final DiffUtil.ItemCallback<CardModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<CardModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CardModel oldItem, @NonNull CardModel newItem) {
+            return oldItem.stableId == newItem.stableId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CardModel oldItem, @NonNull CardModel newItem) {
+            return sameContentIgnoringLike(oldItem, newItem)
+                    && oldItem.liked == newItem.liked
+                    && oldItem.likeCount == newItem.likeCount;
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull CardModel oldItem, @NonNull CardModel newItem) {
+            if (!sameContentIgnoringLike(oldItem, newItem)) {
+                return null; // 完整绑定
+            }
+            EnumSet<Payload> payloads = EnumSet.noneOf(Payload.class);
+            if (oldItem.liked != newItem.liked) {
+                payloads.add(Payload.LIKE_STATE);
+            }
+            if (oldItem.likeCount != newItem.likeCount) {
+                payloads.add(Payload.LIKE_COUNT);
+            }
+            return payloads;
+        }
+    };
+
+    private final AsyncListDiffer<CardModel> differ;
+    private List<CardModel> latestCards = Collections.emptyList(); // 最新提交的列表（可能还在差异计算中），仅主线程访问
+    private final Set<String> seenPostIds = new HashSet<>(); // latestCards中的postId，用于O(1)去重，仅主线程访问
+    private int[] latestColumns = new int[0];     // latestCards中每张卡片所在的列，仅主线程访问
+    private final int[] latestColumnHeights = new int[COLUMN_COUNT]; // 按latestCards估算的每列高度，追加时继续分配
+    private int[] columns = new int[0];           // 当前展示快照对应的列，快照生效时替换，仅主线程访问
     private Context context;
     private OnItemClickListener onItemClickListener;
     private LikeManager likeManager;
+    private final int avatarSizePx;
+    private final RequestOptions avatarOptions; // 按头像实际尺寸解码的圆形头像选项
+    private final RequestBuilder<Drawable> coverThumbnailRequest; // 封面低清预览请求模板，绑定时只复制并设置地址
+    private final TextLayoutCache textLayoutCache = TextLayoutCache.getInstance(); // 标题预计算结果
 
     public interface OnItemClickListener {
         void onItemClick(Post post, int position);
     }
 
+    /**
+     * 局部刷新的变化类型 - 作为notifyItemChanged的payload，只更新对应的View，不重新加载封面和头像
+     */
+    public enum Payload {
+        LIKE_STATE,  // 点赞图标
+        LIKE_COUNT   // 点赞数量
+    }
+
     public NoteCardAdapter(Context context) {
         Log.d(TAG, "NoteCardAdapter constructor called - Context: " + (context != null ? context.getClass().getSimpleName() : "null"));
         this.context = context;
-        // 使用线程安全的List实现
-        this.postList = Collections.synchronizedList(new ArrayList<>());
+        // 后台差异计算，主线程只接收最小的变化
+        this.differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
         this.likeManager = LikeManager.getInstance(context);
-        Log.d(TAG, "NoteCardAdapter initialized successfully with thread-safe list - LikeManager: " + (likeManager != null ? "initialized" : "failed"));
+        // 稳定id由postId派生，刷新、局部更新时RecyclerView可复用同一ViewHolder
+        setHasStableIds(true);
+        this.avatarSizePx = (int) (AVATAR_SIZE_DP * context.getResources().getDisplayMetrics().density + 0.5f);
+        this.avatarOptions = FeedImageOptions.avatar(avatarSizePx);
+        this.coverThumbnailRequest = Glide.with(context).asDrawable().apply(FeedImageOptions.COVER_THUMBNAIL);
+        Log.d(TAG, "NoteCardAdapter initialized successfully with async list differ - LikeManager: " + (likeManager != null ? "initialized" : "failed"));
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         NoteCardBinding binding = NoteCardBinding.inflate(LayoutInflater.from(context), parent, false);
-        return new ViewHolder(binding);
+        ViewHolder holder = new ViewHolder(binding);
+
+        // 记录标题TextView的排版参数，之后进入列表的标题在后台按此参数预计算
+        if (TextLayoutCache.isSupported() && textLayoutCache.getTitleParams() == null) {
+            textLayoutCache.setTitleParams(TextViewCompat.getTextMetricsParams(binding.videoTitle));
+        }
+
+        // 点击监听器每个ViewHolder只创建一次，点击时通过getBindingAdapterPosition解析当前item，绑定时不再分配
+        View.OnClickListener likeClickListener = v -> onLikeClicked(holder);
+        binding.likeIcon.setOnClickListener(likeClickListener);
+        binding.likeCount.setOnClickListener(likeClickListener);
+        // 设置卡片整体点击事件，但排除点赞区域
+        binding.getRoot().setOnClickListener(v -> onCardClicked(holder));
+        // 设置长按事件作为备用的调试手段
+        binding.getRoot().setOnLongClickListener(v -> onCardLongPressed(holder));
+        return holder;
     }
 
+    /**
+     * 绑定数据 - 只把CardModel中预先算好的值赋给View
+     * 稳态滑动时本方法自身不分配对象（Glide请求除外），也不再额外请求重新布局
+     */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        // 使用读锁保护数据访问
-        dataLock.readLock().lock();
-        final Post post;
-        try {
-            // 检查位置有效性，避免IndexOutOfBoundsException
-            if (position < 0 || position >= postList.size()) {
-                Log.w(TAG, "Invalid position in onBindViewHolder: " + position + ", list size: " + postList.size());
-                return;
-            }
-            post = postList.get(position);
-        } finally {
-            dataLock.readLock().unlock();
+        // 读取当前展示的不可变快照
+        final CardModel card = getCard(position);
+        if (card == null) {
+            Log.w(TAG, "Invalid position in onBindViewHolder: " + position + ", list size: " + getItemCount());
+            return;
         }
 
         NoteCardBinding binding = holder.getBinding();
 
-        // 如果post为null，设置默认值并返回
-        if (post == null) {
-            Log.w(TAG, "Post is null at position: " + position);
+        // 设置封面 - 封面类型、地址和高度都已在后台算好
+        if (card.coverType == CardModel.COVER_IMAGE) {
+            loadCoverImage(binding, card.coverUrl, card);
+        } else if (card.coverType == CardModel.COVER_VIDEO) {
+            // 视频类型，使用VideoThumbnailUtil生成缩略图
+            loadVideoThumbnailForCard(binding, card);
+        } else {
             binding.coverImage.setImageResource(R.drawable.ic_empty_state);
-            binding.videoTitle.setText("加载中...");
+        }
+        // 高度变化时setLayoutParams会在本次布局中重新测量，无需再post requestLayout
+        applyCoverHeight(binding.coverContainer, card.coverHeightPx);
+
+        // 设置标题文本，优先使用后台预计算的结果，TextView会自动处理行数和省略号
+        applyTitle(binding, card);
+
+        // 设置用户信息
+        binding.userName.setText(card.authorName);
+        if (card.avatarUrl != null) {
+            Glide.with(context)
+                    .load(card.avatarUrl)
+                    .apply(avatarOptions)
+                    .placeholder(R.drawable.ic_user)
+                    .error(R.drawable.ic_user)
+                    .into(binding.userAvatar);
+        } else {
             binding.userAvatar.setImageResource(R.drawable.ic_user);
-            binding.userName.setText("未知作者");
-            return;
         }
 
-        // 设置封面图片 - 显示图片或视频类型的第一个clip作为封面
-        if (post.clips != null && !post.clips.isEmpty()) {
-            // 查找第一个图片或视频类型的clip
-            for (Post.Clip clip : post.clips) {
-                if (clip.type == 0 || clip.type == 1) {
-                    // 图片类型(type=0)或视频类型(type=1)
-                    if (clip.type == 0) {
-                        // 图片类型，直接加载图片
-                        Glide.with(context)
-                                .load(clip.url)
-                                .placeholder(R.drawable.ic_empty_state)
-                                .error(R.drawable.ic_empty_state)
-                                .into(binding.coverImage);
-                        Log.d(TAG, "加载图片封面: " + clip.url);
-                    } else {
-                        // 视频类型，使用VideoThumbnailUtil生成缩略图
-                        loadVideoThumbnailForCard(binding, clip.url);
-                        Log.d(TAG, "加载视频封面: " + clip.url);
-                    }
+        // 设置点赞状态和数量
+        applyLikeState(binding, card);
+    }
 
-                    // 动态调整封面容器高度，支持3:4到4:3的宽高比
-                    adjustCoverHeight(binding.coverContainer, clip);
-                    break; // 找到第一个图片或视频就停止
+    /**
+     * 局部绑定 - payload只包含点赞变化时只更新点赞图标和数量，其它情况走完整绑定
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        CardModel card = getCard(position);
+        if (card == null) {
+            return;
+        }
+        NoteCardBinding binding = holder.getBinding();
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload instanceof Payload) {
+                applyPayload(binding, card, (Payload) payload);
+            } else if (payload instanceof Set) {
+                // 差异计算得到的payload集合
+                for (Object item : (Set<?>) payload) {
+                    applyPayload(binding, card, (Payload) item);
                 }
+            } else {
+                // 未知payload，完整绑定
+                onBindViewHolder(holder, position);
+                return;
             }
-        } else {
-            // 默认封面
-            binding.coverImage.setImageResource(R.drawable.ic_empty_state);
-            // 使用默认比例1:1
-            adjustCoverHeight(binding.coverContainer, null);
         }
+    }
 
-        // 设置标题 - 优先展示标题，没有标题时展示正文
-        String displayText = "";
-        if (post.title != null && !post.title.trim().isEmpty()) {
-            displayText = post.title.trim();
-        } else if (post.content != null && !post.content.trim().isEmpty()) {
-            displayText = post.content.trim();
+    /**
+     * 设置标题 - 有预计算结果时不再同步测量文本
+     */
+    private void applyTitle(NoteCardBinding binding, CardModel card) {
+        PrecomputedTextCompat title = textLayoutCache.getTitle(card.postId, card.displayText);
+        if (title != null) {
+            try {
+                TextViewCompat.setPrecomputedText(binding.videoTitle, title);
+                return;
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "标题排版参数不一致，不使用预计算结果: " + card.postId);
+            }
         }
+        binding.videoTitle.setText(card.displayText);
+    }
 
-        // 设置标题文本，TextView会自动处理行数和省略号
-        binding.videoTitle.setText(displayText);
+    private void applyPayload(NoteCardBinding binding, CardModel card, Payload payload) {
+        if (payload == Payload.LIKE_STATE) {
+            binding.likeIcon.setImageResource(card.liked ? R.drawable.ic_like_filled : R.drawable.ic_like);
+        } else if (payload == Payload.LIKE_COUNT) {
+            binding.likeCount.setText(card.likeCountText);
+        }
+    }
 
-        // 强制TextView重新测量，以确保高度正确调整
-        binding.videoTitle.post(() -> {
-            binding.videoTitle.requestLayout();
-            // 同时请求父容器重新布局
-            if (binding.getRoot() != null) {
-                binding.getRoot().requestLayout();
-            }
-        });
+    /**
+     * 除点赞外的展示值是否相同
+     */
+    private static boolean sameContentIgnoringLike(CardModel oldItem, CardModel newItem) {
+        return oldItem.coverType == newItem.coverType
+                && oldItem.coverHeightPx == newItem.coverHeightPx
+                && TextUtils.equals(oldItem.coverUrl, newItem.coverUrl)
+                && TextUtils.equals(oldItem.displayText, newItem.displayText)
+                && TextUtils.equals(oldItem.authorName, newItem.authorName)
+                && TextUtils.equals(oldItem.avatarUrl, newItem.avatarUrl);
+    }
 
-        Log.d(TAG, "Title display - Post: " + post.title +
-                  ", DisplayText: " + displayText.substring(0, Math.min(displayText.length(), 20)) + "...");
+    @Override
+    public long getItemId(int position) {
+        CardModel card = getCard(position);
+        return card != null ? card.stableId : RecyclerView.NO_ID;
+    }
 
+    /**
+     * 点赞区域（图标和数量）点击
+     */
+    private void onLikeClicked(ViewHolder holder) {
+        int clickedPosition = holder.getBindingAdapterPosition();
+        Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? getPost(clickedPosition) : null;
+
+        if (clickedPost != null) {
+            Log.d(TAG, "Like clicked - Post: " + clickedPost.title +
+                      ", Position: " + clickedPosition +
+                      ", PostId: " + clickedPost.postId);
+            handleLikeClick(clickedPost, holder.getBinding());
+        } else {
+            Log.w(TAG, "Like clicked but post is null or position invalid");
+        }
+    }
 
-        // 设置用户信息
-        if (post.author != null) {
-            binding.userName.setText(post.author.nickname != null ? post.author.nickname : "");
-
-            // 设置用户头像
-            if (!TextUtils.isEmpty(post.author.avatarUrl)) {
-                Glide.with(context)
-                        .load(post.author.avatarUrl)
-                        .placeholder(R.drawable.ic_user)
-                        .error(R.drawable.ic_user)
-                        .circleCrop()
-                        .into(binding.userAvatar);
+    /**
+     * 卡片整体点击 - 跳转详情页
+     */
+    private void onCardClicked(ViewHolder holder) {
+        int clickedPosition = holder.getBindingAdapterPosition();
+        Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? getPost(clickedPosition) : null;
+
+        if (clickedPost != null) {
+            Log.d(TAG, "Card main area clicked - Post: " + clickedPost.title +
+                      ", Position: " + clickedPosition +
+                      ", PostId: " + clickedPost.postId +
+                      ", Author: " + (clickedPost.author != null ? clickedPost.author.nickname : "unknown"));
+
+            // 首先检查是否有点击监听器设置
+            if (onItemClickListener != null) {
+                Log.d(TAG, "Calling onItemClickListener for post navigation");
+                onItemClickListener.onItemClick(clickedPost, clickedPosition);
             } else {
-                binding.userAvatar.setImageResource(R.drawable.ic_user);
+                Log.d(TAG, "No onItemClickListener set, using direct navigation");
+                // 如果没有设置监听器，直接跳转到详情页
+                navigateToDetailPage(clickedPost);
             }
+        } else {
+            Log.w(TAG, "Card main area clicked but post is null or position invalid");
         }
+    }
 
-        // 设置点赞状态和数量
-        updateLikeDisplay(binding, post);
-
-        final int currentPosition = holder.getAdapterPosition();
+    /**
+     * 卡片长按 - 输出调试信息
+     */
+    private boolean onCardLongPressed(ViewHolder holder) {
+        int longPressedPosition = holder.getBindingAdapterPosition();
+        Post longPressedPost = longPressedPosition != RecyclerView.NO_POSITION ? getPost(longPressedPosition) : null;
+
+        if (longPressedPost != null) {
+            Log.d(TAG, "Card long pressed - Post: " + longPressedPost.title +
+                      ", Position: " + longPressedPosition +
+                      ", PostId: " + longPressedPost.postId +
+                      ", Author: " + (longPressedPost.author != null ? longPressedPost.author.nickname : "unknown") +
+                      ", Clips: " + (longPressedPost.clips != null ? longPressedPost.clips.size() : 0));
+        } else {
+            Log.w(TAG, "Card long pressed but post is null or position invalid");
+        }
 
-        // 设置点赞区域点击事件（图标和数量）- 使用binding绑定
-        binding.likeIcon.setOnClickListener(v -> {
-            Log.d(TAG, "Like icon clicked");
-            int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
+        return true; // 消费长按事件
+    }
 
-            if (clickedPost != null) {
-                Log.d(TAG, "Like icon clicked - Post: " + clickedPost.title +
-                          ", Position: " + clickedPosition +
-                          ", PostId: " + clickedPost.postId);
-                handleLikeClick(clickedPost, binding);
-            } else {
-                Log.w(TAG, "Like icon clicked but post is null or position invalid");
-            }
-        });
-
-        binding.likeCount.setOnClickListener(v -> {
-            Log.d(TAG, "Like count clicked");
-            int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
-
-            if (clickedPost != null) {
-                Log.d(TAG, "Like count clicked - Post: " + clickedPost.title +
-                          ", Position: " + clickedPosition +
-                          ", PostId: " + clickedPost.postId);
-                handleLikeClick(clickedPost, binding);
-            } else {
-                Log.w(TAG, "Like count clicked but post is null or position invalid");
-            }
-        });
+    /**
+     * 把卡片模型中的点赞状态和数量赋给View
+     */
+    private void applyLikeState(NoteCardBinding binding, CardModel card) {
+        binding.likeIcon.setImageResource(card.liked ? R.drawable.ic_like_filled : R.drawable.ic_like);
+        binding.likeCount.setText(card.likeCountText);
+    }
 
-        // 设置卡片整体点击事件，但排除点赞区域
-        holder.itemView.setOnClickListener(v -> {
-            Log.d(TAG, "Card main area clicked");
-            int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
-
-            if (clickedPost != null) {
-                Log.d(TAG, "Card main area clicked - Post: " + clickedPost.title +
-                          ", Position: " + clickedPosition +
-                          ", PostId: " + clickedPost.postId +
-                          ", Author: " + (clickedPost.author != null ? clickedPost.author.nickname : "unknown"));
-
-                // 首先检查是否有点击监听器设置
-                if (onItemClickListener != null) {
-                    Log.d(TAG, "Calling onItemClickListener for post navigation");
-                    onItemClickListener.onItemClick(clickedPost, clickedPosition);
-                } else {
-                    Log.d(TAG, "No onItemClickListener set, using direct navigation");
-                    // 如果没有设置监听器，直接跳转到详情页
-                    navigateToDetailPage(clickedPost);
+    /**
+     * 按LikeManager中的最新状态更新指定帖子的卡片模型（主线程）
+     * 以最新提交的列表为基础生成新快照，差异计算后只对该item分发点赞payload
+     * @return 更新后的模型；列表中没有该postId时返回null
+     */
+    @Nullable
+    private CardModel updateLikeState(String postId) {
+        if (TextUtils.isEmpty(postId)) {
+            return null;
+        }
+        for (int i = 0; i < latestCards.size(); i++) {
+            CardModel card = latestCards.get(i);
+            if (TextUtils.equals(card.postId, postId)) {
+                CardModel updated = card.withLikeState(likeManager.isPostLiked(postId), likeManager.getLikeCount(postId));
+                if (updated != card) {
+                    List<CardModel> newCards = new ArrayList<>(latestCards);
+                    newCards.set(i, updated);
+                    submitCards(newCards, latestColumns);
                 }
-            } else {
-                Log.w(TAG, "Card main area clicked but post is null or position invalid");
+                return updated;
             }
-        });
-
-        // 设置长按事件作为备用的调试手段
-        binding.getRoot().setOnLongClickListener(v -> {
-            Log.d(TAG, "Card long pressed");
-            int longPressedPosition = holder.getAdapterPosition();
-            Post longPressedPost = longPressedPosition != RecyclerView.NO_POSITION ? postList.get(longPressedPosition) : post;
-
-            if (longPressedPost != null) {
-                Log.d(TAG, "Card long pressed - Post: " + longPressedPost.title +
-                          ", Position: " + longPressedPosition +
-                          ", PostId: " + longPressedPost.postId +
-                          ", Author: " + (longPressedPost.author != null ? longPressedPost.author.nickname : "unknown") +
-                          ", Clips: " + (longPressedPost.clips != null ? longPressedPost.clips.size() : 0));
-            } else {
-                Log.w(TAG, "Card long pressed but post is null or position invalid");
-            }
-
-            return true; // 消费长按事件
-        });
-
-        Log.d(TAG, "Binding post at position " + position + ": " + post.title);
+        }
+        return null;
     }
 
     /**
-     * 更新点赞显示状态和数量
+     * 从LikeManager同步所有卡片的点赞状态（如从详情页返回后，主线程）
+     * 只有状态实际变化的item会收到对应的payload，只更新点赞View；不可见的卡片也同步，滚动回来时不会显示旧状态
+     * @return 点赞状态发生变化的卡片数量
      */
-    private void updateLikeDisplay(NoteCardBinding binding, Post post) {
-        if (post == null || binding == null) {
-            Log.w(TAG, "updateLikeDisplay: binding or post is null");
-            return;
+    public int refreshLikeStates() {
+        List<CardModel> newCards = null;
+        for (int i = 0; i < latestCards.size(); i++) {
+            CardModel card = latestCards.get(i);
+            CardModel updated = card.withLikeState(likeManager.isPostLiked(card.postId), likeManager.getLikeCount(card.postId));
+            if (updated != card) {
+                if (newCards == null) {
+                    newCards = new ArrayList<>(latestCards);
+                }
+                newCards.set(i, updated);
+            }
         }
-
-        boolean isLiked = likeManager.isPostLiked(post.postId);
-        int likeCount = likeManager.getLikeCount(post.postId);
-
-        // 设置点赞图标
-        int iconResource = isLiked ? R.drawable.ic_like_filled : R.drawable.ic_like;
-        binding.likeIcon.setImageResource(iconResource);
-
-        // 设置点赞数量 - 格式化大数字显示
-        String likeCountStr = formatLikeCount(likeCount);
-        binding.likeCount.setText(likeCountStr);
-
-        Log.d(TAG, "Like display updated - Post: " + post.title +
-                  ", PostId: " + post.postId +
-                  ", IsLiked: " + isLiked +
-                  ", LikeCount: " + likeCount +
-                  ", IconResource: " + (isLiked ? "ic_like_filled" : "ic_like") +
-                  ", DisplayText: " + likeCountStr);
+        if (newCards == null) {
+            return 0;
+        }
+        int changed = 0;
+        for (int i = 0; i < newCards.size(); i++) {
+            if (newCards.get(i) != latestCards.get(i)) {
+                changed++;
+            }
+        }
+        submitCards(newCards, latestColumns); // 顺序不变，列保持不变
+        return changed;
     }
 
     /**
@@ -303,8 +428,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         boolean newLikeStatus = likeManager.toggleLike(post.postId);
         int newLikeCount = likeManager.getLikeCount(post.postId);
 
-        // 更新显示
-        updateLikeDisplay(binding, post);
+        // 更新卡片模型和显示；帖子已不在列表中（如列表刚刷新）时只更新当前View
+        CardModel updated = updateLikeState(post.postId);
+        if (updated != null) {
+            applyLikeState(binding, updated);
+        } else {
+            binding.likeIcon.setImageResource(newLikeStatus ? R.drawable.ic_like_filled : R.drawable.ic_like);
+            binding.likeCount.setText(CardModel.formatCount(newLikeCount));
+        }
 
         Log.d(TAG, "Like click processed - After toggle - Post: " + post.title +
                   ", PostId: " + post.postId +
@@ -356,186 +487,176 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
     @Override
     public int getItemCount() {
-        // 使用读锁保护大小读取
-        dataLock.readLock().lock();
-        try {
-            return postList.size();
-        } finally {
-            dataLock.readLock().unlock();
-        }
+        // 当前展示的快照大小
+        return differ.getCurrentList().size();
     }
 
     /**
-     * 添加新的数据 - 线程安全
+     * 添加新的数据（主线程）
+     * 在调用线程构建卡片模型，分页数据应使用addCards传入后台已构建好的模型
+     * @return 实际添加的帖子（已去重）
      */
-    public void addPosts(List<Post> newPosts) {
-        if (newPosts == null || newPosts.isEmpty()) {
-            Log.d(TAG, "addPosts called with null or empty list");
-            return;
+    public List<Post> addPosts(List<Post> newPosts) {
+        List<CardModel> added = addCards(CardModelFactory.build(context, newPosts));
+        List<Post> addedPosts = new ArrayList<>(added.size());
+        for (CardModel card : added) {
+            addedPosts.add(card.post);
         }
+        return addedPosts;
+    }
 
-        // 使用写锁保护添加操作
-        dataLock.writeLock().lock();
-        try {
-            int oldSize = postList.size();
-            int newItemsCount = newPosts.size();
-
-            // 创建副本避免并发修改
-            List<Post> newPostsCopy = new ArrayList<>(newPosts);
-            postList.addAll(newPostsCopy);
+    /**
+     * 追加后台构建好的卡片模型（主线程）
+     * 已在列表中的postId会被丢弃，避免重复卡片及重复的图片、缩略图加载
+     * @return 实际添加的卡片（已去重）
+     */
+    public List<CardModel> addCards(List<CardModel> newCards) {
+        if (newCards == null || newCards.isEmpty()) {
+            Log.d(TAG, "addCards called with null or empty list");
+            return Collections.emptyList();
+        }
 
-            Log.d(TAG, "Thread-safe added " + newItemsCount + " new posts, old size: " + oldSize + ", new size: " + postList.size());
+        List<CardModel> added = dedupeCards(newCards);
+        if (added.isEmpty()) {
+            Log.d(TAG, "addCards: all " + newCards.size() + " posts already in list");
+            return added;
+        }
 
-            // 在锁保护下进行通知，确保状态一致性
-            notifyItemRangeInserted(oldSize, newItemsCount);
+        List<CardModel> merged = new ArrayList<>(latestCards.size() + added.size());
+        merged.addAll(latestCards);
+        merged.addAll(added);
+        Log.d(TAG, "Submitted " + added.size() + " new posts (dropped " + (newCards.size() - added.size())
+                + " duplicates), old size: " + latestCards.size() + ", new size: " + merged.size());
+        submitCards(merged, assignColumns(merged, latestCards.size()));
+        return added;
+    }
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error in addPosts: " + e.getMessage(), e);
-        } finally {
-            dataLock.writeLock().unlock();
-        }
+    /**
+     * 获取当前列表中所有postId的快照（主线程）
+     */
+    public Set<String> getPostIdsSnapshot() {
+        return new HashSet<>(seenPostIds);
     }
 
     /**
-     * 设置新数据（替换所有数据） - 线程安全
+     * 过滤掉已出现过的postId并记录新的postId
+     * postId为空的卡片无法判断重复，全部保留
      */
-    public void setPosts(List<Post> posts) {
-        // 使用写锁保护替换操作
-        dataLock.writeLock().lock();
-        try {
-            // 清空现有数据
-            postList.clear();
-
-            if (posts != null && !posts.isEmpty()) {
-                // 创建副本避免并发修改
-                List<Post> postsCopy = new ArrayList<>(posts);
-                postList.addAll(postsCopy);
-
-                Log.d(TAG, "Thread-safe setPosts added successfully:");
-                for (int i = 0; i < Math.min(postsCopy.size(), 5); i++) {
-                    Post post = postsCopy.get(i);
-                    Log.d(TAG, "Post " + i + ": " + (post != null && post.title != null ? post.title : "null"));
-                }
-            } else {
-                Log.w(TAG, "setPosts called with null or empty posts");
+    private List<CardModel> dedupeCards(List<CardModel> cards) {
+        List<CardModel> result = new ArrayList<>(cards.size());
+        for (CardModel card : cards) {
+            if (card == null) {
+                continue;
+            }
+            if (TextUtils.isEmpty(card.postId) || seenPostIds.add(card.postId)) {
+                result.add(card);
             }
-
-            int finalSize = postList.size();
-            Log.d(TAG, "Thread-safe set " + (posts != null ? posts.size() : 0) + " posts, new total: " + finalSize);
-            Log.d(TAG, "onItemClickListener is " + (onItemClickListener != null ? "not null" : "null"));
-
-            // 在锁保护下进行通知，确保状态一致性
-            notifyDataSetChanged();
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error in setPosts: " + e.getMessage(), e);
-        } finally {
-            dataLock.writeLock().unlock();
         }
+        return result;
     }
 
     /**
-     * 清空数据
+     * 设置新数据（替换所有数据，主线程）
+     * 在调用线程构建卡片模型，后台已构建好模型时应使用setCards
      */
-    public void clearPosts() {
-        int oldSize = postList.size();
-        postList.clear();
-        notifyItemRangeRemoved(0, oldSize);
-        Log.d(TAG, "Cleared all posts");
+    public void setPosts(List<Post> posts) {
+        setCards(CardModelFactory.build(context, posts));
     }
 
+    /**
+     * 设置后台构建好的卡片模型（替换所有数据，主线程）
+     * 与当前列表按postId做后台差异计算，下拉刷新内容基本不变时只分发少量插入和移动，保留滚动位置和动画
+     */
+    public void setCards(List<CardModel> cards) {
+        seenPostIds.clear();
+        List<CardModel> deduped = cards != null ? dedupeCards(cards) : new ArrayList<>();
+        Log.d(TAG, "Submitted " + (cards != null ? cards.size() : 0) + " posts for diff, new total: " + deduped.size()
+                + ", current: " + getItemCount());
+        submitCards(deduped, assignColumns(deduped, 0));
+    }
 
     /**
-     * 设置点击监听器
+     * 清空数据（主线程）
      */
-    public void setOnItemClickListener(OnItemClickListener listener) {
-        Log.d(TAG, "setOnItemClickListener called - Listener: " + (listener != null ? "not null" : "null"));
-        this.onItemClickListener = listener;
+    public void clearPosts() {
+        seenPostIds.clear();
+        latestCards = Collections.emptyList();
+        int[] noColumns = new int[0];
+        latestColumns = noColumns;
+        Arrays.fill(latestColumnHeights, 0);
+        // null直接移除全部item，无需差异计算
+        differ.submitList(null, () -> columns = noColumns);
+        Log.d(TAG, "Cleared all posts");
     }
 
     /**
-     * 格式化时间戳
+     * 提交新的不可变快照，差异计算在后台完成（主线程）
+     * @param cardColumns 与cards一一对应的列，在快照生效（变化分发完成）时一起替换
      */
-    private String formatTime(long timestamp) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("MM-dd HH:mm", Locale.getDefault());
-            return sdf.format(new Date(timestamp * 1000));
-        } catch (Exception e) {
-            return "刚刚";
-        }
+    private void submitCards(List<CardModel> cards, int[] cardColumns) {
+        latestCards = Collections.unmodifiableList(cards);
+        latestColumns = cardColumns;
+        differ.submitList(latestCards, () -> columns = cardColumns);
     }
 
     /**
-     * 调整封面容器高度，支持3:4到4:3的宽高比
+     * 为卡片分配瀑布流的列 - 依次放入估算高度最小的列
+     * @param keep 前keep张卡片与latestCards相同，沿用已分配的列，只为之后的卡片分配
      */
-    private void adjustCoverHeight(android.view.View coverContainer, Post.Clip clip) {
-        if (coverContainer == null) {
-            return;
+    private int[] assignColumns(List<CardModel> cards, int keep) {
+        int[] result = new int[cards.size()];
+        if (keep > 0) {
+            System.arraycopy(latestColumns, 0, result, 0, keep);
+        } else {
+            Arrays.fill(latestColumnHeights, 0);
         }
-
-        // 固定宽度189dp
-        final float containerWidth = 189f; // dp
-        float targetHeight;
-
-        if (clip != null && clip.width > 0 && clip.height > 0) {
-            // 计算原始宽高比
-            float originalAspectRatio = (float) clip.width / clip.height;
-            float finalAspectRatio;
-
-            // 检查原始比例是否在3:4到4:3范围内
-            // 3:4 = 0.75, 4:3 = 1.333...
-            if (originalAspectRatio >= 0.75f && originalAspectRatio <= 1.333f) {
-                // 在范围内，直接使用原始比例
-                finalAspectRatio = originalAspectRatio;
-                Log.d(TAG, "Using original aspect ratio: " + originalAspectRatio);
-            } else {
-                // 超出范围，使用最接近的限制值
-                if (originalAspectRatio < 0.75f) {
-                    // 太窄，使用最小比例3:4
-                    finalAspectRatio = 0.75f;
-                    Log.d(TAG, "Image too narrow (" + originalAspectRatio + "), using min ratio 3:4");
-                } else {
-                    // 太宽，使用最大比例4:3
-                    finalAspectRatio = 1.333f;
-                    Log.d(TAG, "Image too wide (" + originalAspectRatio + "), using max ratio 4:3");
+        for (int i = keep; i < cards.size(); i++) {
+            int shortest = 0;
+            for (int c = 1; c < COLUMN_COUNT; c++) {
+                if (latestColumnHeights[c] < latestColumnHeights[shortest]) {
+                    shortest = c;
                 }
             }
+            result[i] = shortest;
+            latestColumnHeights[shortest] += cards.get(i).estimatedHeightPx;
+        }
+        return result;
+    }
 
-            // 根据宽度和最终宽高比计算高度
-            targetHeight = containerWidth / finalAspectRatio;
+    @Override
+    public int getColumn(int position) {
+        return position >= 0 && position < columns.length ? columns[position] : position % COLUMN_COUNT;
+    }
 
-            Log.d(TAG, "Cover height adjusted - Clip: " + clip.width + "x" + clip.height +
-                      ", OriginalRatio: " + originalAspectRatio +
-                      ", FinalRatio: " + finalAspectRatio +
-                      ", TargetHeight: " + targetHeight + "dp");
-        } else {
-            // 没有尺寸信息时，使用默认的3:4比例（常见的照片比例）
-            targetHeight = containerWidth / 0.75f;
-            Log.d(TAG, "No size info, using default 3:4 ratio - TargetHeight: " + targetHeight + "dp");
-        }
+    @Override
+    public int getEstimatedHeight(int position) {
+        CardModel card = getCard(position);
+        return card != null ? card.estimatedHeightPx : 0;
+    }
 
-        // 设置布局参数
-        android.view.ViewGroup.LayoutParams params = coverContainer.getLayoutParams();
-        if (params != null) {
-            // 将dp转换为px
-            final float scale = coverContainer.getContext().getResources().getDisplayMetrics().density;
-            params.height = (int) (targetHeight * scale + 0.5f);
-            coverContainer.setLayoutParams(params);
-        }
+    @Override
+    public int getHeightClass(int position) {
+        CardModel card = getCard(position);
+        return card != null ? card.titleLineCount : 0;
     }
 
+
     /**
-     * 格式化点赞数量显示
+     * 设置点击监听器
      */
-    private String formatLikeCount(int count) {
-        if (count < 1000) {
-            return String.valueOf(count);
-        } else if (count < 10000) {
-            return String.format("%.1fK", count / 1000.0);
-        } else if (count < 1000000) {
-            return String.format("%dK", count / 1000);
-        } else {
-            return String.format("%.1fM", count / 1000000.0);
+    public void setOnItemClickListener(OnItemClickListener listener) {
+        Log.d(TAG, "setOnItemClickListener called - Listener: " + (listener != null ? "not null" : "null"));
+        this.onItemClickListener = listener;
+    }
+
+    /**
+     * 按后台算好的高度设置封面容器（固定宽度189dp），高度未变化时不触发重新布局
+     */
+    private void applyCoverHeight(android.view.View coverContainer, int heightPx) {
+        android.view.ViewGroup.LayoutParams params = coverContainer.getLayoutParams();
+        if (params != null && params.height != heightPx) {
+            params.height = heightPx;
+            coverContainer.setLayoutParams(params);
         }
     }
 
@@ -556,109 +677,146 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
     }
 
     /**
-     * 获取指定位置的Post - 线程安全
+     * 获取指定位置的Post - 读取当前展示的快照
      * @param position 位置索引
      * @return Post对象，如果位置无效返回null
      */
     public Post getPost(int position) {
-        dataLock.readLock().lock();
-        try {
-            if (position < 0 || position >= postList.size()) {
-                Log.w(TAG, "Invalid position in getPost: " + position + ", list size: " + postList.size());
-                return null;
-            }
-            return postList.get(position);
-        } finally {
-            dataLock.readLock().unlock();
+        List<CardModel> cards = differ.getCurrentList();
+        if (position < 0 || position >= cards.size()) {
+            Log.w(TAG, "Invalid position in getPost: " + position + ", list size: " + cards.size());
+            return null;
         }
+        return cards.get(position).post;
     }
 
     /**
-     * 获取所有Post的快照 - 线程安全
+     * 获取指定位置的卡片模型 - 读取当前展示的快照
+     * @return 位置无效时返回null
+     */
+    @Nullable
+    public CardModel getCard(int position) {
+        List<CardModel> cards = differ.getCurrentList();
+        if (position < 0 || position >= cards.size()) {
+            return null;
+        }
+        return cards.get(position);
+    }
+
+    /**
+     * 获取当前展示的所有Post
      * @return Post列表的副本，避免并发修改
      */
     public List<Post> getPostsSnapshot() {
-        dataLock.readLock().lock();
-        try {
-            return new ArrayList<>(postList);
-        } finally {
-            dataLock.readLock().unlock();
+        List<CardModel> cards = differ.getCurrentList();
+        List<Post> posts = new ArrayList<>(cards.size());
+        for (CardModel card : cards) {
+            posts.add(card.post);
         }
+        return posts;
+    }
+
+    /**
+     * 头像请求选项，供FeedImagePreloader发起相同的预加载请求
+     */
+    RequestOptions getAvatarOptions() {
+        return avatarOptions;
+    }
+
+    int getAvatarSizePx() {
+        return avatarSizePx;
+    }
+
+    /**
+     * 加载封面图片 - 按卡片尺寸解码，原始数据已缓存时先显示1/4尺寸的低清预览
+     * @param model 图片地址或本地缩略图路径
+     */
+    private void loadCoverImage(NoteCardBinding binding, String model, CardModel card) {
+        Glide.with(context)
+                .load(model)
+                .apply(FeedImageOptions.cover(card.coverWidthPx, card.coverHeightPx))
+                .thumbnail(coverThumbnailRequest.clone().load(model))
+                .placeholder(R.drawable.ic_empty_state)
+                .error(R.drawable.ic_empty_state)
+                .into(binding.coverImage);
     }
 
     /**
      * 为NoteCard加载视频缩略图
      */
-    private void loadVideoThumbnailForCard(NoteCardBinding binding, String videoUrl) {
+    private void loadVideoThumbnailForCard(NoteCardBinding binding, CardModel card) {
+        String videoUrl = card.coverUrl;
         if (videoUrl == null || videoUrl.isEmpty()) {
             binding.coverImage.setImageResource(R.drawable.ic_empty_state);
             return;
         }
 
-        Log.d(TAG, "为NoteCard加载视频封面: " + videoUrl);
-
         // 先检查是否有缓存
         String cachedPath = VideoThumbnailUtil.getCachedThumbnail(context, videoUrl);
         if (cachedPath != null) {
-            Log.d(TAG, "使用缓存的视频封面: " + cachedPath);
-            Glide.with(context)
-                    .load(cachedPath)
-                    .placeholder(R.drawable.ic_empty_state)
-                    .error(R.drawable.ic_empty_state)
-                    .into(binding.coverImage);
+            loadCoverImage(binding, cachedPath, card);
             return;
         }
 
         // 没有缓存，使用Glide直接从视频提取第一帧
         Glide.with(context)
                 .load(videoUrl)
-                .apply(new com.bumptech.glide.request.RequestOptions().frame(1000000)) // 提取第一帧
+                .apply(FeedImageOptions.cover(card.coverWidthPx, card.coverHeightPx).frame(1000000)) // 提取第一帧
                 .placeholder(R.drawable.ic_empty_state)
                 .error(R.drawable.ic_empty_state)
-                .listener(new com.bumptech.glide.request.RequestListener<android.graphics.drawable.Drawable>() {
+                .listener(videoFrameListener)
+                .into(binding.coverImage);
+    }
+
+    /**
+     * 视频取帧结果监听 - 所有卡片共用一个实例，视频地址从model取得
+     */
+    private final RequestListener<Drawable> videoFrameListener = new RequestListener<Drawable>() {
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e,
+                                    Object model,
+                                    Target<Drawable> target,
+                                    boolean isFirstResource) {
+            Log.w(TAG, "视频封面加载失败: " + model);
+            return false;
+        }
+
+        @Override
+        public boolean onResourceReady(Drawable resource,
+                                       Object model,
+                                       Target<Drawable> target,
+                                       DataSource dataSource,
+                                       boolean isFirstResource) {
+            if (!(model instanceof String)) {
+                return false;
+            }
+            String videoUrl = (String) model;
+            Log.d(TAG, "视频封面加载成功: " + videoUrl);
+
+            // 异步生成缓存缩略图供下次使用
+            VideoThumbnailUtil.generateThumbnail(context, videoUrl,
+                new java.io.File(context.getCacheDir(), "thumb_" + Math.abs(videoUrl.hashCode()) + ".jpg"),
+                new VideoThumbnailUtil.ThumbnailCallback() {
                     @Override
-                    public boolean onLoadFailed(@Nullable com.bumptech.glide.load.engine.GlideException e,
-                                              Object model,
-                                              com.bumptech.glide.request.target.Target<android.graphics.drawable.Drawable> target,
-                                              boolean isFirstResource) {
-                        Log.w(TAG, "视频封面加载失败: " + videoUrl);
-                        return false;
+                    public void onThumbnailReady(@NonNull String thumbnailPath) {
+                        Log.d(TAG, "NoteCard视频缩略图缓存完成: " + thumbnailPath);
                     }
 
                     @Override
-                    public boolean onResourceReady(android.graphics.drawable.Drawable resource,
-                                                 Object model,
-                                                 com.bumptech.glide.request.target.Target<android.graphics.drawable.Drawable> target,
-                                                 com.bumptech.glide.load.DataSource dataSource,
-                                                 boolean isFirstResource) {
-                        Log.d(TAG, "视频封面加载成功: " + videoUrl);
-
-                        // 异步生成缓存缩略图供下次使用
-                        VideoThumbnailUtil.generateThumbnail(context, videoUrl,
-                            new java.io.File(context.getCacheDir(), "thumb_" + Math.abs(videoUrl.hashCode()) + ".jpg"),
-                            new VideoThumbnailUtil.ThumbnailCallback() {
-                                @Override
-                                public void onThumbnailReady(@NonNull String thumbnailPath) {
-                                    Log.d(TAG, "NoteCard视频缩略图缓存完成: " + thumbnailPath);
-                                }
-
-                                @Override
-                                public void onThumbnailError(@NonNull Exception error) {
-                                    Log.w(TAG, "NoteCard视频缩略图缓存失败: " + videoUrl, error);
-                                }
-                            });
-
-                        return false;
+                    public void onThumbnailError(@NonNull Exception error) {
+                        Log.w(TAG, "NoteCard视频缩略图缓存失败: " + videoUrl, error);
                     }
-                })
-                .into(binding.coverImage);
-    }
+                });
+
+            return false;
+        }
+    };
 
     /**
-     * 获取当前数据大小 - 线程安全
+     * 获取当前数据大小（当前展示的快照）
      * @return 数据列表大小
      */
     public int getDataSize() {
-        return getItemCount(); // 已经由getItemCount提供线程安全访问
+        return getItemCount(); // 与getItemCount一致
     }
 }
\ No newline at end of file
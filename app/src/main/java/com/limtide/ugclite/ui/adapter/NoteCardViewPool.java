@@ -0,0 +1,136 @@
+package com.limtide.ugclite.ui.adapter;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Feed卡片的ViewHolder缓存池 - 在主线程空闲时提前inflate note_card
+ * - 首页第一页请求在途时，主线程空闲期间每次只创建一个ViewHolder放入池中，
+ *   第一页到达后的首次滑动直接从池中取出绑定，不再同步inflate
+ * - 池的容量按瀑布流可见卡片数加预取余量设置，超过容量的ViewHolder直接丢弃
+ * - 统计命中（池中有可用ViewHolder）和未命中（需要新建）次数
+ *
+ * 线程说明：只在主线程使用（RecyclerView和MessageQueue.IdleHandler都在主线程回调）
+ */
+public class NoteCardViewPool extends RecyclerView.RecycledViewPool {
+
+    private static final String TAG = "NoteCardViewPool";
+
+    public static final int DEFAULT_CAPACITY = 16;     // 两屏可见卡片加预取余量
+    public static final int DEFAULT_PRE_INFLATE = 10;  // 首屏可见卡片数加一行预取
+
+    private final int capacity;
+    private IdleInflater idleInflater;
+
+    private int hitCount = 0;
+    private int missCount = 0;
+    private int preInflatedCount = 0;
+    private long preInflateTimeMs = 0;
+
+    public NoteCardViewPool(int capacity) {
+        this.capacity = capacity;
+        // NoteCardAdapter只有一种viewType
+        setMaxRecycledViews(0, capacity);
+    }
+
+    /**
+     * 在主线程空闲时预创建ViewHolder，直到池中有count个或被取消
+     * 需要在RecyclerView设置好LayoutManager和适配器之后调用，inflate时使用RecyclerView生成布局参数
+     */
+    public void preInflate(@NonNull RecyclerView recyclerView, @NonNull NoteCardAdapter adapter, int count) {
+        cancelPreInflate();
+        int target = Math.min(count, capacity);
+        if (target <= 0) {
+            return;
+        }
+        idleInflater = new IdleInflater(recyclerView, adapter, target);
+        Looper.myQueue().addIdleHandler(idleInflater);
+        Log.d(TAG, "开始空闲时预inflate，目标数量: " + target + "，容量: " + capacity);
+    }
+
+    /**
+     * 停止预inflate（视图销毁时调用），已放入池中的ViewHolder保留
+     */
+    public void cancelPreInflate() {
+        if (idleInflater != null) {
+            Looper.myQueue().removeIdleHandler(idleInflater);
+            idleInflater = null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public RecyclerView.ViewHolder getRecycledView(int viewType) {
+        RecyclerView.ViewHolder holder = super.getRecycledView(viewType);
+        if (holder != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return holder;
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public int getPreInflatedCount() {
+        return preInflatedCount;
+    }
+
+    /**
+     * 输出命中统计
+     */
+    public void logStats() {
+        int total = hitCount + missCount;
+        Log.d(TAG, "ViewHolder池统计 - 命中: " + hitCount + "，未命中: " + missCount
+                + "，命中率: " + (total > 0 ? hitCount * 100 / total : 0) + "%"
+                + "，预inflate: " + preInflatedCount + "个，耗时: " + preInflateTimeMs + "ms");
+    }
+
+    /**
+     * 每次主线程空闲只创建一个ViewHolder，避免单次空闲回调占用过长时间影响下一帧
+     */
+    private class IdleInflater implements MessageQueue.IdleHandler {
+        private final RecyclerView recyclerView;
+        private final NoteCardAdapter adapter;
+        private final int target;
+        private int created = 0;
+
+        IdleInflater(RecyclerView recyclerView, NoteCardAdapter adapter, int target) {
+            this.recyclerView = recyclerView;
+            this.adapter = adapter;
+            this.target = target;
+        }
+
+        @Override
+        public boolean queueIdle() {
+            if (idleInflater != this) {
+                return false;
+            }
+            // 池已满或已创建足够数量（列表开始滚动后ViewHolder会被回收回池中）
+            if (getRecycledViewCount(0) >= target || created >= target) {
+                idleInflater = null;
+                Log.d(TAG, "预inflate完成，池中数量: " + getRecycledViewCount(0));
+                return false;
+            }
+            long start = SystemClock.uptimeMillis();
+            RecyclerView.ViewHolder holder = adapter.createViewHolder(recyclerView, 0);
+            putRecycledView(holder);
+            preInflateTimeMs += SystemClock.uptimeMillis() - start;
+            preInflatedCount++;
+            created++;
+            return true; // 下次空闲继续
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.limtide.ugclite.ui.component;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
+
+import com.limtide.ugclite.network.VideoCacheProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 共享的ExoPlayer池 - 详情页视频复用播放器，不再每次绑定都新建播放器和解码器
+ * - 按视频地址租用，一个播放器同一时刻只租给一个视图；同一视频的空闲播放器直接复用（热复用），
+ *   否则把最久未使用的空闲播放器重新绑定到新的MediaItem（温复用），都没有时才新建
+ * - 同一视频已被其它视图租用（如两页详情使用同一条视频）时不共享，按温复用/新建另给一个播放器
+ * - 播放器总数不超过MAX_PLAYERS，已准备（持有解码器）的播放器不超过MAX_DECODERS，
+ *   超出时停止最久未使用的播放器以释放解码器（优先空闲的，其次未在播放的）
+ * - 统计复用率和首帧耗时（绑定/准备到首帧渲染）
+ * - 所有播放器通过VideoCacheProvider的磁盘缓存读取视频
+ * - 播放器按创建时网络档位对应的PlaybackProfile缓冲；档位变化后，空闲播放器在下次换绑时按新档位重建
+ * - 每次播放结束（换绑或停止）时输出起播耗时、卡顿次数、缓存命中和网络字节数
+ *
+ * 线程说明：只在主线程使用（ExoPlayer要求在创建它的Looper线程访问）
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class ExoPlayerPool {
+
+    private static final String TAG = "ExoPlayerPool";
+
+    public static final int MAX_PLAYERS = 3;   // 当前页和左右相邻页
+    public static final int MAX_DECODERS = 2;  // 同时持有解码器的播放器上限
+
+    private static volatile ExoPlayerPool instance;
+
+    /**
+     * 按配置创建播放器，测试中替换为不解码的播放器
+     */
+    interface PlayerFactory {
+        @NonNull
+        ExoPlayer create(@NonNull PlaybackProfile profile, @NonNull VideoCacheProvider.PlaybackBytes bytes);
+    }
+
+    private final PlayerFactory playerFactory;
+    private final List<Entry> entries = new ArrayList<>(); // LRU顺序，末尾为最近使用
+
+    private int acquireCount = 0;
+    private int hotReuseCount = 0;
+    private int warmReuseCount = 0;
+    private int createCount = 0;
+    private int rejectCount = 0;
+    private int decoderEvictCount = 0;
+    private int rebuildCount = 0;
+    private int firstFrameCount = 0;
+    private long firstFrameTotalMs = 0;
+    private int startupCount = 0;
+    private long startupTotalMs = 0;
+    private int rebufferTotal = 0;
+
+    public static ExoPlayerPool getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ExoPlayerPool.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    instance = new ExoPlayerPool((profile, bytes) -> buildPlayer(appContext, profile, bytes));
+                }
+            }
+        }
+        return instance;
+    }
+
+    ExoPlayerPool(@NonNull PlayerFactory playerFactory) {
+        this.playerFactory = playerFactory;
+    }
+
+    /**
+     * 租用播放此视频的播放器，返回时已设置好MediaItem并开始准备（未开始播放）
+     * @param startPositionMs 换绑到新视频时的起始位置，直接从该位置缓冲；热复用时保持播放器当前位置
+     * @return 播放器都在使用中且已达上限时返回null；返回的播放器不会同时租给其它视图
+     */
+    @Nullable
+    public ExoPlayer acquire(@NonNull String url, long startPositionMs) {
+        acquireCount++;
+
+        Entry entry = findIdleByUrl(url);
+        if (entry != null) {
+            // 热复用：同一视频，保留已缓冲的数据和解码器
+            hotReuseCount++;
+            entry.leased = true;
+            touch(entry);
+            prepare(entry);
+            return entry.player;
+        }
+
+        PlaybackProfile profile = PlaybackProfile.current();
+        entry = findLeastRecentIdle();
+        if (entry != null && entry.profile != profile) {
+            // 网络档位已变化，LoadControl在创建时固定，按新档位重建这个空闲播放器
+            Log.d(TAG, "网络档位变化，重建播放器: " + entry.profile + " -> " + profile);
+            reportPlayback(entry);
+            entries.remove(entry);
+            entry.player.release();
+            entry = create(profile);
+            rebuildCount++;
+        } else if (entry != null) {
+            warmReuseCount++;
+        } else if (entries.size() < MAX_PLAYERS) {
+            entry = create(profile);
+            createCount++;
+        } else {
+            rejectCount++;
+            Log.w(TAG, "播放器均在使用中，已达上限: " + MAX_PLAYERS);
+            return null;
+        }
+
+        bind(entry, url, startPositionMs);
+        entry.leased = true;
+        touch(entry);
+        return entry.player;
+    }
+
+    /**
+     * 归还播放器；暂停并保留当前视频，之后再次租用同一视频可直接复用
+     */
+    public void release(@Nullable ExoPlayer player) {
+        Entry entry = findByPlayer(player);
+        if (entry == null || !entry.leased) {
+            return;
+        }
+        entry.leased = false;
+        entry.player.setPlayWhenReady(false);
+    }
+
+    /**
+     * 播放器被停止（解码器已释放）时重新准备，必要时先停止其它播放器以满足解码器上限
+     */
+    public void prepare(@Nullable ExoPlayer player) {
+        Entry entry = findByPlayer(player);
+        if (entry != null) {
+            prepare(entry);
+        }
+    }
+
+    /**
+     * 停止所有空闲播放器以释放解码器（如详情页销毁时），播放器对象保留供下次复用
+     */
+    public void stopIdlePlayers() {
+        for (Entry entry : entries) {
+            if (!entry.leased && entry.player.getPlaybackState() != Player.STATE_IDLE) {
+                entry.player.stop();
+                reportPlayback(entry);
+            }
+        }
+    }
+
+    /**
+     * 复用率和首帧统计
+     */
+    public String getStats() {
+        int reused = hotReuseCount + warmReuseCount;
+        return String.format(Locale.US,
+                "播放器池统计 - 租用: %d，复用率: %d%%（热: %d，温: %d），新建: %d，重建: %d，拒绝: %d，解码器回收: %d，"
+                        + "平均首帧: %dms（%d次），平均起播: %dms（%d次），卡顿: %d次",
+                acquireCount, acquireCount > 0 ? reused * 100 / acquireCount : 0, hotReuseCount, warmReuseCount,
+                createCount, rebuildCount, rejectCount, decoderEvictCount,
+                firstFrameCount > 0 ? firstFrameTotalMs / firstFrameCount : 0, firstFrameCount,
+                startupCount > 0 ? startupTotalMs / startupCount : 0, startupCount, rebufferTotal);
+    }
+
+    /**
+     * 创建通过磁盘缓存读取、按配置缓冲的播放器
+     */
+    @NonNull
+    private static ExoPlayer buildPlayer(Context appContext, PlaybackProfile profile,
+                                         VideoCacheProvider.PlaybackBytes bytes) {
+        ExoPlayer player = new ExoPlayer.Builder(appContext)
+                .setMediaSourceFactory(new DefaultMediaSourceFactory(
+                        VideoCacheProvider.getInstance(appContext).createDataSourceFactory(bytes)))
+                .setLoadControl(profile.createLoadControl())
+                .build();
+        // 码率上限和视口尺寸（VideoPlayerView设置）只在有多条视频轨道时影响选择；
+        // 当前视频都是单一码率的渐进式MP4，这两项对播放没有影响，接入多码率源后才生效
+        TrackSelectionParameters parameters = player.getTrackSelectionParameters().buildUpon()
+                .setMaxVideoBitrate(profile.maxVideoBitrate)
+                .build();
+        player.setTrackSelectionParameters(parameters);
+        return player;
+    }
+
+    private Entry create(PlaybackProfile profile) {
+        VideoCacheProvider.PlaybackBytes bytes = new VideoCacheProvider.PlaybackBytes();
+        Entry entry = new Entry(playerFactory.create(profile, bytes), profile, bytes);
+        entry.player.addListener(new Player.Listener() {
+            @Override
+            public void onPlaybackStateChanged(int playbackState) {
+                if (playbackState == Player.STATE_READY) {
+                    entry.seeking = false;
+                    if (!entry.startupRecorded) {
+                        // 起播耗时：准备到首次缓冲就绪
+                        entry.startupRecorded = true;
+                        entry.startupMs = SystemClock.uptimeMillis() - entry.prepareTimeMs;
+                        startupCount++;
+                        startupTotalMs += entry.startupMs;
+                    }
+                } else if (playbackState == Player.STATE_BUFFERING && entry.startupRecorded
+                        && !entry.seeking && entry.player.getPlayWhenReady()) {
+                    // 起播后播放中重新进入缓冲（拖动进度引起的除外）
+                    entry.rebufferCount++;
+                    rebufferTotal++;
+                }
+            }
+
+            @Override
+            public void onPositionDiscontinuity(@NonNull Player.PositionInfo oldPosition,
+                                                @NonNull Player.PositionInfo newPosition, int reason) {
+                if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+                    entry.seeking = true;
+                }
+            }
+
+            @Override
+            public void onRenderedFirstFrame() {
+                if (!entry.firstFrameRendered) {
+                    entry.firstFrameRendered = true;
+                    long elapsed = SystemClock.uptimeMillis() - entry.prepareTimeMs;
+                    firstFrameCount++;
+                    firstFrameTotalMs += elapsed;
+                    Log.d(TAG, "首帧耗时: " + elapsed + "ms");
+                }
+            }
+        });
+        entries.add(entry);
+        Log.d(TAG, "新建播放器，当前数量: " + entries.size());
+        return entry;
+    }
+
+    /**
+     * 把播放器重新绑定到新的视频，恢复默认播放设置
+     */
+    private void bind(Entry entry, String url, long startPositionMs) {
+        ExoPlayer player = entry.player;
+        player.stop();
+        reportPlayback(entry);
+        player.setMediaItem(MediaItem.fromUri(url), Math.max(0, startPositionMs));
+        player.setRepeatMode(Player.REPEAT_MODE_ONE);
+        player.setVolume(1.0f);
+        player.setPlayWhenReady(false);
+        entry.url = url;
+        entry.firstFrameRendered = false;
+        entry.rebufferCount = 0;
+        prepare(entry);
+    }
+
+    /**
+     * 输出上一次播放的起播耗时、卡顿次数、缓存命中和网络字节数
+     */
+    private void reportPlayback(Entry entry) {
+        String bytesSummary = entry.bytes.drain();
+        if (bytesSummary == null && !entry.startupRecorded) {
+            return;
+        }
+        Log.d(TAG, "播放结束 " + entry.url + " - 配置: " + entry.profile
+                + "，起播: " + (entry.startupRecorded ? entry.startupMs + "ms" : "未就绪")
+                + "，卡顿: " + entry.rebufferCount + "次"
+                + (bytesSummary != null ? "，" + bytesSummary : ""));
+    }
+
+    private void prepare(Entry entry) {
+        if (entry.player.getPlaybackState() != Player.STATE_IDLE) {
+            return;
+        }
+        ensureDecoderBudget(entry);
+        entry.firstFrameRendered = false;
+        entry.startupRecorded = false;
+        entry.seeking = false;
+        entry.prepareTimeMs = SystemClock.uptimeMillis();
+        entry.player.prepare();
+    }
+
+    /**
+     * 已准备的播放器达到上限时，按最久未使用顺序停止其它播放器：先空闲的，再未在播放的，最后任意
+     */
+    private void ensureDecoderBudget(Entry preparing) {
+        while (countPrepared(preparing) >= MAX_DECODERS) {
+            Entry victim = findPreparedVictim(preparing, true, true);
+            if (victim == null) {
+                victim = findPreparedVictim(preparing, false, true);
+            }
+            if (victim == null) {
+                victim = findPreparedVictim(preparing, false, false);
+            }
+            if (victim == null) {
+                return;
+            }
+            victim.player.stop();
+            decoderEvictCount++;
+            Log.d(TAG, "达到解码器上限，停止播放器: " + victim.url);
+        }
+    }
+
+    private int countPrepared(Entry exclude) {
+        int count = 0;
+        for (Entry entry : entries) {
+            if (entry != exclude && entry.player.getPlaybackState() != Player.STATE_IDLE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Nullable
+    private Entry findPreparedVictim(Entry exclude, boolean idleOnly, boolean pausedOnly) {
+        for (Entry entry : entries) {
+            if (entry == exclude || entry.player.getPlaybackState() == Player.STATE_IDLE) {
+                continue;
+            }
+            if (idleOnly && entry.leased) {
+                continue;
+            }
+            if (pausedOnly && entry.player.getPlayWhenReady()) {
+                continue;
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    @Nullable
+    private Entry findIdleByUrl(String url) {
+        for (Entry entry : entries) {
+            if (!entry.leased && url.equals(entry.url)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Entry findByPlayer(@Nullable ExoPlayer player) {
+        if (player == null) {
+            return null;
+        }
+        for (Entry entry : entries) {
+            if (entry.player == player) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Entry findLeastRecentIdle() {
+        for (Entry entry : entries) {
+            if (!entry.leased) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void touch(Entry entry) {
+        entries.remove(entry);
+        entries.add(entry);
+    }
+
+    /**
+     * 池中的播放器及其租用状态
+     */
+    private static class Entry {
+        final ExoPlayer player;
+        final PlaybackProfile profile;
+        final VideoCacheProvider.PlaybackBytes bytes;
+        String url;
+        boolean leased;
+        long prepareTimeMs;
+        boolean firstFrameRendered;
+        boolean startupRecorded;
+        long startupMs;
+        int rebufferCount;
+        boolean seeking;
+
+        Entry(ExoPlayer player, PlaybackProfile profile, VideoCacheProvider.PlaybackBytes bytes) {
+            this.player = player;
+            this.profile = profile;
+            this.bytes = bytes;
+        }
+    }
+}
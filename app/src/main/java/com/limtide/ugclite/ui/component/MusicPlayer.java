@@ -5,6 +5,7 @@ import android.media.MediaPlayer;
 import android.util.Log;
 import android.widget.Toast;
 
+import com.limtide.ugclite.network.RequestScope;
 import com.limtide.ugclite.utils.MusicFileUtils;
 
 import java.io.IOException;
@@ -22,6 +23,7 @@ public class MusicPlayer {
     private String currentUrl;
     private boolean isPrepared = false;
     private int startPosition = 0;
+    private RequestScope requestScope; // 所属页面的请求范围，页面销毁时取消音乐下载
 
     // 播放状态监听器
     public interface MusicPlayerListener {
@@ -80,6 +82,13 @@ public class MusicPlayer {
         mediaPlayer.setVolume(1.0f, 1.0f); // 默认音量
     }
 
+    /**
+     * 设置所属页面的请求范围，音乐下载会随页面销毁取消
+     */
+    public void setRequestScope(RequestScope requestScope) {
+        this.requestScope = requestScope;
+    }
+
     /**
      * 设置音量
      * @param volume 音量值 0-100
@@ -160,7 +169,7 @@ public class MusicPlayer {
                     // 可以在这里添加进度回调
                     Log.d(TAG, "音乐下载进度: " + progress + "%");
                 }
-            });
+            }, requestScope);
         } else {
             // 直接在线播放
             loadMusicFromUrl(url);
@@ -171,6 +180,10 @@ public class MusicPlayer {
      * 从本地文件加载音乐
      */
     private void loadMusicFromPath(String filePath) {
+        if (mediaPlayer == null) {
+            Log.w(TAG, "播放器已释放，忽略本地音乐: " + filePath);
+            return;
+        }
         try {
             mediaPlayer.setDataSource(filePath);
             mediaPlayer.prepareAsync();
@@ -187,6 +200,10 @@ public class MusicPlayer {
      * 从URL加载音乐
      */
     private void loadMusicFromUrl(String url) {
+        if (mediaPlayer == null) {
+            Log.w(TAG, "播放器已释放，忽略在线音乐: " + url);
+            return;
+        }
         try {
             mediaPlayer.setDataSource(url);
             mediaPlayer.prepareAsync();
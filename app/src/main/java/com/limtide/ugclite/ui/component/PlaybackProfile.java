@@ -0,0 +1,71 @@
+package com.limtide.ugclite.ui.component;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.LoadControl;
+
+import com.limtide.ugclite.network.NetworkQualityEstimator;
+
+/**
+ * 短视频播放配置 - 按网络档位选择缓冲阈值
+ * 默认LoadControl面向长视频，起播前缓冲较多；UGC短视频只需少量数据即可起播，
+ * 弱网下适当提高起播和卡顿后的缓冲量，减少反复卡顿
+ * maxVideoBitrate目前不起作用：Feed视频都是单一码率的渐进式MP4，只有一条视频轨道，轨道选择没有可降级的候选；
+ * 保留该字段是为了以后接入多码率源（HLS/DASH）时直接生效
+ */
+@OptIn(markerClass = UnstableApi.class)
+public enum PlaybackProfile {
+    //             minBufferMs maxBufferMs startMs rebufferMs maxBitrate
+    FAST          (2500,       15000,      500,    1000,      Integer.MAX_VALUE),
+    BALANCED      (4000,       20000,      1000,   2000,      2_000_000),
+    CONSERVATIVE  (6000,       30000,      1500,   3000,      800_000);
+
+    public final int minBufferMs;                       // 缓冲低于此值时继续加载
+    public final int maxBufferMs;                       // 缓冲达到此值时停止加载
+    public final int bufferForPlaybackMs;               // 起播所需的缓冲
+    public final int bufferForPlaybackAfterRebufferMs;  // 卡顿后恢复播放所需的缓冲
+    public final int maxVideoBitrate;                   // 视频轨道码率上限（bps），单一码率的MP4下无效果
+
+    PlaybackProfile(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs,
+                    int bufferForPlaybackAfterRebufferMs, int maxVideoBitrate) {
+        this.minBufferMs = minBufferMs;
+        this.maxBufferMs = maxBufferMs;
+        this.bufferForPlaybackMs = bufferForPlaybackMs;
+        this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+        this.maxVideoBitrate = maxVideoBitrate;
+    }
+
+    /**
+     * 当前网络档位对应的配置
+     */
+    @NonNull
+    public static PlaybackProfile current() {
+        return forTier(NetworkQualityEstimator.getInstance().getTier());
+    }
+
+    @NonNull
+    public static PlaybackProfile forTier(NetworkQualityEstimator.NetworkTier tier) {
+        switch (tier) {
+            case POOR:
+                return CONSERVATIVE;
+            case MODERATE:
+                return BALANCED;
+            default:
+                return FAST;
+        }
+    }
+
+    /**
+     * 创建按本配置缓冲的LoadControl（每个播放器独立一个）
+     */
+    @NonNull
+    public LoadControl createLoadControl() {
+        return new DefaultLoadControl.Builder()
+                .setBufferDurationsMs(minBufferMs, maxBufferMs,
+                        bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs)
+                .setPrioritizeTimeOverSizeThresholds(true)
+                .build();
+    }
+}
@@ -11,15 +11,18 @@ import androidx.annotation.Nullable;
 
 import androidx.media3.common.Player;
 import androidx.media3.exoplayer.ExoPlayer;
-import androidx.media3.common.MediaItem;
 import androidx.media3.ui.PlayerView;
 import androidx.media3.common.PlaybackException;
 
 import com.limtide.ugclite.R;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 自定义视频播放器组件
  * 基于ExoPlayer实现，支持自适应布局和播放控制
+ * 播放器从ExoPlayerPool租用，View（PlayerView和Surface）随ViewHolder复用，切换视频时只重新绑定播放器
  */
 public class VideoPlayerView extends FrameLayout implements Player.Listener {
 
@@ -28,6 +31,12 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
     private String videoUrl;
     private boolean isPrepared = false;
     private OnVideoEventListener listener;
+    private final List<Player.Listener> extraListeners = new ArrayList<>();
+
+    // 播放器归还到池中时记录的状态，重新租用时恢复
+    private long resumePositionMs = 0;
+    private boolean resumePlaying = false;
+    private boolean resumeMuted = false;
 
     public interface OnVideoEventListener {
         void onVideoStarted();
@@ -58,50 +67,73 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
         // 禁用自动播放控制器，使用自定义控制
         playerView.setControllerAutoShow(false);
         playerView.setUseController(false);
-
-        initializePlayer();
     }
 
     /**
-     * 初始化ExoPlayer
+     * 从播放器池租用播放器并绑定到本View的Surface
      */
-    private void initializePlayer() {
+    private boolean acquirePlayer() {
+        if (exoPlayer != null) {
+            return true;
+        }
+        if (videoUrl == null || videoUrl.isEmpty()) {
+            return false;
+        }
+        exoPlayer = ExoPlayerPool.getInstance(getContext()).acquire(videoUrl, resumePositionMs);
         if (exoPlayer == null) {
-            exoPlayer = new ExoPlayer.Builder(getContext()).build();
-            exoPlayer.addListener(this);
-            playerView.setPlayer(exoPlayer);
-
-            // 设置默认音量
-            exoPlayer.setVolume(1.0f);
+            Log.w("VideoPlayerView", "播放器池已满，暂不播放: " + videoUrl);
+            return false;
+        }
+        exoPlayer.addListener(this);
+        playerView.setPlayer(exoPlayer);
+        applyViewportSize(getWidth(), getHeight());
+
+        // 播放器被其它视频复用过时，恢复本视频的静音状态和播放位置
+        exoPlayer.setVolume(resumeMuted ? 0.0f : 1.0f);
+        if (resumePositionMs > 0 && exoPlayer.getCurrentPosition() != resumePositionMs) {
+            exoPlayer.seekTo(resumePositionMs);
+        }
+        isPrepared = true;
+        return true;
+    }
 
-            // 设置循环播放
-            exoPlayer.setRepeatMode(Player.REPEAT_MODE_ONE);
+    /**
+     * 把PlayerView实际大小设为轨道选择的视口尺寸
+     * 当前视频都是单一码率的渐进式MP4，只有一条视频轨道，此设置不会改变解码尺寸；接入多码率源（HLS/DASH）后才会按视口选轨
+     */
+    private void applyViewportSize(int width, int height) {
+        if (exoPlayer == null || width <= 0 || height <= 0) {
+            return;
         }
+        exoPlayer.setTrackSelectionParameters(exoPlayer.getTrackSelectionParameters().buildUpon()
+                .setViewportSize(width, height, false)
+                .build());
     }
 
     /**
      * 设置视频URL并准备播放
      */
     public void setVideoUrl(String url) {
-        Log.d("VideoPlayerView", "设置视频URL: " + url);
-        this.videoUrl = url;
+        setVideoUrl(url, 0);
+    }
 
-        if (exoPlayer == null) {
-            Log.w("VideoPlayerView", "ExoPlayer未初始化，重新初始化");
-            initializePlayer();
+    /**
+     * 设置视频URL并从指定位置开始准备（恢复上次播放位置，不从头缓冲）
+     */
+    public void setVideoUrl(String url, long startPositionMs) {
+        Log.d("VideoPlayerView", "设置视频URL: " + url + "，起始位置: " + startPositionMs);
+        if (exoPlayer != null && url != null && url.equals(videoUrl)) {
+            return;
         }
+        releasePlayer();
+        this.videoUrl = url;
+        resumePositionMs = Math.max(0, startPositionMs);
+        resumeMuted = false;
 
         if (url != null && !url.isEmpty()) {
-            // 停止当前播放
-            exoPlayer.stop();
-
-            // 设置新媒体项
-            MediaItem mediaItem = MediaItem.fromUri(url);
-            exoPlayer.setMediaItem(mediaItem);
-            exoPlayer.prepare();
-            isPrepared = true;
-
-            Log.d("VideoPlayerView", "视频URL设置完成并准备播放");
+            if (acquirePlayer()) {
+                Log.d("VideoPlayerView", "视频URL设置完成并准备播放");
+            }
         } else {
             Log.w("VideoPlayerView", "视频URL为空");
         }
@@ -111,7 +143,13 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
      * 开始播放视频
      */
     public void start() {
-        if (exoPlayer != null && isPrepared) {
+        // 播放器已归还到池中（页面离开屏幕后又回来）时重新租用
+        if (exoPlayer == null && !acquirePlayer()) {
+            return;
+        }
+        if (isPrepared) {
+            // 解码器被池回收过（播放器已停止）时重新准备
+            ExoPlayerPool.getInstance(getContext()).prepare(exoPlayer);
             exoPlayer.setPlayWhenReady(true);
             if (listener != null) {
                 listener.onVideoStarted();
@@ -132,17 +170,37 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
     }
 
     /**
-     * 释放播放器资源
+     * 把播放器归还到池中，保留视频URL、播放位置和静音状态，之后可重新租用
+     */
+    public void releasePlayer() {
+        if (exoPlayer == null) {
+            return;
+        }
+        resumePositionMs = exoPlayer.getCurrentPosition();
+        resumePlaying = exoPlayer.getPlayWhenReady();
+        resumeMuted = exoPlayer.getVolume() == 0.0f;
+
+        exoPlayer.removeListener(this);
+        for (Player.Listener extra : extraListeners) {
+            exoPlayer.removeListener(extra);
+        }
+        extraListeners.clear();
+        playerView.setPlayer(null);
+        ExoPlayerPool.getInstance(getContext()).release(exoPlayer);
+        exoPlayer = null;
+        isPrepared = false;
+    }
+
+    /**
+     * 释放播放器资源（归还播放器并清空视频URL和监听器）
      */
     public void release() {
         Log.d("VideoPlayerView", "释放VideoPlayerView资源");
-        if (exoPlayer != null) {
-            exoPlayer.stop();
-            exoPlayer.release();
-            exoPlayer = null;
-            isPrepared = false;
-        }
+        releasePlayer();
         videoUrl = null;
+        resumePositionMs = 0;
+        resumePlaying = false;
+        resumeMuted = false;
         listener = null;
         Log.d("VideoPlayerView", "VideoPlayerView资源释放完成");
     }
@@ -170,7 +228,7 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
      * 检查是否正在播放
      */
     public boolean isPlaying() {
-        return exoPlayer != null && exoPlayer.isPlaying();
+        return exoPlayer != null ? exoPlayer.isPlaying() : resumePlaying;
     }
 
     /**
@@ -198,14 +256,21 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
      * 获取当前播放位置
      */
     public long getCurrentPosition() {
-        return exoPlayer != null ? exoPlayer.getCurrentPosition() : 0;
+        return exoPlayer != null ? exoPlayer.getCurrentPosition() : resumePositionMs;
     }
 
     /**
      * 检查是否静音
      */
     public boolean isMuted() {
-        return exoPlayer != null && exoPlayer.getVolume() == 0.0f;
+        return exoPlayer != null ? exoPlayer.getVolume() == 0.0f : resumeMuted;
+    }
+
+    /**
+     * 检查播放器是否已缓冲好可以播放（复用池中同一视频的播放器时可能已经就绪）
+     */
+    public boolean isReady() {
+        return exoPlayer != null && exoPlayer.getPlaybackState() == Player.STATE_READY;
     }
 
     /**
@@ -214,6 +279,7 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
     public void setOnPreparedListener(androidx.media3.common.Player.Listener listener) {
         if (exoPlayer != null) {
             exoPlayer.addListener(listener);
+            extraListeners.add(listener);
         }
     }
 
@@ -221,6 +287,7 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
      * 移除准备监听器
      */
     public void removeOnPreparedListener(androidx.media3.common.Player.Listener listener) {
+        extraListeners.remove(listener);
         if (exoPlayer != null) {
             exoPlayer.removeListener(listener);
         }
@@ -287,9 +354,25 @@ public class VideoPlayerView extends FrameLayout implements Player.Listener {
         }
     }
 
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        applyViewportSize(w, h);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // 页面重新显示（ViewHolder从缓存中取回、未重新绑定）时重新租用播放器
+        if (exoPlayer == null && videoUrl != null) {
+            acquirePlayer();
+        }
+    }
+
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        release();
+        // 离开窗口时归还播放器，View和视频URL保留供复用
+        releasePlayer();
     }
 }
\ No newline at end of file
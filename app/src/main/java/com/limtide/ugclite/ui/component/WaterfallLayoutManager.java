@@ -0,0 +1,685 @@
+package com.limtide.ugclite.ui.component;
+
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.Log;
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearSmoothScroller;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 瀑布流布局管理器 - 列在数据进入列表时就已确定，布局时不再分配列
+ * - 每个位置所在的列由ColumnLookup给出（适配器按预先算好的卡片高度贪心分配），同一列表得到相同的布局
+ * - 按位置记录每个item的top和高度，位置 -> 偏移是O(1)查找，滚动恢复和scrollToPosition无需逐个测量前面的item
+ * - 没有StaggeredGridLayoutManager的间隙检测和修复，实际测量高度与估算不同时只重算该位置之后的偏移
+ * - 滚动时已摆放的item整体平移，只在边缘添加新进入视口的item、回收离开视口的item，不重新测量和摆放其余item
+ * - 数据变化时以第一个可见item为锚点保持其屏幕位置
+ * - findFirstVisibleItemPosition/findLastVisibleItemPosition不分配数组
+ *
+ * 线程说明：只在主线程使用（RecyclerView布局和滚动回调）
+ */
+public class WaterfallLayoutManager extends RecyclerView.LayoutManager
+        implements RecyclerView.SmoothScroller.ScrollVectorProvider {
+
+    private static final String TAG = "WaterfallLayoutManager";
+
+    /**
+     * 提供每个位置的列和估算高度，数据进入列表时算好，布局时只做查找
+     */
+    public interface ColumnLookup {
+        /**
+         * @return 位置所在的列，0到columnCount-1
+         */
+        int getColumn(int position);
+
+        /**
+         * @return 未测量前使用的估算高度（px，含外边距）
+         */
+        int getEstimatedHeight(int position);
+
+        /**
+         * 估算误差分组（如标题行数），同组item首次测量得到的误差会用于修正后续估算
+         */
+        int getHeightClass(int position);
+    }
+
+    private final int columnCount;
+    private final ColumnLookup lookup;
+
+    // 按位置记录的布局信息，坐标相对于内容顶部（不含paddingTop）
+    private int[] tops = new int[0];
+    private int[] heights = new int[0];
+    private int[] columns = new int[0];
+    private int[] maxBottoms = new int[0];   // 前缀最大底部，用于二分查找第一个可见位置
+    private boolean[] measured = new boolean[0];
+    private int trackedCount = 0;            // 数组对应的item数量
+    private int computedCount = 0;           // [0, computedCount)的top已计算
+    private final int[] columnBottoms;       // 前computedCount个item之后每列的底部
+    private final SparseIntArray classDeltas = new SparseIntArray(); // 高度分组 -> 实测与估算的差值
+    private int contentHeight = 0;
+
+    private int scrollOffset = 0;
+    private int pendingPosition = RecyclerView.NO_POSITION;
+    private int pendingOffset = 0;
+    private int firstVisible = RecyclerView.NO_POSITION;
+    private int lastVisible = RecyclerView.NO_POSITION;
+    private int columnWidth = 0;
+    private final Rect decorInsets = new Rect();
+
+    public WaterfallLayoutManager(int columnCount, @NonNull ColumnLookup lookup) {
+        if (columnCount <= 0) {
+            throw new IllegalArgumentException("columnCount must be positive: " + columnCount);
+        }
+        this.columnCount = columnCount;
+        this.lookup = lookup;
+        this.columnBottoms = new int[columnCount];
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean canScrollVertically() {
+        return true;
+    }
+
+    @Override
+    public boolean isAutoMeasureEnabled() {
+        return true;
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        int itemCount = state.getItemCount();
+        syncItemCount(itemCount);
+        if (itemCount == 0) {
+            removeAndRecycleAllViews(recycler);
+            scrollOffset = 0;
+            firstVisible = RecyclerView.NO_POSITION;
+            lastVisible = RecyclerView.NO_POSITION;
+            contentHeight = 0;
+            return; // 保留pendingPosition，数据到达后再恢复
+        }
+
+        int newColumnWidth = (getWidth() - getPaddingLeft() - getPaddingRight()) / columnCount;
+        if (newColumnWidth != columnWidth) {
+            // 列宽变化（如旋转）后所有高度需要重新测量
+            columnWidth = newColumnWidth;
+            Arrays.fill(measured, 0, trackedCount, false);
+            invalidateFrom(0);
+        }
+
+        if (pendingPosition != RecyclerView.NO_POSITION) {
+            // 滚动恢复或scrollToPosition：直接按位置查找偏移
+            int position = Math.min(pendingPosition, itemCount - 1);
+            ensureComputed(position);
+            scrollOffset = tops[position] - pendingOffset;
+            pendingPosition = RecyclerView.NO_POSITION;
+            pendingOffset = 0;
+        } else {
+            // 以当前最靠上的可见item为锚点，数据变化后保持它的屏幕位置
+            View anchor = findAnchorChild();
+            if (anchor != null) {
+                int position = getPosition(anchor);
+                RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) anchor.getLayoutParams();
+                int screenTop = getDecoratedTop(anchor) - lp.topMargin - getPaddingTop();
+                ensureComputed(position);
+                scrollOffset = tops[position] - screenTop;
+            }
+        }
+
+        fill(recycler);
+    }
+
+    @Override
+    public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (getChildCount() == 0 || dy == 0) {
+            return 0;
+        }
+        int startOffset = scrollOffset;
+        int maxOffset = Math.max(0, contentHeight - getViewportHeight());
+        int newOffset = Math.max(0, Math.min(maxOffset, scrollOffset + dy));
+        if (newOffset == scrollOffset) {
+            return 0;
+        }
+        offsetChildrenVertical(scrollOffset - newOffset);
+        scrollOffset = newOffset;
+        if (fillEdges(recycler)) {
+            recycleOutOfViewport(recycler);
+        } else {
+            // 新进入视口的item实测高度与估算不同，改变了已摆放item的偏移（如跳转后向上滚动到未测量的区域），整体重新摆放
+            fill(recycler);
+            recycleScrap(recycler);
+        }
+        // fill会按最新的内容高度重新限制scrollOffset，按最终偏移计算实际滚动的距离
+        return scrollOffset - startOffset;
+    }
+
+    /**
+     * 按当前scrollOffset重新摆放所有可见item（布局时使用，滚动时只在偏移表变化后使用）
+     */
+    private void fill(RecyclerView.Recycler recycler) {
+        detachAndScrapAttachedViews(recycler);
+        int itemCount = trackedCount;
+        ensureComputed(itemCount - 1);
+        int viewportHeight = getViewportHeight();
+        scrollOffset = Math.max(0, Math.min(Math.max(0, contentHeight - viewportHeight), scrollOffset));
+
+        int viewTop = scrollOffset;
+        int viewBottom = scrollOffset + viewportHeight;
+        int doneMask = 0;
+        int allDone = (1 << columnCount) - 1;
+        firstVisible = RecyclerView.NO_POSITION;
+        lastVisible = RecyclerView.NO_POSITION;
+
+        for (int i = findFirstIntersecting(viewTop); i < itemCount && doneMask != allDone; i++) {
+            ensureComputed(i);
+            int column = columns[i];
+            if ((doneMask & (1 << column)) != 0) {
+                continue;
+            }
+            if (tops[i] >= viewBottom) {
+                // 同一列后面的item只会更靠下
+                doneMask |= 1 << column;
+                continue;
+            }
+            if (tops[i] + heights[i] <= viewTop) {
+                continue;
+            }
+
+            addAndLayout(recycler, i);
+            if (firstVisible == RecyclerView.NO_POSITION) {
+                firstVisible = i;
+            }
+            lastVisible = i;
+        }
+        ensureComputed(itemCount - 1);
+    }
+
+    /**
+     * 滚动后只为视口内还没有View的位置添加item，已摆放的item不动
+     * @return 已摆放item的位置与偏移表仍然一致时返回true；返回false时需要整体重新摆放
+     */
+    private boolean fillEdges(RecyclerView.Recycler recycler) {
+        int itemCount = trackedCount;
+        int viewTop = scrollOffset;
+        int viewBottom = scrollOffset + getViewportHeight();
+        int doneMask = 0;
+        int allDone = (1 << columnCount) - 1;
+
+        for (int i = findFirstIntersecting(viewTop); i < itemCount && doneMask != allDone; i++) {
+            ensureComputed(i);
+            int column = columns[i];
+            if ((doneMask & (1 << column)) != 0) {
+                continue;
+            }
+            if (tops[i] >= viewBottom) {
+                doneMask |= 1 << column;
+                continue;
+            }
+            if (tops[i] + heights[i] <= viewTop || findViewByPosition(i) != null) {
+                continue;
+            }
+            addAndLayout(recycler, i);
+        }
+        ensureComputed(itemCount - 1);
+        return childrenMatchOffsets();
+    }
+
+    /**
+     * 添加、测量并按偏移表摆放一个item；实测高度与记录不同时更新偏移表
+     */
+    private void addAndLayout(RecyclerView.Recycler recycler, int position) {
+        View child = recycler.getViewForPosition(position);
+        addView(child);
+        // 测量规格不变且未请求重新布局时View.measure直接返回，重新摆放的item不会重复测量
+        measureChild(child);
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+        int height = getDecoratedMeasuredHeight(child) + lp.topMargin + lp.bottomMargin;
+        if (!measured[position] || heights[position] != height) {
+            onItemMeasured(position, height);
+        }
+
+        int left = getPaddingLeft() + columns[position] * columnWidth;
+        int top = getPaddingTop() + tops[position] - scrollOffset;
+        layoutDecoratedWithMargins(child, left, top,
+                left + getDecoratedMeasuredWidth(child) + lp.leftMargin + lp.rightMargin,
+                top + height);
+    }
+
+    /**
+     * 检查所有已摆放item的顶部是否仍与偏移表一致
+     */
+    private boolean childrenMatchOffsets() {
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            int position = getPosition(child);
+            if (position < 0 || position >= computedCount) {
+                return false;
+            }
+            RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+            if (getDecoratedTop(child) - lp.topMargin != getPaddingTop() + tops[position] - scrollOffset) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 回收已完全离开视口的item，并更新第一个和最后一个可见位置
+     */
+    private void recycleOutOfViewport(RecyclerView.Recycler recycler) {
+        int viewportTop = getPaddingTop();
+        int viewportBottom = getHeight() - getPaddingBottom();
+        firstVisible = RecyclerView.NO_POSITION;
+        lastVisible = RecyclerView.NO_POSITION;
+        for (int i = getChildCount() - 1; i >= 0; i--) {
+            View child = getChildAt(i);
+            RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+            if (getDecoratedBottom(child) + lp.bottomMargin <= viewportTop
+                    || getDecoratedTop(child) - lp.topMargin >= viewportBottom) {
+                removeAndRecycleView(child, recycler);
+                continue;
+            }
+            int position = getPosition(child);
+            if (firstVisible == RecyclerView.NO_POSITION || position < firstVisible) {
+                firstVisible = position;
+            }
+            if (position > lastVisible) {
+                lastVisible = position;
+            }
+        }
+    }
+
+    /**
+     * 记录实测高度；与之前使用的高度不同时只重算该位置及之后的偏移
+     */
+    private void onItemMeasured(int position, int height) {
+        if (!measured[position]) {
+            int heightClass = lookup.getHeightClass(position);
+            if (classDeltas.indexOfKey(heightClass) < 0) {
+                classDeltas.put(heightClass, height - lookup.getEstimatedHeight(position));
+            }
+            measured[position] = true;
+        }
+        if (heights[position] != height) {
+            heights[position] = height;
+            invalidateFrom(position);
+            ensureComputed(position);
+        }
+    }
+
+    private void measureChild(View child) {
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+        calculateItemDecorationsForChild(child, decorInsets);
+        int horizontal = lp.leftMargin + lp.rightMargin + decorInsets.left + decorInsets.right;
+        int vertical = lp.topMargin + lp.bottomMargin + decorInsets.top + decorInsets.bottom;
+        int widthSpec = getChildMeasureSpec(columnWidth, View.MeasureSpec.EXACTLY, horizontal, lp.width, false);
+        int heightSpec = getChildMeasureSpec(getHeight(), getHeightMode(), vertical, lp.height, true);
+        child.measure(widthSpec, heightSpec);
+    }
+
+    /**
+     * 回收滚动后没有重新摆放的item
+     */
+    private void recycleScrap(RecyclerView.Recycler recycler) {
+        List<RecyclerView.ViewHolder> scrapList = recycler.getScrapList();
+        for (int i = scrapList.size() - 1; i >= 0; i--) {
+            // recycleView会先移除临时分离的View再回收
+            recycler.recycleView(scrapList.get(i).itemView);
+        }
+    }
+
+    /**
+     * 找到数据变化前最靠上的未删除item作为锚点
+     */
+    @Nullable
+    private View findAnchorChild() {
+        View anchor = null;
+        int anchorTop = Integer.MAX_VALUE;
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+            if (lp.isItemRemoved() || getPosition(child) >= trackedCount) {
+                continue;
+            }
+            int top = getDecoratedTop(child);
+            if (top < anchorTop) {
+                anchorTop = top;
+                anchor = child;
+            }
+        }
+        return anchor;
+    }
+
+    /**
+     * 二分查找第一个底部超过viewTop的位置，之前的item都在视口上方
+     */
+    private int findFirstIntersecting(int viewTop) {
+        int low = 0;
+        int high = computedCount - 1;
+        int result = computedCount;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (maxBottoms[mid] > viewTop) {
+                result = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 计算到指定位置（含）为止的偏移，已计算的部分不重复计算
+     */
+    private void ensureComputed(int position) {
+        int end = Math.min(position, trackedCount - 1);
+        for (int i = computedCount; i <= end; i++) {
+            int column = lookup.getColumn(i);
+            if (column < 0 || column >= columnCount) {
+                column = i % columnCount;
+            }
+            if (!measured[i]) {
+                heights[i] = estimateHeight(i);
+            }
+            columns[i] = column;
+            tops[i] = columnBottoms[column];
+            columnBottoms[column] = tops[i] + heights[i];
+            maxBottoms[i] = Math.max(i > 0 ? maxBottoms[i - 1] : 0, columnBottoms[column]);
+            computedCount = i + 1;
+        }
+        if (computedCount == trackedCount) {
+            contentHeight = computedCount > 0 ? maxBottoms[computedCount - 1] : 0;
+        }
+    }
+
+    private int estimateHeight(int position) {
+        return Math.max(0, lookup.getEstimatedHeight(position)
+                + classDeltas.get(lookup.getHeightClass(position), 0));
+    }
+
+    /**
+     * 使指定位置及之后的偏移失效，并恢复此前每列的底部
+     */
+    private void invalidateFrom(int position) {
+        if (position >= computedCount) {
+            return;
+        }
+        computedCount = Math.max(0, position);
+        Arrays.fill(columnBottoms, -1);
+        int remaining = columnCount;
+        for (int i = computedCount - 1; i >= 0 && remaining > 0; i--) {
+            int column = columns[i];
+            if (columnBottoms[column] < 0) {
+                columnBottoms[column] = tops[i] + heights[i];
+                remaining--;
+            }
+        }
+        for (int c = 0; c < columnCount; c++) {
+            if (columnBottoms[c] < 0) {
+                columnBottoms[c] = 0;
+            }
+        }
+    }
+
+    /**
+     * item数量与记录不一致时（如notifyDataSetChanged）重新对齐数组
+     */
+    private void syncItemCount(int itemCount) {
+        if (itemCount == trackedCount) {
+            return;
+        }
+        ensureCapacity(itemCount);
+        if (itemCount > trackedCount) {
+            Arrays.fill(measured, trackedCount, itemCount, false);
+        }
+        invalidateFrom(Math.min(trackedCount, itemCount));
+        trackedCount = itemCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (tops.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, tops.length * 2);
+        tops = Arrays.copyOf(tops, newCapacity);
+        heights = Arrays.copyOf(heights, newCapacity);
+        columns = Arrays.copyOf(columns, newCapacity);
+        maxBottoms = Arrays.copyOf(maxBottoms, newCapacity);
+        measured = Arrays.copyOf(measured, newCapacity);
+    }
+
+    @Override
+    public void onItemsAdded(@NonNull RecyclerView recyclerView, int positionStart, int itemCount) {
+        if (positionStart > trackedCount) {
+            return; // 由syncItemCount处理
+        }
+        invalidateFrom(positionStart);
+        ensureCapacity(trackedCount + itemCount);
+        // 已测量的高度跟随item移动
+        System.arraycopy(heights, positionStart, heights, positionStart + itemCount, trackedCount - positionStart);
+        System.arraycopy(measured, positionStart, measured, positionStart + itemCount, trackedCount - positionStart);
+        Arrays.fill(measured, positionStart, positionStart + itemCount, false);
+        trackedCount += itemCount;
+    }
+
+    @Override
+    public void onItemsRemoved(@NonNull RecyclerView recyclerView, int positionStart, int itemCount) {
+        if (positionStart >= trackedCount) {
+            return;
+        }
+        int count = Math.min(itemCount, trackedCount - positionStart);
+        invalidateFrom(positionStart);
+        int tail = trackedCount - positionStart - count;
+        System.arraycopy(heights, positionStart + count, heights, positionStart, tail);
+        System.arraycopy(measured, positionStart + count, measured, positionStart, tail);
+        trackedCount -= count;
+    }
+
+    @Override
+    public void onItemsMoved(@NonNull RecyclerView recyclerView, int from, int to, int itemCount) {
+        if (from >= trackedCount || to >= trackedCount || from == to) {
+            return;
+        }
+        invalidateFrom(Math.min(from, to));
+        int height = heights[from];
+        boolean wasMeasured = measured[from];
+        if (from < to) {
+            System.arraycopy(heights, from + 1, heights, from, to - from);
+            System.arraycopy(measured, from + 1, measured, from, to - from);
+        } else {
+            System.arraycopy(heights, to, heights, to + 1, from - to);
+            System.arraycopy(measured, to, measured, to + 1, from - to);
+        }
+        heights[to] = height;
+        measured[to] = wasMeasured;
+    }
+
+    @Override
+    public void onItemsChanged(@NonNull RecyclerView recyclerView) {
+        // notifyDataSetChanged：列和高度都可能变化
+        Arrays.fill(measured, 0, trackedCount, false);
+        invalidateFrom(0);
+    }
+
+    @Override
+    public void onAdapterChanged(@Nullable RecyclerView.Adapter oldAdapter, @Nullable RecyclerView.Adapter newAdapter) {
+        removeAllViews();
+        trackedCount = 0;
+        computedCount = 0;
+        contentHeight = 0;
+        scrollOffset = 0;
+        Arrays.fill(columnBottoms, 0);
+        classDeltas.clear();
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        pendingPosition = position;
+        pendingOffset = 0;
+        requestLayout();
+    }
+
+    /**
+     * 滚动到指定位置，并让该item顶部距离列表顶部offset像素
+     */
+    public void scrollToPositionWithOffset(int position, int offset) {
+        pendingPosition = position;
+        pendingOffset = offset;
+        requestLayout();
+    }
+
+    @Override
+    public void smoothScrollToPosition(RecyclerView recyclerView, RecyclerView.State state, int position) {
+        LinearSmoothScroller scroller = new LinearSmoothScroller(recyclerView.getContext());
+        scroller.setTargetPosition(position);
+        startSmoothScroll(scroller);
+    }
+
+    @Nullable
+    @Override
+    public PointF computeScrollVectorForPosition(int targetPosition) {
+        if (getChildCount() == 0 || firstVisible == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        return new PointF(0, targetPosition < firstVisible ? -1 : 1);
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        if (dy == 0 || getChildCount() == 0 || lastVisible == RecyclerView.NO_POSITION) {
+            return;
+        }
+        // 每列各预取一个即将进入视口的item
+        for (int k = 1; k <= columnCount; k++) {
+            int position = dy > 0 ? lastVisible + k : firstVisible - k;
+            if (position < 0 || position >= computedCount) {
+                break;
+            }
+            int distance = dy > 0
+                    ? tops[position] - (scrollOffset + getViewportHeight())
+                    : scrollOffset - (tops[position] + heights[position]);
+            layoutPrefetchRegistry.addPosition(position, Math.max(0, distance));
+        }
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(@NonNull RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : scrollOffset;
+    }
+
+    @Override
+    public int computeVerticalScrollRange(@NonNull RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : contentHeight;
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(@NonNull RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : Math.min(contentHeight, getViewportHeight());
+    }
+
+    /**
+     * 第一个可见item的位置，没有可见item时返回NO_POSITION
+     */
+    public int findFirstVisibleItemPosition() {
+        return firstVisible;
+    }
+
+    /**
+     * 最后一个可见item的位置，没有可见item时返回NO_POSITION
+     */
+    public int findLastVisibleItemPosition() {
+        return lastVisible;
+    }
+
+    private int getViewportHeight() {
+        return getHeight() - getPaddingTop() - getPaddingBottom();
+    }
+
+    @Nullable
+    @Override
+    public Parcelable onSaveInstanceState() {
+        if (pendingPosition != RecyclerView.NO_POSITION) {
+            return new SavedState(pendingPosition, pendingOffset);
+        }
+        if (firstVisible == RecyclerView.NO_POSITION || firstVisible >= computedCount) {
+            return new SavedState(RecyclerView.NO_POSITION, 0);
+        }
+        return new SavedState(firstVisible, tops[firstVisible] - scrollOffset);
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            Log.w(TAG, "忽略无法识别的滚动状态: " + state);
+            return;
+        }
+        SavedState saved = (SavedState) state;
+        if (saved.anchorPosition != RecyclerView.NO_POSITION) {
+            pendingPosition = saved.anchorPosition;
+            pendingOffset = saved.anchorOffset;
+            requestLayout();
+        }
+    }
+
+    /**
+     * 滚动状态 - 锚点位置及其顶部相对列表顶部的偏移，恢复时通过偏移表直接定位
+     */
+    public static class SavedState implements Parcelable {
+        final int anchorPosition;
+        final int anchorOffset;
+
+        SavedState(int anchorPosition, int anchorOffset) {
+            this.anchorPosition = anchorPosition;
+            this.anchorOffset = anchorOffset;
+        }
+
+        SavedState(Parcel in) {
+            this.anchorPosition = in.readInt();
+            this.anchorOffset = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            dest.writeInt(anchorPosition);
+            dest.writeInt(anchorOffset);
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+}
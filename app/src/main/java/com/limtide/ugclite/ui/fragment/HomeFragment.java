@@ -14,25 +14,37 @@ import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.RecyclerView;
-import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.bumptech.glide.Glide;
+import com.limtide.ugclite.data.model.CardModel;
+import com.limtide.ugclite.data.model.FeedPage;
+import com.limtide.ugclite.data.repository.FeedPageTransformer;
 import com.limtide.ugclite.ui.activity.PostDetailActivity;
+import com.limtide.ugclite.ui.adapter.FeedImagePreloader;
 import com.limtide.ugclite.ui.adapter.NoteCardAdapter;
+import com.limtide.ugclite.ui.adapter.NoteCardViewPool;
+import com.limtide.ugclite.ui.component.WaterfallLayoutManager;
 import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.data.repository.FeedRepository;
 import com.limtide.ugclite.databinding.FragmentHomeBinding;
-import com.limtide.ugclite.network.ApiService;
-import com.limtide.ugclite.utils.VideoThumbnailUtil;
+import com.limtide.ugclite.network.NetworkQualityEstimator;
+import com.limtide.ugclite.network.RequestScope;
+import com.limtide.ugclite.network.VideoPrecacher;
+import com.limtide.ugclite.utils.FeedPrefetchController;
+import com.limtide.ugclite.utils.ScrollWorkCoordinator;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+
 public class HomeFragment extends Fragment {
 
     private static final String TAG = "HomeFragment";
@@ -44,20 +56,32 @@ public class HomeFragment extends Fragment {
     private static final String KEY_CURRENT_CURSOR = "current_cursor";
     private static final String KEY_RECYCLER_STATE = "recycler_state";
     private static final String KEY_POSTS_DATA = "posts_data";
+    private static final String KEY_ACCEPT_VIDEO = "accept_video";
 
     private FragmentHomeBinding binding;
     private NoteCardAdapter notecardAdapter;
-    private ApiService apiService;
+    private FeedImagePreloader imagePreloader; // 按滚动方向预加载封面和头像
+    private NoteCardViewPool noteCardViewPool; // 空闲时预inflate的卡片ViewHolder池
+    private RequestScope requestScope; // 视图生命周期内的请求，onDestroyView时取消
+    private FeedRepository feedRepository;
     private boolean isFirst = true;
-    private static final int PAGE_SIZE = 20; // 每页数据量
-
-    private static final boolean ACCEPT_VIDEO = true;
+    // 分页参数由网络档位决定（见NetworkQualityEstimator.NetworkTier）
+    private int pageSize = NetworkQualityEstimator.NetworkTier.UNKNOWN.feedPageSize; // 当前分页管线的每页数量
+    private boolean acceptVideo = true; // 刷新时确定，同一列表内保持不变，避免服务端cursor错位
+    private static final int MAX_PAGES_IN_FLIGHT = 3; // 快速滑动时最多同时在途的分页数
+    private static final int VIDEO_PRECACHE_LOOKAHEAD = 4; // 视频头部预缓存额外覆盖可见范围下方的卡片数
 
-    // 线程安全的状态管理
-    private final ReentrantLock stateLock = new ReentrantLock();
+    // 加载状态 - 只在主线程修改（Feed结果经处理管线切回主线程后再更新）
     private final AtomicBoolean isLoading = new AtomicBoolean(false);
     private final AtomicBoolean hasMoreData = new AtomicBoolean(true);
-    private final AtomicInteger currentCursor = new AtomicInteger(0);
+    private final AtomicInteger currentCursor = new AtomicInteger(0); // 服务端分页游标，按原始返回条数推进，与展示条数无关
+
+    // 分页预取 - 以下状态只在主线程访问
+    private final FeedPrefetchController prefetchController = new FeedPrefetchController(MAX_PAGES_IN_FLIGHT);
+    private PublishProcessor<Integer> pageCursors; // 待加载分页的cursor，发给分页管线
+    private Disposable pageSubscription;            // 分页管线订阅，刷新或销毁视图时释放
+    private int pagesInFlight = 0;     // 已请求、尚未追加到列表的分页数
+    private int nextRequestCursor = 0; // 下一个待发起分页的cursor
 
     // 保存滚动状态
     private int savedFirstVisiblePosition = 0;
@@ -78,32 +102,28 @@ public class HomeFragment extends Fragment {
         super.onCreate(savedInstanceState);
         Log.d(TAG,"HomeFragment is onCreate");
 
-        // 恢复保存的状态 - 线程安全
+        // 恢复保存的状态
         if (savedInstanceState != null) {
-            stateLock.lock();
-            try {
-                isFirst = savedInstanceState.getBoolean(KEY_IS_FIRST, true);
-                isLoading.set(savedInstanceState.getBoolean(KEY_IS_LOADING, false));
-                hasMoreData.set(savedInstanceState.getBoolean(KEY_HAS_MORE_DATA, true));
-                currentCursor.set(savedInstanceState.getInt(KEY_CURRENT_CURSOR, 0));
-                savedRecyclerViewState = savedInstanceState.getParcelable(KEY_RECYCLER_STATE);
-
-                // 恢复数据列表 - 限制数量防止内存泄漏
-                savedPosts.clear();
-                ArrayList<Post> posts = (ArrayList<Post>) savedInstanceState.getSerializable(KEY_POSTS_DATA);
-                if (posts != null) {
-                    // 限制恢复的数据数量，防止内存泄漏
-                    int maxCount = Math.min(posts.size(), MAX_SAVED_POSTS);
-                    for (int i = 0; i < maxCount; i++) {
-                        savedPosts.add(posts.get(i));
-                    }
-                    Log.d(TAG, "恢复保存的数据，限制后数量: " + savedPosts.size() + " (原始: " + posts.size() + ")");
+            isFirst = savedInstanceState.getBoolean(KEY_IS_FIRST, true);
+            isLoading.set(savedInstanceState.getBoolean(KEY_IS_LOADING, false));
+            hasMoreData.set(savedInstanceState.getBoolean(KEY_HAS_MORE_DATA, true));
+            currentCursor.set(savedInstanceState.getInt(KEY_CURRENT_CURSOR, 0));
+            acceptVideo = savedInstanceState.getBoolean(KEY_ACCEPT_VIDEO, true);
+            savedRecyclerViewState = savedInstanceState.getParcelable(KEY_RECYCLER_STATE);
+
+            // 恢复数据列表 - 限制数量防止内存泄漏
+            savedPosts.clear();
+            ArrayList<Post> posts = (ArrayList<Post>) savedInstanceState.getSerializable(KEY_POSTS_DATA);
+            if (posts != null) {
+                // 限制恢复的数据数量，防止内存泄漏
+                int maxCount = Math.min(posts.size(), MAX_SAVED_POSTS);
+                for (int i = 0; i < maxCount; i++) {
+                    savedPosts.add(posts.get(i));
                 }
-
-                Log.d(TAG, "状态恢复完成 - isFirst: " + isFirst + ", cursor: " + currentCursor.get() + ", posts: " + savedPosts.size());
-            } finally {
-                stateLock.unlock();
+                Log.d(TAG, "恢复保存的数据，限制后数量: " + savedPosts.size() + " (原始: " + posts.size() + ")");
             }
+
+            Log.d(TAG, "状态恢复完成 - isFirst: " + isFirst + ", cursor: " + currentCursor.get() + ", posts: " + savedPosts.size());
         }
     }
 
@@ -143,10 +163,13 @@ public class HomeFragment extends Fragment {
     }
 
     private void initViews() {
-        // 注意：LayoutManager已在XML中配置
-
         // 初始化适配器
         notecardAdapter = new NoteCardAdapter(getContext());
+        // 瀑布流的列在数据进入适配器时已分配，布局管理器直接按列和预先算好的高度摆放
+        binding.recyclerView.setLayoutManager(new WaterfallLayoutManager(NoteCardAdapter.COLUMN_COUNT, notecardAdapter));
+        // 按可见卡片数设置容量的ViewHolder池，首屏加载期间在空闲时预先填充
+        noteCardViewPool = new NoteCardViewPool(NoteCardViewPool.DEFAULT_CAPACITY);
+        binding.recyclerView.setRecycledViewPool(noteCardViewPool);
         binding.recyclerView.setAdapter(notecardAdapter);
 
         // 恢复滚动状态
@@ -158,14 +181,19 @@ public class HomeFragment extends Fragment {
         // 添加滚动监听器实现上拉加载更多 - 使用WeakReference避免内存泄漏
         binding.recyclerView.addOnScrollListener(new SafeScrollListener(this));
 
+        // 按滚动方向提前预加载图片，与卡片实际请求的尺寸一致
+        imagePreloader = new FeedImagePreloader(requireContext(), notecardAdapter, FeedImagePreloader.DEFAULT_LOOKAHEAD);
+        binding.recyclerView.addOnScrollListener(imagePreloader);
+
         Log.d(TAG, "RecyclerView setup complete, adapter: " + (notecardAdapter != null ? "not null" : "null"));
 
         // 设置点击事件 - 使用SafeItemClickListener避免内存泄漏
         Log.d(TAG, "Setting onItemClickListener on notecardAdapter");
         notecardAdapter.setOnItemClickListener(new SafeItemClickListener(this));
 
-        // 初始化ApiService
-        apiService = ApiService.getInstance();
+        // 初始化请求范围和Feed仓库 - 视图销毁时只取消本页面发起的请求
+        requestScope = RequestScope.bind(getViewLifecycleOwner(), TAG);
+        feedRepository = FeedRepository.getInstance(requireContext());
 
         // 根据保存的状态决定是否重新加载数据
         if (!savedPosts.isEmpty()) {
@@ -174,6 +202,9 @@ public class HomeFragment extends Fragment {
             notecardAdapter.setPosts(savedPosts);
             hideEmptyState();
 
+            // 分页从保存的cursor继续
+            resetLoadMoreState(currentCursor.get());
+
             // 恢复滚动状态
             if (savedRecyclerViewState != null) {
                 binding.recyclerView.getLayoutManager().onRestoreInstanceState(savedRecyclerViewState);
@@ -188,6 +219,10 @@ public class HomeFragment extends Fragment {
                 Log.d(TAG, "首次进入，开始加载数据");
                 isFirst = false;
             }
+            // 第一页请求在途时利用主线程空闲预inflate卡片，数据到达后首次滑动不再同步inflate
+            noteCardViewPool.preInflate(binding.recyclerView, notecardAdapter, NoteCardViewPool.DEFAULT_PRE_INFLATE);
+            // 先展示缓存数据，再从网络重新验证
+            loadCachedFeed();
             loadFeedData();
         }
 
@@ -199,142 +234,261 @@ public class HomeFragment extends Fragment {
 
     /**
      * 检查是否需要加载更多数据 - 线程安全
+     * 由预取控制器根据滚动速度和网络延迟决定需要同时在途的页数
      */
     private void checkLoadMore() {
-        if (isLoading.get() || !hasMoreData.get()) {
+        if (binding == null || isLoading.get() || !hasMoreData.get()) {
             return;
         }
 
-        StaggeredGridLayoutManager layoutManager = (StaggeredGridLayoutManager) binding.recyclerView.getLayoutManager();
+        RecyclerView recyclerView = binding.recyclerView;
+        WaterfallLayoutManager layoutManager = (WaterfallLayoutManager) recyclerView.getLayoutManager();
         if (layoutManager != null) {
-            int[] positions = layoutManager.findLastVisibleItemPositions(null);
-            int lastVisiblePosition = 0;
-            for (int pos : positions) {
-                if (pos > lastVisiblePosition) {
-                    lastVisiblePosition = pos;
-                }
+            int totalItemCount = layoutManager.getItemCount();
+            if (totalItemCount == 0) {
+                return;
             }
 
-            // 当滑动到最后3个item时开始加载更多
-            int totalItemCount = layoutManager.getItemCount();
-            if (totalItemCount > 0 && lastVisiblePosition >= totalItemCount - 3) {
-                Log.d(TAG, "接近底部，开始加载更多数据。当前总数: " + totalItemCount + ", 最后可见位置: " + lastVisiblePosition);
-                loadMoreFeedData();
+            int lastVisiblePosition = Math.max(0, layoutManager.findLastVisibleItemPosition());
+
+            // 估算剩余距离和一页内容的高度
+            int scrollRange = recyclerView.computeVerticalScrollRange();
+            int remainingPx = scrollRange - recyclerView.computeVerticalScrollOffset() - recyclerView.computeVerticalScrollExtent();
+            int pageHeightPx = (int) ((long) scrollRange * pageSize / totalItemCount);
+            int remainingItems = totalItemCount - 1 - lastVisiblePosition;
+
+            int pagesWanted = prefetchController.getPagesWanted(remainingItems, remainingPx, pageHeightPx);
+            while (pagesInFlight < pagesWanted) {
+                Log.d(TAG, "预取下一页。当前总数: " + totalItemCount + ", 最后可见位置: " + lastVisiblePosition
+                        + ", 剩余像素: " + remainingPx + ", 期望在途页数: " + pagesWanted);
+                if (!loadMoreFeedData()) {
+                    break;
+                }
             }
         }
     }
 
     /**
-     * 加载Feed数据 - 从API获取真实数据 - 线程安全
+     * 加载Feed第一页（主线程）
+     * 与加载更多使用同一条处理管线：过滤、去重、卡片模型构建和缩略图预加载在后台完成，主线程只替换数据
      */
     private void loadFeedData() {
-        stateLock.lock();
-        try {
-            if (isLoading.get()) {
-                Log.d(TAG, "数据正在加载中，跳过重复请求");
-                return;
-            }
+        if (isLoading.get()) {
+            Log.d(TAG, "数据正在加载中，跳过重复请求");
+            return;
+        }
 
-            // 原子性地设置加载状态
-            isLoading.set(true);
-            showLoadingState();
+        isLoading.set(true);
+        showLoadingState();
 
-            Log.d(TAG, "开始加载Feed数据，数量: " + PAGE_SIZE + ", 支持视频: true, cursor: " + currentCursor.get());
+        // 按当前网络档位决定分页大小和是否请求视频
+        NetworkQualityEstimator.NetworkTier tier = NetworkQualityEstimator.getInstance().getTier();
+        pageSize = tier.feedPageSize;
+        acceptVideo = tier.acceptVideoClip;
+        Log.d(TAG, "开始加载Feed数据，数量: " + pageSize + ", 支持视频: " + acceptVideo + ", 网络档位: " + tier);
 
-            // 调用API获取数据（第一页，cursor=0）- 使用SafeFeedCallback避免内存泄漏
-            apiService.getFeedData(PAGE_SIZE, ACCEPT_VIDEO, currentCursor.get(), new SafeFeedCallback(this, false));
-        } finally {
-            stateLock.unlock();
-        }
+        // 第一页（cursor=0）成功后由仓库写入缓存；订阅登记到视图的请求范围，视图销毁时取消
+        requestScope.add(feedRepository.getFeedPage(pageSize, acceptVideo, 0)
+                .toFlowable()
+                .compose(new FeedPageTransformer(requireContext(), Collections.emptySet()))
+                .subscribe(this::onFirstPageLoaded, this::onFirstPageFailed));
     }
 
     /**
-     * 刷新Feed数据 - 线程安全
+     * 第一页加载成功（主线程）- 替换列表数据
      */
-    private void refreshFeedData() {
-        stateLock.lock();
-        try {
-            // 清理过期的savedPosts数据，防止内存泄漏
-            cleanupSavedPostsIfNeeded();
+    private void onFirstPageLoaded(FeedPage page) {
+        isLoading.set(false);
+        hasMoreData.set(page.hasMore);
+        if (binding == null || notecardAdapter == null) {
+            return;
+        }
+        Log.d(TAG, "API调用成功: " + page);
+        prefetchController.recordPageLatency(page.latencyMs);
 
-            // 原子性地重置状态
-            hasMoreData.set(true); // 重置为有更多数据
-            currentCursor.set(0); // 重置游标到第一页
-            Log.d(TAG, "重置状态进行刷新，cursor: " + currentCursor.get());
-        } finally {
-            stateLock.unlock();
+        if (page.rawCount > 0) {
+            notecardAdapter.setCards(page.cards);
+            hideEmptyState();
+            Log.d(TAG, "过滤后数据已加载到瀑布流适配器，原始数据: " + page.rawCount + "，过滤后: " + page.posts.size());
+
+            // 首屏布局完成后预缓存可见视频的头部
+            binding.recyclerView.post(this::precacheVisibleVideos);
+        } else {
+            showEmptyState();
+            Log.d(TAG, "没有数据，显示空状态");
         }
 
-        loadFeedData();
+        // 服务端cursor按原始返回条数推进，而非过滤后的条数；后续分页从第一页之后开始
+        updateCursor(0, page.rawCount);
+        resetLoadMoreState(currentCursor.get());
+        hideLoadingState();
     }
 
     /**
-     * 加载更多Feed数据 - 线程安全
+     * 第一页加载失败（主线程）
      */
-    private void loadMoreFeedData() {
-        stateLock.lock();
-        try {
-            if (isLoading.get() || !hasMoreData.get()) {
-                Log.d(TAG, "正在加载或没有更多数据，跳过加载更多。isLoading: " + isLoading.get() + ", hasMoreData: " + hasMoreData.get());
-                return;
-            }
-
-            // 原子性地设置加载状态
-            isLoading.set(true);
-            Log.d(TAG, "开始加载更多Feed数据，cursor: " + currentCursor.get() + ", 数量: " + PAGE_SIZE);
+    private void onFirstPageFailed(Throwable error) {
+        isLoading.set(false);
+        if (binding == null || notecardAdapter == null) {
+            return;
+        }
+        String errorMessage = error.getMessage();
+        Log.e(TAG, "API调用失败: " + errorMessage);
 
-            // 调用API获取更多数据 - 使用SafeFeedCallback避免内存泄漏
-            apiService.getFeedData(PAGE_SIZE, ACCEPT_VIDEO, currentCursor.get(), new SafeFeedCallback(this, true));
-        } finally {
-            stateLock.unlock();
+        if (notecardAdapter.getItemCount() > 0) {
+            // 已展示缓存数据，保留缓存内容不显示错误页
+            Log.w(TAG, "网络刷新失败，继续展示缓存数据: " + errorMessage);
+        } else {
+            // 显示错误信息，缓存中有数据时回退展示缓存（会隐藏错误页）
+            showErrorState(errorMessage);
+            loadCachedFeed();
         }
+        hideLoadingState();
     }
 
     /**
-     * 过滤帖子，只显示图片和视频类型，过滤掉纯音频（如MP3）
+     * 读取本地缓存的Feed并立即展示（网络数据返回后会被替换）
+     * 缓存页经过与网络分页相同的处理管线，主线程只接收可直接渲染的卡片
      */
-    private List<Post> filterPosts(List<Post> posts) {
-        if (posts == null || posts.isEmpty()) {
-            return posts;
+    private void loadCachedFeed() {
+        requestScope.add(feedRepository.getCachedFeedPage(MAX_SAVED_POSTS)
+                .toFlowable()
+                .compose(new FeedPageTransformer(requireContext(), Collections.emptySet()))
+                .subscribe(this::onCachedPageLoaded, error -> Log.e(TAG, "读取缓存Feed失败", error)));
+    }
+
+    /**
+     * 缓存页处理完成（主线程）
+     */
+    private void onCachedPageLoaded(FeedPage page) {
+        // 网络数据已先到达时不再用缓存覆盖
+        if (binding == null || notecardAdapter == null || page.posts.isEmpty()
+                || notecardAdapter.getItemCount() > 0) {
+            return;
         }
+        notecardAdapter.setCards(page.cards);
+        hideEmptyState();
+        Log.d(TAG, "展示缓存Feed数据: " + page.cards.size() + " 条，等待网络重新验证");
+    }
 
-        List<Post> filteredPosts = new ArrayList<>();
+    /**
+     * 刷新Feed数据（主线程）
+     */
+    private void refreshFeedData() {
+        // 清理过期的savedPosts数据，防止内存泄漏
+        cleanupSavedPostsIfNeeded();
 
-        for (Post post : posts) {
-            if (shouldShowPost(post)) {
-                filteredPosts.add(post);
-            }
+        hasMoreData.set(true); // 重置为有更多数据
+        currentCursor.set(0); // 重置游标到第一页
+        Log.d(TAG, "重置状态进行刷新，cursor: " + currentCursor.get());
+
+        // 丢弃旧列表的分页预取和图片预加载
+        resetLoadMoreState(0);
+        prefetchController.reset();
+        if (imagePreloader != null) {
+            imagePreloader.cancelAll();
         }
 
-        return filteredPosts;
+        loadFeedData();
     }
 
     /**
-     * 判断是否应该显示该帖子
+     * 加载更多Feed数据
+     * 只在主线程调用；每次调用向分页管线发出下一页的cursor，可与之前未返回的分页同时在途
+     * @return 是否发起了新的请求
      */
-    private boolean shouldShowPost(Post post) {
-        // 如果帖子没有clips，不显示
-        if (post.clips == null || post.clips.isEmpty()) {
-            Log.d(TAG, "过滤掉无clips的帖子: " + post.title);
+    private boolean loadMoreFeedData() {
+        if (isLoading.get() || !hasMoreData.get()) {
+            Log.d(TAG, "正在加载或没有更多数据，跳过加载更多。isLoading: " + isLoading.get() + ", hasMoreData: " + hasMoreData.get());
             return false;
         }
 
-        // 检查是否有图片或视频类型的clip
-        boolean hasImageOrVideo = false;
-        for (Post.Clip clip : post.clips) {
-            // type 0: 图片, type 1: 视频
-            if (clip.type == 0 || clip.type == 1) {
-                hasImageOrVideo = true;
-                break;
-            }
+        if (pageCursors == null) {
+            startPagePipeline();
         }
 
-        if (!hasImageOrVideo) {
-            Log.d(TAG, "过滤掉纯音频帖子的clips，帖子标题: " + post.title);
-            return false;
+        int cursor = nextRequestCursor;
+        nextRequestCursor += pageSize;
+        pagesInFlight++;
+        Log.d(TAG, "开始加载更多Feed数据，cursor: " + cursor + ", 数量: " + pageSize + ", 在途页数: " + pagesInFlight);
+        pageCursors.onNext(cursor);
+        return true;
+    }
+
+    /**
+     * 创建分页管线（主线程）
+     * 请求按cursor顺序返回，过滤、去重、布局预计算和缩略图预加载都在后台完成，主线程只追加结果
+     * 订阅持有fragment引用，在resetLoadMoreState中释放
+     */
+    private void startPagePipeline() {
+        // 每条管线按创建时的网络档位确定每页数量，档位变化在下次重建管线时生效
+        pageSize = NetworkQualityEstimator.getInstance().getTier().feedPageSize;
+        pageCursors = PublishProcessor.create();
+        pageSubscription = feedRepository
+                .getFeedPages(pageCursors.onBackpressureBuffer(), pageSize, acceptVideo, MAX_PAGES_IN_FLIGHT)
+                .compose(new FeedPageTransformer(requireContext(), notecardAdapter.getPostIdsSnapshot()))
+                .subscribe(this::onMorePageLoaded, this::onMorePageFailed);
+    }
+
+    /**
+     * 分页加载成功（主线程）- 管线已保证按cursor顺序到达
+     */
+    private void onMorePageLoaded(FeedPage page) {
+        if (binding == null || notecardAdapter == null) {
+            return;
         }
 
-        return true;
+        pagesInFlight--;
+        prefetchController.recordPageLatency(page.latencyMs);
+
+        if (!page.posts.isEmpty()) {
+            int addedCount = page.cards != null
+                    ? notecardAdapter.addCards(page.cards).size()
+                    : notecardAdapter.addPosts(page.posts).size();
+            Log.d(TAG, "加载更多数据已添加，原始数据: " + page.rawCount + "，处理后: " + page.posts.size() + "，实际添加: " + addedCount);
+        } else {
+            Log.d(TAG, "加载更多没有新数据");
+        }
+
+        // 服务端cursor按原始返回条数推进，与过滤、去重后的展示条数无关
+        updateCursor(page.cursor, page.rawCount);
+
+        if (!page.hasMore || page.rawCount == 0) {
+            // 已到末尾，后面提前发起的分页都不再需要
+            hasMoreData.set(false);
+            resetLoadMoreState(currentCursor.get());
+            return;
+        }
+
+        if (page.rawCount < pageSize) {
+            // 返回不足一页，已提前发起的后续分页cursor错位，从实际位置重新请求
+            resetLoadMoreState(currentCursor.get());
+        }
+
+        // 数据追加后视情况继续预取
+        checkLoadMore();
+    }
+
+    /**
+     * 分页加载失败（主线程）- 管线已终止，下次滚动时从最后追加的位置重新请求
+     */
+    private void onMorePageFailed(Throwable error) {
+        Log.e(TAG, "加载更多失败: " + error.getMessage() + ", cursor: " + currentCursor.get());
+        resetLoadMoreState(currentCursor.get());
+    }
+
+    /**
+     * 释放分页管线，取消所有在途分页（主线程）
+     * @param cursor 之后分页请求的起始cursor
+     */
+    private void resetLoadMoreState(int cursor) {
+        if (pageSubscription != null) {
+            pageSubscription.dispose();
+            pageSubscription = null;
+        }
+        pageCursors = null;
+        pagesInFlight = 0;
+        nextRequestCursor = cursor;
     }
 
     /**
@@ -387,50 +541,32 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * 预加载视频缩略图以提升性能
+     * 预缓存可见卡片及下方VIDEO_PRECACHE_LOOKAHEAD个卡片中的视频头部，点开详情页时直接从本地起播
+     * 数量由VideoPrecacher按网络档位截断
      */
-    private void preloadVideoThumbnails(List<Post> posts) {
-        if (posts == null || posts.isEmpty() || getContext() == null) {
+    private void precacheVisibleVideos() {
+        if (binding == null || notecardAdapter == null || getContext() == null
+                || !(binding.recyclerView.getLayoutManager() instanceof WaterfallLayoutManager)) {
+            return;
+        }
+        WaterfallLayoutManager layoutManager = (WaterfallLayoutManager) binding.recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
             return;
         }
 
-        Log.d(TAG, "开始预加载视频缩略图，帖子数量: " + posts.size());
-
-        // 在后台线程中预加载，避免阻塞UI
-        new Thread(() -> {
-            int preloadCount = 0;
-            int maxPreload = Math.min(posts.size(), 6); // 限制预加载数量，避免过多网络请求
-
-            for (int i = 0; i < maxPreload; i++) {
-                Post post = posts.get(i);
-                if (post.clips != null && !post.clips.isEmpty()) {
-                    for (Post.Clip clip : post.clips) {
-                        if (clip.type == 1 && clip.url != null && !clip.url.isEmpty()) {
-                            // 找到视频clip
-                            try {
-                                // 检查是否已有缓存
-                                if (VideoThumbnailUtil.getCachedThumbnail(getContext(), clip.url) == null) {
-                                    // 没有缓存才预加载
-                                    VideoThumbnailUtil.preloadThumbnail(getContext(), clip.url, null);
-                                    preloadCount++;
-                                    Log.d(TAG, "预加载视频缩略图: " + clip.url);
-                                } else {
-                                    Log.d(TAG, "视频缩略图已存在缓存，跳过: " + clip.url);
-                                }
-                                break; // 每个帖子只预加载第一个视频
-                            } catch (Exception e) {
-                                Log.w(TAG, "预加载视频缩略图失败: " + clip.url, e);
-                            }
-                        }
-                    }
-                }
+        List<String> urls = new ArrayList<>();
+        int end = Math.min(notecardAdapter.getItemCount() - 1, last + VIDEO_PRECACHE_LOOKAHEAD);
+        for (int position = first; position <= end; position++) {
+            CardModel card = notecardAdapter.getCard(position);
+            if (card != null && card.coverType == CardModel.COVER_VIDEO) {
+                urls.add(card.coverUrl);
             }
-
-            Log.d(TAG, "视频缩略图预加载完成，预加载数量: " + preloadCount);
-        }).start();
+        }
+        VideoPrecacher.getInstance(requireContext()).update(TAG, urls);
     }
 
-
     @Override
     public void onDestroyView() {
         super.onDestroyView();
@@ -442,14 +578,35 @@ public class HomeFragment extends Fragment {
             Log.d(TAG, "保存RecyclerView滚动状态");
         }
 
+        // 取消本页面登记的视频头部预缓存
+        VideoPrecacher.getInstance(requireContext()).clear(TAG);
+
+        // 取消未完成的图片预加载
+        if (imagePreloader != null) {
+            imagePreloader.cancelAll();
+            imagePreloader = null;
+        }
+
+        // 视图在惯性滑动中销毁时恢复图片请求和登记的后台工作
+        ScrollWorkCoordinator.getInstance().onScrollStateChanged(RecyclerView.SCROLL_STATE_IDLE,
+                Glide.with(binding.recyclerView.getContext()));
+
+        // 停止空闲预inflate并输出ViewHolder池命中统计
+        if (noteCardViewPool != null) {
+            noteCardViewPool.cancelPreInflate();
+            noteCardViewPool.logStats();
+            noteCardViewPool = null;
+        }
+
         // 清理ViewBinding以防止内存泄漏
         binding = null;
 
 
-        // 取消网络请求
-        if (apiService != null) {
-            apiService.cancelAllRequests();
-        }
+        // 取消本页面的网络请求（requestScope随视图生命周期自动取消，合并到同一请求的其它调用方不受影响）
+        resetLoadMoreState(currentCursor.get());
+        prefetchController.reset();
+        // 被取消的第一页请求不会再回调，重置加载状态以便重建视图后重新加载
+        isLoading.set(false);
     }
 
     @Override
@@ -479,16 +636,12 @@ public class HomeFragment extends Fragment {
         super.onSaveInstanceState(outState);
         Log.d(TAG, "保存Fragment状态");
 
-        // 线程安全地保存状态变量
-        stateLock.lock();
-        try {
-            outState.putBoolean(KEY_IS_FIRST, isFirst);
-            outState.putBoolean(KEY_IS_LOADING, isLoading.get());
-            outState.putBoolean(KEY_HAS_MORE_DATA, hasMoreData.get());
-            outState.putInt(KEY_CURRENT_CURSOR, currentCursor.get());
-        } finally {
-            stateLock.unlock();
-        }
+        // 保存状态变量
+        outState.putBoolean(KEY_IS_FIRST, isFirst);
+        outState.putBoolean(KEY_IS_LOADING, isLoading.get());
+        outState.putBoolean(KEY_HAS_MORE_DATA, hasMoreData.get());
+        outState.putInt(KEY_CURRENT_CURSOR, currentCursor.get());
+        outState.putBoolean(KEY_ACCEPT_VIDEO, acceptVideo);
 
         // 保存RecyclerView状态
         if (binding.recyclerView != null && binding.recyclerView.getLayoutManager() != null) {
@@ -511,36 +664,16 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * 刷新所有可见item的点赞状态（与PostDetailActivity同步）
+     * 同步点赞状态（与PostDetailActivity同步）
+     * 只有状态实际变化的卡片会收到点赞payload，只更新点赞图标和数量
      */
     private void refreshVisibleLikeStatus() {
-        if (notecardAdapter == null || binding.recyclerView == null) {
+        if (notecardAdapter == null) {
             return;
         }
 
-        // 通知适配器刷新所有可见item
-        StaggeredGridLayoutManager layoutManager =
-            (StaggeredGridLayoutManager) binding.recyclerView.getLayoutManager();
-
-        if (layoutManager != null) {
-            int[] firstVisiblePositions = layoutManager.findFirstVisibleItemPositions(null);
-            int[] lastVisiblePositions = layoutManager.findLastVisibleItemPositions(null);
-
-            if (firstVisiblePositions != null && lastVisiblePositions != null) {
-                for (int i = 0; i < firstVisiblePositions.length; i++) {
-                    int firstPos = firstVisiblePositions[i];
-                    int lastPos = lastVisiblePositions[i];
-
-                    for (int pos = firstPos; pos <= lastPos; pos++) {
-                        if (pos < notecardAdapter.getItemCount()) {
-                            notecardAdapter.notifyItemChanged(pos);
-                        }
-                    }
-                }
-            }
-        }
-
-        Log.d(TAG, "已刷新所有可见item的点赞状态");
+        int changedCount = notecardAdapter.refreshLikeStates();
+        Log.d(TAG, "已同步点赞状态，变化数量: " + changedCount);
     }
 
     @Override
@@ -572,9 +705,16 @@ public class HomeFragment extends Fragment {
                 return;
             }
 
+            // 惯性滑动期间暂停卡片图片加载和缩略图生成等后台工作，结束后按优先级恢复
+            ScrollWorkCoordinator.getInstance().onScrollStateChanged(newState, Glide.with(recyclerView.getContext()));
+
             // 当滚动停止时检查是否需要加载更多
-            if (newState == RecyclerView.SCROLL_STATE_IDLE && !fragment.isLoading.get() && fragment.hasMoreData.get()) {
-                fragment.checkLoadMore();
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                fragment.prefetchController.onScrollIdle();
+                fragment.precacheVisibleVideos();
+                if (!fragment.isLoading.get() && fragment.hasMoreData.get()) {
+                    fragment.checkLoadMore();
+                }
             }
         }
 
@@ -586,110 +726,14 @@ public class HomeFragment extends Fragment {
                 return;
             }
 
-            // 只有在向下滚动时才检查
+            // 记录滚动速度，只有在向下滚动时才检查
+            fragment.prefetchController.onScrolled(dy);
             if (dy > 0 && !fragment.isLoading.get() && fragment.hasMoreData.get()) {
                 fragment.checkLoadMore();
             }
         }
     }
 
-    /**
-     * 安全的Feed回调 - 使用WeakReference避免内存泄漏
-     */
-    private static class SafeFeedCallback implements ApiService.FeedCallback {
-        private final WeakReference<HomeFragment> fragmentRef;
-        private final boolean isLoadMore;
-
-        SafeFeedCallback(HomeFragment fragment, boolean isLoadMore) {
-            this.fragmentRef = new WeakReference<>(fragment);
-            this.isLoadMore = isLoadMore;
-        }
-
-        @Override
-        public void onSuccess(List<Post> posts, boolean hasMore) {
-            HomeFragment fragment = fragmentRef.get();
-            if (fragment == null || fragment.isDetached() || fragment.getContext() == null) {
-                return;
-            }
-
-            Log.d(fragment.TAG, "API调用成功，获取到 " + (posts != null ? posts.size() : 0) + " 条数据");
-
-            // 切换到主线程更新UI - 线程安全的状态更新
-            fragment.requireActivity().runOnUiThread(() -> {
-                try {
-                    // 原子性地更新所有状态
-                    fragment.updateLoadingStateAtomic(false, hasMore);
-
-                    if (fragment.notecardAdapter != null) {
-                        if (posts != null && !posts.isEmpty()) {
-                            // 过滤掉只有音频类型（如MP3）的帖子，只保留图片和视频
-                            List<Post> filteredPosts = fragment.filterPosts(posts);
-
-                            if (isLoadMore) {
-                                fragment.notecardAdapter.addPosts(filteredPosts);
-                                Log.d(fragment.TAG, "加载更多过滤后数据已添加，原始数据: " + posts.size() + "，过滤后: " + filteredPosts.size());
-                            } else {
-                                fragment.notecardAdapter.setPosts(filteredPosts);
-                                fragment.hideEmptyState();
-                                Log.d(fragment.TAG, "过滤后数据已加载到瀑布流适配器，原始数据: " + posts.size() + "，过滤后: " + filteredPosts.size());
-                            }
-
-                            // 预加载视频缩略图以提升性能
-                            fragment.preloadVideoThumbnails(filteredPosts);
-
-                            // 原子性地更新cursor
-                            fragment.updateCursorAtomic(filteredPosts.size());
-                        } else {
-                            if (!isLoadMore) {
-                                fragment.showEmptyState();
-                                Log.d(fragment.TAG, "没有数据，显示空状态");
-                            } else {
-                                Log.d(fragment.TAG, "加载更多没有新数据");
-                            }
-                        }
-                    }
-
-                    // 隐藏加载状态
-                    fragment.hideLoadingState();
-                } catch (Exception e) {
-                    Log.e(fragment.TAG, "更新UI时发生异常", e);
-                    // 发生异常时重置加载状态
-                    fragment.isLoading.set(false);
-                }
-            });
-        }
-
-        @Override
-        public void onError(String errorMessage) {
-            HomeFragment fragment = fragmentRef.get();
-            if (fragment == null || fragment.isDetached() || fragment.getContext() == null) {
-                return;
-            }
-
-            Log.e(fragment.TAG, "API调用失败: " + errorMessage);
-
-            // 切换到主线程更新UI - 线程安全的状态更新
-            fragment.requireActivity().runOnUiThread(() -> {
-                try {
-                    // 原子性地重置加载状态
-                    fragment.isLoading.set(false);
-
-                    if (!isLoadMore) {
-                        // 显示错误信息
-                        fragment.showErrorState(errorMessage);
-                    } else {
-                        Log.e(fragment.TAG, "加载更多失败: " + errorMessage);
-                    }
-
-                    // 隐藏加载状态
-                    fragment.hideLoadingState();
-                } catch (Exception e) {
-                    Log.e(fragment.TAG, "处理错误回调时发生异常", e);
-                }
-            });
-        }
-    }
-
     /**
      * 安全的点击监听器 - 使用WeakReference避免内存泄漏
      */
@@ -724,13 +768,10 @@ public class HomeFragment extends Fragment {
                 }
 
                 // 保存当前滚动位置
-                StaggeredGridLayoutManager layoutManager = (StaggeredGridLayoutManager) fragment.binding.recyclerView.getLayoutManager();
-                if (layoutManager != null) {
-                    int[] positions = layoutManager.findFirstVisibleItemPositions(null);
-                    if (positions != null && positions.length > 0) {
-                        fragment.savedFirstVisiblePosition = positions[0];
-                        Log.d(fragment.TAG, "保存当前位置: " + fragment.savedFirstVisiblePosition);
-                    }
+                WaterfallLayoutManager layoutManager = (WaterfallLayoutManager) fragment.binding.recyclerView.getLayoutManager();
+                if (layoutManager != null && layoutManager.findFirstVisibleItemPosition() != RecyclerView.NO_POSITION) {
+                    fragment.savedFirstVisiblePosition = layoutManager.findFirstVisibleItemPosition();
+                    Log.d(fragment.TAG, "保存当前位置: " + fragment.savedFirstVisiblePosition);
                 }
 
                 // 创建共享元素转场动画
@@ -783,64 +824,14 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * 原子性地更新加载状态 - 线程安全
-     */
-    private void updateLoadingStateAtomic(boolean loading, boolean hasMore) {
-        stateLock.lock();
-        try {
-            isLoading.set(loading);
-            hasMoreData.set(hasMore);
-            Log.d(TAG, "原子性更新状态 - isLoading: " + loading + ", hasMoreData: " + hasMore + ", cursor: " + currentCursor.get());
-        } finally {
-            stateLock.unlock();
-        }
-    }
-
-    /**
-     * 原子性地更新cursor - 线程安全
+     * 更新cursor（主线程）
+     * @param requestCursor 该页请求时使用的cursor
+     * @param rawCount 服务端返回的原始条数（过滤、去重之前）
      */
-    private void updateCursorAtomic(int delta) {
-        stateLock.lock();
-        try {
-            int newCursor = currentCursor.addAndGet(delta);
-            Log.d(TAG, "原子性更新cursor - delta: " + delta + ", newCursor: " + newCursor);
-        } finally {
-            stateLock.unlock();
-        }
-    }
-
-    /**
-     * 获取当前状态快照 - 线程安全
-     */
-    private StateSnapshot getStateSnapshot() {
-        stateLock.lock();
-        try {
-            return new StateSnapshot(
-                isLoading.get(),
-                hasMoreData.get(),
-                currentCursor.get(),
-                new ArrayList<>(savedPosts)
-            );
-        } finally {
-            stateLock.unlock();
-        }
-    }
-
-    /**
-     * 状态快照类 - 用于线程安全地传递状态信息
-     */
-    private static class StateSnapshot {
-        final boolean isLoading;
-        final boolean hasMoreData;
-        final int cursor;
-        final List<Post> posts;
-
-        StateSnapshot(boolean isLoading, boolean hasMoreData, int cursor, List<Post> posts) {
-            this.isLoading = isLoading;
-            this.hasMoreData = hasMoreData;
-            this.cursor = cursor;
-            this.posts = posts;
-        }
+    private void updateCursor(int requestCursor, int rawCount) {
+        currentCursor.set(requestCursor + rawCount);
+        Log.d(TAG, "更新cursor - requestCursor: " + requestCursor + ", rawCount: " + rawCount
+                + ", newCursor: " + currentCursor.get() + ", 展示条数: " + (notecardAdapter != null ? notecardAdapter.getItemCount() : 0));
     }
 
     @Override
@@ -887,6 +878,7 @@ public class HomeFragment extends Fragment {
         currentCursor.set(0);
         hasMoreData.set(true);
         isLoading.set(false);
+        resetLoadMoreState(0);
 
         Log.w(TAG, "紧急内存清理完成");
     }
@@ -5,6 +5,8 @@ import android.content.SharedPreferences;
 import android.util.Log;
 
 import com.bumptech.glide.Glide;
+import com.limtide.ugclite.network.HttpClientProvider;
+import com.limtide.ugclite.network.VideoCacheProvider;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
@@ -16,7 +18,7 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * 统一缓存管理器
- * 负责管理应用中的所有缓存：音乐文件、视频缩略图、图片缓存等
+ * 负责管理应用中的所有缓存：音乐文件、视频缩略图、图片缓存、视频缓存等
  */
 public class CacheManager {
 
@@ -35,6 +37,7 @@ public class CacheManager {
     private static final long MAX_MUSIC_CACHE_SIZE = 50 * 1024 * 1024; // 改为50MB音乐缓存
     private static final long MAX_THUMBNAIL_CACHE_SIZE = 50 * 1024 * 1024; // 改为50MB缩略图缓存
     private static final long MAX_FILE_AGE_DAYS = 3; // 改为文件最多保留3天
+    public static final long MAX_VIDEO_CACHE_SIZE = 100 * 1024 * 1024; // 视频缓存100MB（SimpleCache按LRU淘汰）
 
     // 线程池用于异步清理
     private final ExecutorService cleanupExecutor = Executors.newSingleThreadExecutor();
@@ -415,7 +418,11 @@ public class CacheManager {
                 stats.tempCacheSize = getDirectorySize(tempDir);
                 stats.tempFileCount = tempDir.exists() ? tempDir.listFiles() != null ? tempDir.listFiles().length : 0 : 0;
 
-                stats.totalCacheSize = stats.musicCacheSize + stats.thumbnailCacheSize + stats.tempCacheSize;
+                // 视频缓存统计（SimpleCache自行按LRU控制大小）
+                stats.videoCacheSize = VideoCacheProvider.getInstance(context).getCacheSize();
+
+                stats.totalCacheSize = stats.musicCacheSize + stats.thumbnailCacheSize + stats.tempCacheSize
+                        + stats.videoCacheSize;
 
                 if (callback != null && context instanceof android.app.Activity) {
                     ((android.app.Activity) context).runOnUiThread(() -> callback.onStatsReady(stats));
@@ -454,6 +461,12 @@ public class CacheManager {
                     Log.d(TAG, "强制清理缩略图缓存，删除了 " + deletedCount + " 个文件");
                 }
 
+                // 清理HTTP磁盘缓存
+                HttpClientProvider.getInstance().evictCache();
+
+                // 清理视频缓存
+                VideoCacheProvider.getInstance(context).clear();
+
                 // 清理Glide缓存
                 if (context instanceof android.app.Activity) {
                     ((android.app.Activity) context).runOnUiThread(() -> {
@@ -547,6 +560,7 @@ public class CacheManager {
         public int thumbnailFileCount;
         public long tempCacheSize;
         public int tempFileCount;
+        public long videoCacheSize;
         public long totalCacheSize;
 
         @Override
@@ -558,6 +572,7 @@ public class CacheManager {
                     ", thumbnailFileCount=" + thumbnailFileCount +
                     ", tempCacheSize=" + formatSize(tempCacheSize) +
                     ", tempFileCount=" + tempFileCount +
+                    ", videoCacheSize=" + formatSize(videoCacheSize) +
                     ", totalCacheSize=" + formatSize(totalCacheSize) +
                     '}';
         }
@@ -0,0 +1,140 @@
+package com.limtide.ugclite.utils;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import com.limtide.ugclite.R;
+import com.limtide.ugclite.data.model.CardModel;
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 卡片渲染模型构建 - 把Post转换成可直接绑定的CardModel
+ * 应在后台线程调用（Feed回调线程、分页管线computation线程），主线程只在恢复保存数据时兜底调用
+ *
+ * 线程安全：无共享可变状态，LikeManager本身线程安全
+ */
+public final class CardModelFactory {
+
+    private CardModelFactory() {
+    }
+
+    /**
+     * 批量构建，跳过null帖子
+     */
+    public static List<CardModel> build(Context context, List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        float density = context.getResources().getDisplayMetrics().density;
+        TitleMeasurer titleMeasurer = new TitleMeasurer(context);
+        LikeManager likeManager = LikeManager.getInstance(context);
+        List<CardModel> cards = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (post != null) {
+                cards.add(build(post, density, titleMeasurer, likeManager));
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * 构建单个卡片模型
+     * @param density 屏幕密度，用于把封面高度换算成px
+     * @param titleMeasurer 标题排版，同一批卡片共用
+     */
+    public static CardModel build(Post post, float density, TitleMeasurer titleMeasurer, LikeManager likeManager) {
+        // 封面 - 第一个图片或视频clip，高度限制在3:4到4:3之间
+        Post.Clip cover = CoverLayoutUtil.findCoverClip(post);
+        float ratio = CoverLayoutUtil.computeCoverAspectRatio(cover);
+        int coverType = cover != null ? cover.type : CardModel.COVER_NONE;
+        String coverUrl = cover != null && !TextUtils.isEmpty(cover.url) ? cover.url : null;
+        if (coverUrl == null) {
+            coverType = CardModel.COVER_NONE;
+        }
+
+        String displayText = displayText(post);
+
+        // 标题按卡片宽度排版，得到行数和高度，用于估算整张卡片高度
+        StaticLayout titleLayout = titleMeasurer.layout(displayText);
+        int titleLineCount = Math.max(1, titleLayout.getLineCount());
+        int coverHeightPx = CoverLayoutUtil.computeCoverHeightPx(ratio, density);
+        int estimatedHeightPx = CoverLayoutUtil.computeCardHeightPx(coverHeightPx, titleLayout.getHeight(), density);
+        // 按卡片标题TextView的排版参数预计算，绑定时直接使用
+        TextLayoutCache.getInstance().precomputeTitle(post.postId, displayText);
+
+        // 作者
+        String authorName = "";
+        String avatarUrl = null;
+        if (post.author != null) {
+            authorName = post.author.nickname != null ? post.author.nickname : "";
+            avatarUrl = !TextUtils.isEmpty(post.author.avatarUrl) ? post.author.avatarUrl : null;
+        }
+
+        boolean liked = likeManager.isPostLiked(post.postId);
+        int likeCount = likeManager.getLikeCount(post.postId);
+
+        return new CardModel(post, coverUrl, coverType, ratio,
+                CoverLayoutUtil.computeCoverWidthPx(density), coverHeightPx,
+                displayText, titleLineCount, estimatedHeightPx, authorName, avatarUrl, liked, likeCount);
+    }
+
+    /**
+     * 卡片标题 - 优先展示标题，没有标题时展示正文，已trim
+     */
+    public static String displayText(Post post) {
+        if (post.title != null && !post.title.trim().isEmpty()) {
+            return post.title.trim();
+        }
+        if (post.content != null && !post.content.trim().isEmpty()) {
+            return post.content.trim();
+        }
+        return "";
+    }
+
+    /**
+     * 按VideoTitleStyle排版卡片标题（最多2行，末尾省略）
+     * 非线程安全：TextPaint不能跨线程共享，每批卡片创建一个实例
+     */
+    public static final class TitleMeasurer {
+        private static final int MAX_LINES = 2;
+        // obtainStyledAttributes要求属性按id升序
+        private static final int[] TITLE_ATTRS = {android.R.attr.textSize, android.R.attr.lineSpacingExtra};
+
+        private final TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        private final int widthPx;
+        private final float lineSpacingExtra;
+
+        public TitleMeasurer(Context context) {
+            float density = context.getResources().getDisplayMetrics().density;
+            TypedArray a = context.obtainStyledAttributes(R.style.VideoTitleStyle, TITLE_ATTRS);
+            try {
+                paint.setTextSize(a.getDimension(0, 14f * density));
+                lineSpacingExtra = a.getDimension(1, 2f * density);
+            } finally {
+                a.recycle();
+            }
+            paint.setTypeface(Typeface.create("sans-serif-medium", Typeface.NORMAL));
+            widthPx = (int) (CoverLayoutUtil.TITLE_WIDTH_DP * density + 0.5f);
+        }
+
+        StaticLayout layout(CharSequence text) {
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, widthPx)
+                    .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+                    .setLineSpacing(lineSpacingExtra, 1f)
+                    .setIncludePad(true)
+                    .setEllipsize(TextUtils.TruncateAt.END)
+                    .setMaxLines(MAX_LINES)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.limtide.ugclite.utils;
+
+import com.limtide.ugclite.data.model.Post;
+
+/**
+ * 瀑布流卡片封面布局计算
+ * 纯计算、无Android依赖，可在后台线程提前算好，绑定时直接使用
+ */
+public final class CoverLayoutUtil {
+
+    public static final float MIN_ASPECT_RATIO = 0.75f;     // 3:4
+    public static final float MAX_ASPECT_RATIO = 1.333f;    // 4:3
+    public static final float DEFAULT_ASPECT_RATIO = 0.75f; // 没有尺寸信息时使用3:4
+    public static final float COVER_WIDTH_DP = 189f;        // 卡片封面固定宽度
+    public static final float TITLE_WIDTH_DP = 173f;        // 标题宽度（封面宽度减去左右内边距）
+    // 卡片中除封面和标题外的固定高度：上下外边距2dp*2 + 内容区上下内边距8dp*2 + 用户信息行20dp及其上边距6dp
+    public static final float CARD_CHROME_DP = 2f * 2 + 8f * 2 + 20f + 6f;
+
+    private CoverLayoutUtil() {
+    }
+
+    /**
+     * 查找作为封面的clip - 第一个图片(type=0)或视频(type=1)类型的clip
+     * @return 没有可用clip时返回null
+     */
+    public static Post.Clip findCoverClip(Post post) {
+        if (post == null || post.clips == null) {
+            return null;
+        }
+        for (Post.Clip clip : post.clips) {
+            if (clip != null && (clip.type == 0 || clip.type == 1)) {
+                return clip;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 计算封面宽高比 - 限制在3:4到4:3之间，没有尺寸信息时使用3:4
+     */
+    public static float computeCoverAspectRatio(Post.Clip clip) {
+        if (clip == null || clip.width <= 0 || clip.height <= 0) {
+            return DEFAULT_ASPECT_RATIO;
+        }
+        float ratio = (float) clip.width / clip.height;
+        if (ratio < MIN_ASPECT_RATIO) {
+            return MIN_ASPECT_RATIO;
+        }
+        if (ratio > MAX_ASPECT_RATIO) {
+            return MAX_ASPECT_RATIO;
+        }
+        return ratio;
+    }
+
+    /**
+     * 按卡片固定宽度和宽高比计算封面高度（px）
+     * @param density 屏幕密度，DisplayMetrics.density
+     */
+    public static int computeCoverHeightPx(float aspectRatio, float density) {
+        return (int) (COVER_WIDTH_DP / aspectRatio * density + 0.5f);
+    }
+
+    /**
+     * 估算整张卡片高度（px，含外边距）
+     * @param titleHeightPx 标题排版后的高度
+     */
+    public static int computeCardHeightPx(int coverHeightPx, int titleHeightPx, float density) {
+        return coverHeightPx + titleHeightPx + (int) (CARD_CHROME_DP * density + 0.5f);
+    }
+
+    /**
+     * 卡片封面宽度（px）
+     * @param density 屏幕密度，DisplayMetrics.density
+     */
+    public static int computeCoverWidthPx(float density) {
+        return (int) (COVER_WIDTH_DP * density + 0.5f);
+    }
+}
@@ -0,0 +1,77 @@
+package com.limtide.ugclite.utils;
+
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.request.RequestOptions;
+import com.limtide.ugclite.network.NetworkQualityEstimator;
+
+/**
+ * Feed卡片的Glide请求选项
+ * - 封面按卡片实际尺寸（列宽 x 限制后的宽高比高度）解码，弱网下再按档位限制最大边长
+ * - 封面优先RGB_565解码（带透明通道的图片Glide会自动回退到ARGB_8888）
+ * - 所有Feed请求带FEED_SURFACE选项：只影响内存缓存key，不影响磁盘缓存key，
+ *   详情页不会复用Feed的小尺寸Bitmap，但仍共享已下载的原始数据
+ * - 低清预览（COVER_THUMBNAIL）只从缓存解码：Feed没有单独的低清地址，预览和封面是同一个URL，
+ *   Glide不会在不同尺寸的请求间共享下载，允许预览走网络会让首次加载把同一张图下载两次，弱网下反而更慢。
+ *   原始数据已在磁盘缓存中时（FeedImagePreloader预加载过、或内存缓存被回收后重新绑定），
+ *   预览先按1/4尺寸快速解码显示，再被完整尺寸的结果替换
+ *
+ * 线程安全：RequestOptions均为autoClone，修改时返回副本，可跨线程共享
+ */
+public final class FeedImageOptions {
+
+    /**
+     * 标记Feed列表中的请求，仅参与内存缓存key
+     */
+    public static final Option<Boolean> FEED_SURFACE =
+            Option.memory("com.limtide.ugclite.utils.FeedImageOptions.FeedSurface", false);
+
+    public static final float THUMBNAIL_SIZE_MULTIPLIER = 0.25f; // 低清预览相对于封面尺寸的比例
+
+    // 封面基础选项：居中裁剪、RGB_565、Feed内存缓存标记
+    private static final RequestOptions COVER_BASE = new RequestOptions()
+            .centerCrop()
+            .format(DecodeFormat.PREFER_RGB_565)
+            .set(FEED_SURFACE, true)
+            .autoClone();
+
+    /**
+     * 封面低清预览选项 - 作为thumbnail时沿用主请求的override尺寸再乘以THUMBNAIL_SIZE_MULTIPLIER，
+     * 与卡片尺寸无关，所有卡片共用；只从缓存解码（原因见类注释）
+     */
+    public static final RequestOptions COVER_THUMBNAIL = COVER_BASE
+            .sizeMultiplier(THUMBNAIL_SIZE_MULTIPLIER)
+            .onlyRetrieveFromCache(true)
+            .autoClone();
+
+    private FeedImageOptions() {
+    }
+
+    /**
+     * 封面请求选项 - 按卡片尺寸解码，当前档位有尺寸上限时等比缩小
+     * @param widthPx 封面宽度（px）
+     * @param heightPx 封面高度（px）
+     */
+    public static RequestOptions cover(int widthPx, int heightPx) {
+        NetworkQualityEstimator.NetworkTier tier = NetworkQualityEstimator.getInstance().getTier();
+        int cap = tier.maxImageSizePx;
+        int longest = Math.max(widthPx, heightPx);
+        if (cap > 0 && longest > cap) {
+            float scale = (float) cap / longest;
+            widthPx = Math.max(1, Math.round(widthPx * scale));
+            heightPx = Math.max(1, Math.round(heightPx * scale));
+        }
+        return COVER_BASE.override(widthPx, heightPx);
+    }
+
+    /**
+     * 头像请求选项 - 按头像尺寸解码并裁剪为圆形
+     */
+    public static RequestOptions avatar(int sizePx) {
+        return new RequestOptions()
+                .override(sizePx, sizePx)
+                .circleCrop()
+                .set(FEED_SURFACE, true)
+                .autoClone();
+    }
+}
@@ -0,0 +1,121 @@
+package com.limtide.ugclite.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Feed分页预取控制器
+ * 根据滚动速度和网络延迟估算"多久会滑到底部"，提前请求下一页以隐藏网络延迟
+ * - 慢速浏览：与原来一样，接近底部时才加载
+ * - 快速滑动：按速度×延迟推算需要提前多少距离，最多同时保持maxPagesInFlight页在途
+ *
+ * 线程说明：只在主线程（RecyclerView滚动回调）中使用，不做同步
+ */
+public class FeedPrefetchController {
+
+    private static final String TAG = "FeedPrefetchController";
+
+    private static final int MIN_REMAINING_ITEMS = 3;           // 剩余条目不足时始终加载（保持原有行为）
+    private static final long DEFAULT_LATENCY_MS = 800;         // 尚无测量值时的默认页面延迟
+    private static final float LATENCY_SMOOTHING = 0.3f;        // 延迟的指数平滑系数
+    private static final float VELOCITY_SMOOTHING = 0.4f;       // 速度的指数平滑系数
+    private static final long VELOCITY_RESET_GAP_MS = 100;      // 两次滚动回调间隔过长视为重新开始滑动
+    private static final float SAFETY_FACTOR = 1.5f;            // 预留的安全余量
+
+    private final int maxPagesInFlight;
+
+    private float velocityPxPerMs = 0f;   // 平滑后的向下滚动速度
+    private long lastScrollTime = 0;
+    private long averageLatencyMs = DEFAULT_LATENCY_MS;
+
+    public FeedPrefetchController(int maxPagesInFlight) {
+        this.maxPagesInFlight = Math.max(1, maxPagesInFlight);
+    }
+
+    /**
+     * 记录一次滚动（RecyclerView.OnScrollListener.onScrolled）
+     * @param dy 本次滚动的纵向距离，向下为正
+     */
+    public void onScrolled(int dy) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - lastScrollTime;
+        lastScrollTime = now;
+
+        if (dy <= 0) {
+            // 向上滚动不需要预取
+            velocityPxPerMs = 0f;
+            return;
+        }
+
+        if (elapsed <= 0 || elapsed > VELOCITY_RESET_GAP_MS) {
+            // 两帧间隔过长，上一次速度已无参考意义，按一帧(16ms)估算
+            velocityPxPerMs = dy / 16f;
+        } else {
+            float instant = (float) dy / elapsed;
+            velocityPxPerMs = velocityPxPerMs + VELOCITY_SMOOTHING * (instant - velocityPxPerMs);
+        }
+    }
+
+    /**
+     * 滚动停止时清零速度
+     */
+    public void onScrollIdle() {
+        velocityPxPerMs = 0f;
+    }
+
+    /**
+     * 记录一页数据从发起到返回的耗时
+     */
+    public void recordPageLatency(long latencyMs) {
+        if (latencyMs <= 0) {
+            return;
+        }
+        averageLatencyMs = (long) (averageLatencyMs + LATENCY_SMOOTHING * (latencyMs - averageLatencyMs));
+        Log.d(TAG, "页面延迟: " + latencyMs + "ms，平均: " + averageLatencyMs + "ms");
+    }
+
+    /**
+     * 计算当前希望同时在途的页数
+     * @param remainingItems 最后可见位置之后还剩的条目数
+     * @param remainingPx 距离内容底部的剩余像素
+     * @param pageHeightPx 估算的一页内容高度（像素）
+     * @return 0表示暂不需要加载，最大为maxPagesInFlight
+     */
+    public int getPagesWanted(int remainingItems, int remainingPx, int pageHeightPx) {
+        // 预计在一次请求返回前会滑过的距离
+        float lookaheadPx = velocityPxPerMs * averageLatencyMs * SAFETY_FACTOR;
+        float deficitPx = lookaheadPx - Math.max(0, remainingPx);
+
+        if (deficitPx <= 0) {
+            return remainingItems < MIN_REMAINING_ITEMS ? 1 : 0;
+        }
+
+        int pages = 1;
+        if (pageHeightPx > 0) {
+            pages += (int) (deficitPx / pageHeightPx);
+        }
+        return Math.min(pages, maxPagesInFlight);
+    }
+
+    /**
+     * 获取当前平滑后的滚动速度（像素/毫秒）
+     */
+    public float getVelocityPxPerMs() {
+        return velocityPxPerMs;
+    }
+
+    /**
+     * 获取平均页面延迟
+     */
+    public long getAverageLatencyMs() {
+        return averageLatencyMs;
+    }
+
+    /**
+     * 重置速度状态（刷新或重新进入页面时调用），保留已测量的延迟
+     */
+    public void reset() {
+        velocityPxPerMs = 0f;
+        lastScrollTime = 0;
+    }
+}
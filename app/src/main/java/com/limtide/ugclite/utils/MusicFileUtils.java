@@ -8,10 +8,18 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.limtide.ugclite.network.HttpClientProvider;
+import com.limtide.ugclite.network.RequestScope;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * MP3文件保存和缓存工具类
@@ -31,6 +39,9 @@ public class MusicFileUtils {
     // 线程池
     private static final ExecutorService executorService = Executors.newFixedThreadPool(2);
 
+    // 音乐下载客户端（由共享OkHttpClient派生）
+    private static volatile OkHttpClient musicClient;
+
     // 回调接口
     public interface MusicSaveCallback {
         void onSuccess(String filePath);
@@ -45,6 +56,14 @@ public class MusicFileUtils {
      * @param callback 回调接口
      */
     public static void saveMusicToLocal(Context context, String musicUrl, MusicSaveCallback callback) {
+        saveMusicToLocal(context, musicUrl, callback, null);
+    }
+
+    /**
+     * 保存MP3文件到本地缓存，下载登记到指定的请求范围
+     * @param scope 请求范围，页面销毁时取消下载且不再回调（可为null）
+     */
+    public static void saveMusicToLocal(Context context, String musicUrl, MusicSaveCallback callback, RequestScope scope) {
         if (musicUrl == null || musicUrl.isEmpty()) {
             if (callback != null) {
                 callback.onError("音乐URL为空");
@@ -82,7 +101,7 @@ public class MusicFileUtils {
                 }
 
                 // 下载文件
-                downloadMusicFile(musicUrl, musicFile, callback);
+                downloadMusicFile(musicUrl, musicFile, callback, scope);
 
             } catch (Exception e) {
                 Log.e(TAG, "保存音乐文件失败: " + e.getMessage(), e);
@@ -160,48 +179,50 @@ public class MusicFileUtils {
     }
 
     /**
-     * 下载音乐文件
+     * 下载音乐文件 - 复用全局OkHttpClient的连接池和拦截器，但不经过HTTP磁盘缓存（已下载的文件由music_cache保存）
      */
-    private static void downloadMusicFile(String musicUrl, File targetFile, MusicSaveCallback callback) {
-        HttpURLConnection connection = null;
-        InputStream inputStream = null;
-        FileOutputStream outputStream = null;
+    private static void downloadMusicFile(String musicUrl, File targetFile, MusicSaveCallback callback, RequestScope scope) {
+        Request request = HttpClientProvider.tag(new Request.Builder(), HttpClientProvider.RequestCategory.MUSIC)
+                .url(musicUrl)
+                .get()
+                .build();
+
+        Call call = getMusicClient().newCall(request);
+        RequestScope.Cancellable scopeItem = scope != null ? scope.add(call) : null;
+        if (call.isCanceled()) {
+            Log.d(TAG, "请求范围已取消，跳过音乐下载: " + musicUrl);
+            return;
+        }
 
-        try {
-            URL url = new URL(musicUrl);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(15000); // 15秒连接超时
-            connection.setReadTimeout(60000);    // 60秒读取超时
-            connection.setUseCaches(true);
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                throw new IOException("HTTP错误: " + responseCode);
+        try (Response response = call.execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP错误: " + response.code());
             }
 
-            int fileSize = connection.getContentLength();
+            long fileSize = body.contentLength();
             Log.d(TAG, "开始下载音乐文件，大小: " + fileSize + " 字节");
 
-            inputStream = connection.getInputStream();
-            outputStream = new FileOutputStream(targetFile);
+            try (InputStream inputStream = body.byteStream();
+                 FileOutputStream outputStream = new FileOutputStream(targetFile)) {
+                byte[] buffer = new byte[8192]; // 8KB缓冲区
+                int bytesRead;
+                long totalBytesRead = 0;
 
-            byte[] buffer = new byte[8192]; // 8KB缓冲区
-            int bytesRead;
-            long totalBytesRead = 0;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, bytesRead);
+                    totalBytesRead += bytesRead;
 
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-                totalBytesRead += bytesRead;
-
-                // 报告进度
-                if (callback != null && fileSize > 0) {
-                    int progress = (int) ((totalBytesRead * 100) / fileSize);
-                    callback.onProgress(progress);
+                    // 报告进度
+                    if (callback != null && fileSize > 0) {
+                        int progress = (int) ((totalBytesRead * 100) / fileSize);
+                        callback.onProgress(progress);
+                    }
                 }
+
+                outputStream.flush();
             }
 
-            outputStream.flush();
             Log.d(TAG, "音乐文件下载完成: " + targetFile.getAbsolutePath() +
                       ", 大小: " + targetFile.length() + " 字节");
 
@@ -210,30 +231,42 @@ public class MusicFileUtils {
             }
 
         } catch (IOException e) {
-            Log.e(TAG, "下载音乐文件失败: " + e.getMessage(), e);
             // 删除不完整的文件
             if (targetFile.exists()) {
                 targetFile.delete();
             }
+            if (call.isCanceled()) {
+                // 所属页面已销毁，不再回调
+                Log.d(TAG, "音乐下载已随页面取消: " + musicUrl);
+                return;
+            }
+            Log.e(TAG, "下载音乐文件失败: " + e.getMessage(), e);
             if (callback != null) {
                 callback.onError("下载失败: " + e.getMessage());
             }
         } finally {
-            // 关闭资源
-            try {
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-                if (connection != null) {
-                    connection.disconnect();
+            if (scopeItem != null) {
+                scope.remove(scopeItem);
+            }
+        }
+    }
+
+    /**
+     * 音乐下载使用的客户端 - 共享连接池和缓存，读取超时放宽到60秒
+     */
+    private static OkHttpClient getMusicClient() {
+        if (musicClient == null) {
+            synchronized (MusicFileUtils.class) {
+                if (musicClient == null) {
+                    // 音乐文件已由本工具类保存到music_cache，不再写入共享HTTP缓存，避免重复存储并挤掉Feed和图片缓存
+                    musicClient = HttpClientProvider.getInstance().getClient().newBuilder()
+                            .cache(null)
+                            .readTimeout(60, TimeUnit.SECONDS) // 60秒读取超时
+                            .build();
                 }
-            } catch (IOException e) {
-                Log.e(TAG, "关闭资源失败: " + e.getMessage(), e);
             }
         }
+        return musicClient;
     }
 
     /**
@@ -0,0 +1,165 @@
+package com.limtide.ugclite.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.RequestManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 滚动状态协调器 - 惯性滑动（SETTLING）期间暂停非必要工作
+ * - 惯性滑动开始时暂停Glide请求，已绑定的卡片在滑动结束后再开始加载
+ * - 缩略图生成、视频预取等后台工作在惯性滑动期间只登记不执行，同一key只保留最新一次
+ * - 惯性滑动结束（停止或重新拖动）时先恢复Glide（可见卡片的图片），再按Priority声明顺序执行登记的工作
+ * - 后台工作在同一个低优先级线程上串行执行，不再为每个任务创建线程
+ *
+ * 线程安全：onScrollStateChanged只在主线程调用；runWhenIdle可在任意线程调用，登记表由lock保护
+ */
+public final class ScrollWorkCoordinator {
+
+    private static final String TAG = "ScrollWorkCoordinator";
+
+    /**
+     * 后台工作的优先级，滑动结束时按声明顺序执行
+     */
+    public enum Priority {
+        THUMBNAIL,       // 视频封面缩略图生成
+        VIDEO_PREFETCH   // 视频数据预取
+    }
+
+    private static volatile ScrollWorkCoordinator instance;
+
+    private final Object lock = new Object();
+    private final Map<Priority, LinkedHashMap<String, Runnable>> deferred = new EnumMap<>(Priority.class);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ScrollWork");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean settling = false;
+    private int deferredCount = 0; // 本次惯性滑动期间登记的工作数，仅用于日志
+
+    public static ScrollWorkCoordinator getInstance() {
+        if (instance == null) {
+            synchronized (ScrollWorkCoordinator.class) {
+                if (instance == null) {
+                    instance = new ScrollWorkCoordinator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ScrollWorkCoordinator() {
+        for (Priority priority : Priority.values()) {
+            deferred.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * 列表滚动状态变化（RecyclerView.OnScrollListener.onScrollStateChanged，主线程）
+     * @param requestManager 列表卡片使用的Glide RequestManager，为null时只处理后台工作
+     */
+    public void onScrollStateChanged(int newState, @Nullable RequestManager requestManager) {
+        if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+            if (!settling) {
+                settling = true;
+                if (requestManager != null) {
+                    requestManager.pauseRequests();
+                }
+                Log.d(TAG, "惯性滑动开始，暂停图片请求和后台工作");
+            }
+            return;
+        }
+        if (!settling) {
+            return;
+        }
+        settling = false;
+        // 先恢复可见卡片的图片加载，再执行登记的后台工作
+        if (requestManager != null && requestManager.isPaused()) {
+            requestManager.resumeRequests();
+        }
+        drain();
+    }
+
+    /**
+     * 惯性滑动期间返回true
+     */
+    public boolean isSettling() {
+        return settling;
+    }
+
+    /**
+     * 在不滑动时执行后台工作；惯性滑动期间登记，滑动结束后按优先级执行
+     * @param key 去重key（如视频地址），同一优先级下相同key只执行最后登记的一次
+     */
+    public void runWhenIdle(@NonNull Priority priority, @NonNull String key, @NonNull Runnable task) {
+        synchronized (lock) {
+            // 在锁内判断，保证滑动结束时drain不会漏掉刚登记的工作
+            if (settling) {
+                deferred.get(priority).put(key, task);
+                deferredCount++;
+                return;
+            }
+        }
+        execute(priority, key, task);
+    }
+
+    /**
+     * 按优先级提交所有登记的工作
+     */
+    private void drain() {
+        List<Priority> priorities = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        int count;
+        synchronized (lock) {
+            for (Priority priority : Priority.values()) {
+                LinkedHashMap<String, Runnable> pending = deferred.get(priority);
+                for (Map.Entry<String, Runnable> entry : pending.entrySet()) {
+                    priorities.add(priority);
+                    keys.add(entry.getKey());
+                    tasks.add(entry.getValue());
+                }
+                pending.clear();
+            }
+            count = deferredCount;
+            deferredCount = 0;
+        }
+        if (!tasks.isEmpty()) {
+            Log.d(TAG, "惯性滑动结束，执行登记的后台工作: " + tasks.size() + "（登记" + count + "次）");
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            execute(priorities.get(i), keys.get(i), tasks.get(i));
+        }
+    }
+
+    /**
+     * 提交到工作线程；排队期间又开始惯性滑动时重新登记，等下次滑动结束
+     */
+    private void execute(Priority priority, String key, Runnable task) {
+        worker.execute(() -> {
+            if (settling) {
+                runWhenIdle(priority, key, task);
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                Log.e(TAG, "后台工作执行失败: " + priority + " " + key, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.limtide.ugclite.utils;
+
+import android.os.Build;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+
+/**
+ * 预计算文本缓存 - 在后台线程把卡片标题和详情页正文测量成PrecomputedText，按postId缓存（LRU）
+ * - 卡片标题在帖子进入列表时（CardModelFactory，后台线程）预计算，绑定时直接使用，不再同步测量
+ * - 详情页正文在打开详情页时后台构建和预计算，再次打开同一帖子时直接命中
+ * - 排版参数取自实际的TextView（Params与TextView不一致时TextView会拒绝PrecomputedText），
+ *   标题参数在第一个卡片ViewHolder创建时记录，之前进入列表的标题绑定时退回普通setText
+ * - Android 9以下TextView无法直接使用预计算结果，不做预计算
+ *
+ * 线程安全：LruCache内部同步，参数字段为volatile，可在任意线程读写
+ */
+public final class TextLayoutCache {
+
+    private static final String TAG = "TextLayoutCache";
+
+    private static final int MAX_TITLES = 300;   // 约十几页卡片的标题
+    private static final int MAX_CONTENTS = 20;  // 最近打开的详情页正文
+
+    private static volatile TextLayoutCache instance;
+
+    private final LruCache<String, PrecomputedTextCompat> titles = new LruCache<>(MAX_TITLES);
+    private final LruCache<String, PrecomputedTextCompat> contents = new LruCache<>(MAX_CONTENTS);
+    private volatile PrecomputedTextCompat.Params titleParams;
+
+    public static TextLayoutCache getInstance() {
+        if (instance == null) {
+            synchronized (TextLayoutCache.class) {
+                if (instance == null) {
+                    instance = new TextLayoutCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private TextLayoutCache() {
+    }
+
+    /**
+     * 当前系统是否能直接使用预计算结果
+     */
+    public static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.P;
+    }
+
+    /**
+     * 记录卡片标题TextView的排版参数（主线程，取自TextViewCompat.getTextMetricsParams）
+     * 参数变化（如切换字体大小后重建）时丢弃已缓存的标题
+     */
+    public void setTitleParams(@NonNull PrecomputedTextCompat.Params params) {
+        if (!params.equals(titleParams)) {
+            if (titleParams != null) {
+                titles.evictAll();
+            }
+            titleParams = params;
+            Log.d(TAG, "记录卡片标题排版参数");
+        }
+    }
+
+    @Nullable
+    public PrecomputedTextCompat.Params getTitleParams() {
+        return titleParams;
+    }
+
+    /**
+     * 预计算卡片标题（后台线程），已缓存相同文本时跳过；尚未记录排版参数时不做任何事
+     */
+    public void precomputeTitle(@Nullable String postId, @NonNull String text) {
+        PrecomputedTextCompat.Params params = titleParams;
+        if (!isSupported() || params == null || TextUtils.isEmpty(postId) || text.isEmpty()) {
+            return;
+        }
+        PrecomputedTextCompat cached = titles.get(postId);
+        if (cached != null && cached.getParams().equals(params) && TextUtils.equals(cached.toString(), text)) {
+            return;
+        }
+        titles.put(postId, PrecomputedTextCompat.create(text, params));
+    }
+
+    /**
+     * 获取预计算的卡片标题
+     * @param text 当前要展示的标题，与缓存文本不同（帖子内容已变化）时返回null
+     */
+    @Nullable
+    public PrecomputedTextCompat getTitle(@Nullable String postId, @NonNull String text) {
+        if (TextUtils.isEmpty(postId)) {
+            return null;
+        }
+        PrecomputedTextCompat cached = titles.get(postId);
+        if (cached == null || cached.getParams() != titleParams && !cached.getParams().equals(titleParams)) {
+            return null;
+        }
+        return TextUtils.equals(cached.toString(), text) ? cached : null;
+    }
+
+    /**
+     * 预计算详情页正文并缓存（后台线程）
+     * @param text 已构建好的正文（可包含话题标签span，span不能持有页面引用）
+     */
+    @NonNull
+    public PrecomputedTextCompat precomputeContent(@NonNull String postId, @NonNull CharSequence text,
+                                                   @NonNull PrecomputedTextCompat.Params params) {
+        PrecomputedTextCompat precomputed = PrecomputedTextCompat.create(text, params);
+        if (!postId.isEmpty()) {
+            contents.put(postId, precomputed);
+        }
+        return precomputed;
+    }
+
+    /**
+     * 获取预计算的详情页正文
+     * @param content 正文原始文本，与缓存文本不同时返回null
+     * @param params 正文TextView当前的排版参数
+     */
+    @Nullable
+    public PrecomputedTextCompat getContent(@Nullable String postId, @NonNull String content,
+                                            @NonNull PrecomputedTextCompat.Params params) {
+        if (TextUtils.isEmpty(postId)) {
+            return null;
+        }
+        PrecomputedTextCompat cached = contents.get(postId);
+        if (cached == null || !cached.getParams().equals(params)) {
+            return null;
+        }
+        return TextUtils.equals(cached.toString(), content) ? cached : null;
+    }
+}
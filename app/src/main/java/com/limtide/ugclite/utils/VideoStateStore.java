@@ -0,0 +1,170 @@
+package com.limtide.ugclite.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 视频播放状态存储 - 按视频地址保存播放位置、播放状态和静音状态，LRU淘汰
+ * - 最多保存MAX_ENTRIES个视频，超出时淘汰最久未访问的
+ * - 写入先合并在内存中，FLUSH_DELAY_MS后一次性写入SharedPreferences；页面销毁时立即写入
+ * - 跨启动只恢复播放位置：冷启动时静音状态会被重置（MuteManager），也不自动开始播放
+ *
+ * 线程安全：读写方法为synchronized；延迟写入在主线程调度，SharedPreferences.apply在后台落盘
+ */
+public final class VideoStateStore {
+
+    private static final String TAG = "VideoStateStore";
+
+    private static final String PREF_NAME = "video_states";
+    private static final String KEY_STATES = "states";
+    static final int MAX_ENTRIES = 100;
+    static final long FLUSH_DELAY_MS = 3000; // 批量写入的合并窗口
+
+    private static volatile VideoStateStore instance;
+
+    private final SharedPreferences preferences;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flush;
+    private final LinkedHashMap<String, VideoState> states =
+            new LinkedHashMap<String, VideoState>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VideoState> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+    private boolean dirty = false;
+    private boolean flushScheduled = false;
+
+    /**
+     * 单个视频的播放状态
+     */
+    public static class VideoState {
+        public final long position;     // 播放位置
+        public final boolean isPlaying; // 是否正在播放
+        public final boolean isMuted;   // 是否静音
+
+        VideoState(long position, boolean isPlaying, boolean isMuted) {
+            this.position = position;
+            this.isPlaying = isPlaying;
+            this.isMuted = isMuted;
+        }
+    }
+
+    public static VideoStateStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (VideoStateStore.class) {
+                if (instance == null) {
+                    instance = new VideoStateStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    VideoStateStore(Context context) {
+        preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        load();
+    }
+
+    /**
+     * 获取保存的状态（同时标记为最近使用）
+     */
+    @Nullable
+    public synchronized VideoState get(@Nullable String url) {
+        return url != null ? states.get(url) : null;
+    }
+
+    public synchronized void put(@NonNull String url, long position, boolean isPlaying, boolean isMuted) {
+        states.put(url, new VideoState(position, isPlaying, isMuted));
+        markDirty();
+    }
+
+    public synchronized void remove(@Nullable String url) {
+        if (url != null && states.remove(url) != null) {
+            markDirty();
+        }
+    }
+
+    public synchronized int size() {
+        return states.size();
+    }
+
+    /**
+     * 立即写入未保存的状态（页面销毁时调用）
+     */
+    public void flush() {
+        String json;
+        synchronized (this) {
+            mainHandler.removeCallbacks(flushTask);
+            flushScheduled = false;
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            json = serialize();
+        }
+        preferences.edit().putString(KEY_STATES, json).apply();
+        Log.d(TAG, "写入视频状态，数量: " + size());
+    }
+
+    /**
+     * 标记有未保存的修改，合并窗口内只调度一次写入 - 需在synchronized内调用
+     */
+    private void markDirty() {
+        dirty = true;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            mainHandler.postDelayed(flushTask, FLUSH_DELAY_MS);
+        }
+    }
+
+    /**
+     * 按LRU顺序（最久未使用在前）序列化，读取时按相同顺序插入即可恢复访问顺序
+     */
+    private String serialize() {
+        JSONArray array = new JSONArray();
+        try {
+            for (Map.Entry<String, VideoState> entry : states.entrySet()) {
+                JSONObject item = new JSONObject();
+                item.put("url", entry.getKey());
+                item.put("position", entry.getValue().position);
+                array.put(item);
+            }
+        } catch (JSONException e) {
+            Log.w(TAG, "序列化视频状态失败", e);
+        }
+        return array.toString();
+    }
+
+    private void load() {
+        String json = preferences.getString(KEY_STATES, null);
+        if (json == null) {
+            return;
+        }
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject item = array.getJSONObject(i);
+                states.put(item.getString("url"), new VideoState(item.getLong("position"), false, false));
+            }
+            Log.d(TAG, "读取视频状态，数量: " + states.size());
+        } catch (JSONException e) {
+            Log.w(TAG, "读取视频状态失败，清空", e);
+            states.clear();
+            preferences.edit().remove(KEY_STATES).apply();
+        }
+    }
+}
@@ -223,22 +223,16 @@ public class VideoThumbnailUtil {
 
     /**
      * 异步生成缩略图（后台任务，不影响UI）- 严格限制版本
+     * 交给ScrollWorkCoordinator在共享的后台线程执行，列表惯性滑动期间推迟到滑动结束
      */
     private static void generateThumbnailAsync(@NonNull Context context, @NonNull String videoUrl) {
-        // 立即强制检查和清理缓存（解决4GB问题）
-        if (!isThumbnailGenerationAllowed(context)) {
-            Log.w(TAG, "缩略图缓存超限，禁止生成: " + videoUrl);
-            return;
-        }
-
-        // 在后台线程中生成缓存
-        new Thread(() -> {
+        ScrollWorkCoordinator.getInstance().runWhenIdle(ScrollWorkCoordinator.Priority.THUMBNAIL, videoUrl, () -> {
             try {
                 File cacheFile = getCacheFile(context, videoUrl);
                 if (!cacheFile.exists()) {
-                    // 生成前再次检查限制
+                    // 生成前检查和清理缓存（解决4GB问题）
                     if (!isThumbnailGenerationAllowed(context)) {
-                        Log.w(TAG, "缩略图缓存超限，停止生成");
+                        Log.w(TAG, "缩略图缓存超限，禁止生成: " + videoUrl);
                         return;
                     }
                     generateThumbnail(context, videoUrl, cacheFile, null);
@@ -246,7 +240,7 @@ public class VideoThumbnailUtil {
             } catch (Exception e) {
                 Log.e(TAG, "异步生成缩略图失败: " + videoUrl, e);
             }
-        }).start();
+        });
     }
 
     /**
@@ -0,0 +1,54 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Locale;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Feed解析基准 - 流式解析与原先的“读取完整字符串 + Gson反射”路径在20/200/2000条作品下的平均耗时
+ * 默认跳过，不随常规单元测试运行；手动运行：
+ * ./gradlew testDebugUnitTest --tests '*FeedStreamParserBenchmark' -Pbenchmark
+ * 不对耗时做断言，结果见测试输出；两条路径的结果一致性由FeedStreamParserTest保证
+ */
+public class FeedStreamParserBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 20;
+
+    @Test
+    public void streamingVersusReflection() throws IOException {
+        assumeTrue("未开启基准测试（-Pbenchmark）", Boolean.getBoolean("ugclite.benchmark"));
+
+        Gson gson = new Gson();
+        for (int size : FeedStreamParserTest.FIXTURE_SIZES) {
+            String json = FeedStreamParserTest.buildFixture(size);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                FeedStreamParser.parse(new StringReader(json));
+                FeedStreamParserTest.parseWithReflection(gson, new StringReader(json));
+            }
+            long streamingNs = 0;
+            long reflectionNs = 0;
+            for (int i = 0; i < MEASURE_ROUNDS; i++) {
+                long start = System.nanoTime();
+                FeedStreamParser.parse(new StringReader(json));
+                streamingNs += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                FeedStreamParserTest.parseWithReflection(gson, new StringReader(json));
+                reflectionNs += System.nanoTime() - start;
+            }
+            System.out.println(String.format(Locale.US,
+                    "Feed解析基准 - 作品数: %d，JSON: %.1fKB，流式: %.3fms，反射: %.3fms",
+                    size, json.length() / 1024.0,
+                    streamingNs / (MEASURE_ROUNDS * 1_000_000.0),
+                    reflectionNs / (MEASURE_ROUNDS * 1_000_000.0)));
+        }
+    }
+}
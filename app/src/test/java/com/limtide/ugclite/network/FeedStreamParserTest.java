@@ -0,0 +1,233 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * FeedStreamParser的本地单元测试
+ * - 字段类型不符时按默认值处理，不影响同一页的其它字段和作品
+ * - 20/200/2000条作品的解析结果与原先的“读取完整字符串 + Gson反射”路径一致（耗时对比见FeedStreamParserBenchmark）
+ * - 逐条回调只提交status_code校验通过的作品
+ */
+public class FeedStreamParserTest {
+
+    static final int[] FIXTURE_SIZES = {20, 200, 2000};
+
+    @Test
+    public void malformedNumbers_fallBackToDefaultsAndKeepParsing() throws IOException {
+        String json = "{\"status_code\":0,\"has_more\":\"yes\",\"post_list\":["
+                + "{\"post_id\":\"p1\",\"create_time\":\"abc\","
+                + "\"clips\":[{\"type\":1.5,\"width\":\"720\",\"height\":true,\"url\":\"u1\"}],"
+                + "\"hashtag\":[{\"start\":\"x\",\"end\":3}],"
+                + "\"music\":{\"volume\":99999999999,\"seek_time\":12,\"url\":\"m1\"},"
+                + "\"title\":\"t1\"},"
+                + "{\"post_id\":\"p2\",\"create_time\":1700000000,\"title\":\"t2\"}"
+                + "]}";
+
+        FeedResponse response = FeedStreamParser.parse(new StringReader(json));
+
+        assertEquals(0, response.statusCode);
+        assertEquals(0, response.hasMore);
+        assertEquals(2, response.postList.size());
+
+        Post first = response.postList.get(0);
+        assertEquals("p1", first.postId);
+        assertEquals("t1", first.title);
+        Post.Clip clip = first.clips.get(0);
+        assertEquals(0, clip.type);
+        assertEquals(720, clip.width);
+        assertEquals(1, clip.height);
+        assertEquals("u1", clip.url);
+        assertEquals(0, first.hashtags.get(0).start);
+        assertEquals(3, first.hashtags.get(0).end);
+        assertEquals(0, first.music.volume);
+        assertEquals(12, first.music.seekTime);
+        assertEquals("m1", first.music.url);
+
+        Post second = response.postList.get(1);
+        assertEquals("p2", second.postId);
+        assertEquals(1700000000L, second.createTime);
+        assertEquals("t2", second.title);
+    }
+
+    @Test
+    public void wrongContainerTypes_areSkipped() throws IOException {
+        String json = "{\"status_code\":\"0\",\"has_more\":1,\"extra\":{\"a\":[1,2]},\"post_list\":["
+                + "\"not an object\","
+                + "{\"post_id\":7,\"author\":\"nobody\",\"clips\":{\"url\":\"x\"},"
+                + "\"hashtag\":{\"start\":1,\"end\":2},\"music\":null}"
+                + "]}";
+
+        FeedResponse response = FeedStreamParser.parse(new StringReader(json));
+
+        assertEquals(0, response.statusCode);
+        assertTrue(response.hasMoreData());
+        assertEquals(1, response.postList.size());
+        Post post = response.postList.get(0);
+        assertEquals("7", post.postId);
+        assertNull(post.author);
+        assertTrue(post.clips.isEmpty());
+        assertEquals(1, post.hashtags.size());
+        assertEquals(2, post.hashtags.get(0).end);
+        assertNull(post.music);
+    }
+
+    @Test
+    public void streaming_matchesReflectionPath() throws IOException {
+        Gson gson = new Gson();
+        for (int size : FIXTURE_SIZES) {
+            String json = buildFixture(size);
+
+            FeedResponse streamed = FeedStreamParser.parse(new StringReader(json));
+            FeedResponse reflected = parseWithReflection(gson, new StringReader(json));
+            assertEquals(size, streamed.postList.size());
+            assertEquals(size, reflected.postList.size());
+            for (int i = 0; i < size; i++) {
+                assertSamePost(reflected.postList.get(i), streamed.postList.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void consumer_statusBeforePosts_receivesEachPostInOrder() throws IOException {
+        List<Post> received = new ArrayList<>();
+        FeedResponse response = FeedStreamParser.parse(new StringReader(buildFixture(3)), recordingConsumer(received));
+
+        assertEquals(3, received.size());
+        for (int i = 0; i < 3; i++) {
+            assertSame(response.postList.get(i), received.get(i));
+        }
+    }
+
+    @Test
+    public void consumer_statusAfterPosts_commitsStagedPosts() throws IOException {
+        String json = "{\"post_list\":[{\"post_id\":\"p1\"},{\"post_id\":\"p2\"}],"
+                + "\"status_code\":0,\"has_more\":0}";
+        List<Post> received = new ArrayList<>();
+
+        FeedStreamParser.parse(new StringReader(json), recordingConsumer(received));
+
+        assertEquals(2, received.size());
+        assertEquals("p1", received.get(0).postId);
+        assertEquals("p2", received.get(1).postId);
+    }
+
+    @Test
+    public void consumer_failedStatus_discardsPostsButKeepsWholePage() throws IOException {
+        List<Post> received = new ArrayList<>();
+        String stagedFirst = "{\"post_list\":[{\"post_id\":\"p1\"}],\"status_code\":500}";
+        String statusFirst = "{\"status_code\":500,\"post_list\":[{\"post_id\":\"p1\"}]}";
+
+        FeedResponse staged = FeedStreamParser.parse(new StringReader(stagedFirst), recordingConsumer(received));
+        FeedResponse direct = FeedStreamParser.parse(new StringReader(statusFirst), recordingConsumer(received));
+
+        assertTrue(received.isEmpty());
+        // 整页返回的结果不受影响，由调用方按status_code判断
+        assertEquals(1, staged.postList.size());
+        assertEquals(1, direct.postList.size());
+    }
+
+    @Test
+    public void consumer_truncatedBody_discardsStagedPosts() {
+        String json = "{\"post_list\":[{\"post_id\":\"p1\"},{\"post_id\":\"p2\"";
+        List<Post> received = new ArrayList<>();
+
+        try {
+            FeedStreamParser.parse(new StringReader(json), recordingConsumer(received));
+            fail("截断的响应应解析失败");
+        } catch (IOException expected) {
+            // 响应中断
+        }
+        assertTrue(received.isEmpty());
+    }
+
+    /**
+     * 记录收到的作品，并校验下标连续
+     */
+    private static FeedStreamParser.PostConsumer recordingConsumer(List<Post> received) {
+        int start = received.size();
+        return (post, index) -> {
+            assertEquals(received.size() - start, index);
+            received.add(post);
+        };
+    }
+
+    /**
+     * 原先的解析路径：先读取完整响应字符串，再用Gson反射解析
+     */
+    static FeedResponse parseWithReflection(Gson gson, Reader reader) throws IOException {
+        StringBuilder body = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            body.append(buffer, 0, read);
+        }
+        return gson.fromJson(body.toString(), FeedResponse.class);
+    }
+
+    private static void assertSamePost(Post expected, Post actual) {
+        assertEquals(expected.postId, actual.postId);
+        assertEquals(expected.title, actual.title);
+        assertEquals(expected.content, actual.content);
+        assertEquals(expected.createTime, actual.createTime);
+        assertEquals(expected.author.userId, actual.author.userId);
+        assertEquals(expected.author.nickname, actual.author.nickname);
+        assertEquals(expected.author.avatarUrl, actual.author.avatarUrl);
+        assertEquals(expected.clips.size(), actual.clips.size());
+        for (int i = 0; i < expected.clips.size(); i++) {
+            assertEquals(expected.clips.get(i).type, actual.clips.get(i).type);
+            assertEquals(expected.clips.get(i).width, actual.clips.get(i).width);
+            assertEquals(expected.clips.get(i).height, actual.clips.get(i).height);
+            assertEquals(expected.clips.get(i).url, actual.clips.get(i).url);
+        }
+        assertEquals(expected.hashtags.size(), actual.hashtags.size());
+        assertEquals(expected.music.url, actual.music.url);
+        assertEquals(expected.music.seekTime, actual.music.seekTime);
+    }
+
+    /**
+     * 生成与线上接口结构一致的Feed响应，每条作品带作者、两个clip、一个话题和音乐
+     */
+    static String buildFixture(int size) {
+        StringBuilder json = new StringBuilder(size * 600);
+        json.append("{\"status_code\":0,\"has_more\":1,\"post_list\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"post_id\":\"post_").append(i).append('"')
+                    .append(",\"title\":\"标题 ").append(i).append('"')
+                    .append(",\"content\":\"这是第").append(i).append("条作品的正文内容 #话题").append(i).append('"')
+                    .append(",\"create_time\":").append(1700000000L + i)
+                    .append(",\"author\":{\"user_id\":\"user_").append(i % 50)
+                    .append("\",\"nickname\":\"作者").append(i % 50)
+                    .append("\",\"avatar\":\"https://example.com/avatar/").append(i % 50).append(".jpg\"}")
+                    .append(",\"hashtag\":[{\"start\":10,\"end\":15}]")
+                    .append(",\"clips\":[")
+                    .append("{\"type\":0,\"width\":1080,\"height\":1440,\"url\":\"https://example.com/img/")
+                    .append(i).append(".jpg\"},")
+                    .append("{\"type\":1,\"width\":720,\"height\":1280,\"url\":\"https://example.com/video/")
+                    .append(i).append(".mp4\"}]")
+                    .append(",\"music\":{\"volume\":80,\"seek_time\":").append(i * 100)
+                    .append(",\"url\":\"https://example.com/music/").append(i % 10).append(".mp3\"}")
+                    .append(",\"unknown_field\":{\"nested\":[1,2,3]}}");
+        }
+        json.append("]}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package com.limtide.ugclite.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * RetryInterceptor和CircuitBreakerInterceptor的MockWebServer脚本测试
+ * 拦截器顺序与HttpClientProvider一致：重试在外层，每次尝试都经过熔断判断
+ * 使用Robolectric提供SystemClock（可手动推进，用于验证熔断冷却）和Log
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ResilientTransportTest {
+
+    private static final long OPEN_DURATION_MS = 1000;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void retry_on5xxUntilSuccess() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody("ok"));
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(10, OPEN_DURATION_MS));
+
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void retry_givesUpAfterMaxRetries() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(502));
+        }
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(10, OPEN_DURATION_MS));
+
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(502, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void retry_honorsShortRetryAfter() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        server.enqueue(new MockResponse().setBody("ok"));
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(10, OPEN_DURATION_MS));
+
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void retry_skipsRetryAfterLongerThanLimit() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "30"));
+        server.enqueue(new MockResponse().setBody("unused"));
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(10, OPEN_DURATION_MS));
+
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void retry_onlyAppliesToFeedRequests() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("unused"));
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(10, OPEN_DURATION_MS));
+        Request musicRequest = HttpClientProvider.tag(new Request.Builder(), HttpClientProvider.RequestCategory.MUSIC)
+                .url(server.url("/music.mp3"))
+                .build();
+
+        try (Response response = client.newCall(musicRequest).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void breaker_opensThenHalfOpenProbeCloses() throws IOException {
+        CircuitBreakerInterceptor breaker = new CircuitBreakerInterceptor(2, OPEN_DURATION_MS);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(breaker).build();
+        String host = server.url("/").host();
+
+        // CLOSED -> OPEN：连续两次5xx
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        client.newCall(feedRequest()).execute().close();
+        assertFalse(breaker.isOpen(host));
+        client.newCall(feedRequest()).execute().close();
+        assertTrue(breaker.isOpen(host));
+
+        // OPEN：冷却期内直接失败，不访问服务端
+        assertCircuitOpen(client);
+        assertEquals(2, server.getRequestCount());
+
+        // HALF_OPEN：冷却结束后放行一个探测请求，成功则关闭
+        ShadowSystemClock.advanceBy(Duration.ofMillis(OPEN_DURATION_MS));
+        server.enqueue(new MockResponse().setBody("probe"));
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertFalse(breaker.isOpen(host));
+
+        // CLOSED：恢复正常放行
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = client.newCall(feedRequest()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void breaker_failedProbeReopens() throws IOException {
+        CircuitBreakerInterceptor breaker = new CircuitBreakerInterceptor(1, OPEN_DURATION_MS);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(breaker).build();
+        String host = server.url("/").host();
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        client.newCall(feedRequest()).execute().close();
+        assertTrue(breaker.isOpen(host));
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(OPEN_DURATION_MS));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        client.newCall(feedRequest()).execute().close();
+        assertTrue(breaker.isOpen(host));
+        assertCircuitOpen(client);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void breaker_4xxDoesNotCountAsFailure() throws IOException {
+        CircuitBreakerInterceptor breaker = new CircuitBreakerInterceptor(1, OPEN_DURATION_MS);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(breaker).build();
+
+        server.enqueue(new MockResponse().setResponseCode(404));
+        client.newCall(feedRequest()).execute().close();
+        assertFalse(breaker.isOpen(server.url("/").host()));
+    }
+
+    @Test
+    public void retry_stopsWhenBreakerOpens() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody("unused"));
+        OkHttpClient client = newClient(new CircuitBreakerInterceptor(2, OPEN_DURATION_MS));
+
+        // 第二次失败打开熔断，第三次尝试在熔断器处直接失败，不再访问服务端
+        assertCircuitOpen(client);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    /**
+     * 重试在外层、熔断在内层；退避延迟缩短到1ms并固定随机数
+     */
+    private OkHttpClient newClient(CircuitBreakerInterceptor breaker) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(2, 1, 1, new Random(0)))
+                .addInterceptor(breaker)
+                .build();
+    }
+
+    private Request feedRequest() {
+        return HttpClientProvider.tag(new Request.Builder(), HttpClientProvider.RequestCategory.FEED)
+                .url(server.url("/feed"))
+                .get()
+                .build();
+    }
+
+    private void assertCircuitOpen(OkHttpClient client) throws IOException {
+        try {
+            client.newCall(feedRequest()).execute().close();
+            fail("熔断打开时应直接抛出CircuitOpenException");
+        } catch (CircuitBreakerInterceptor.CircuitOpenException expected) {
+            // 预期
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.limtide.ugclite.network;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * VideoPrecacher窗口管理测试
+ * - 头部下载由HeadWriterFactory替换为阻塞到测试放行或被取消的模拟下载，不访问网络和缓存
+ * - 下载在单个工作线程上串行执行：前一个下载阻塞时，后面的任务保持排队
+ * - 覆盖离开所有窗口时取消（下载中和排队中）、clear(owner)、档位数量为0时不预缓存
+ * 使用Robolectric提供Log
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VideoPrecacherTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final Map<String, FakeWriter> writers = new ConcurrentHashMap<>();
+    private final Set<String> created = ConcurrentHashMap.newKeySet(); // 实际开始下载的地址
+    private volatile NetworkQualityEstimator.NetworkTier tier = NetworkQualityEstimator.NetworkTier.EXCELLENT;
+    private VideoPrecacher precacher;
+
+    @Before
+    public void setUp() {
+        precacher = new VideoPrecacher((url, bytes) -> {
+            created.add(url);
+            return writer(url);
+        }, () -> tier);
+    }
+
+    @Test
+    public void update_cancelsOnlyUrlsThatLeaveEveryWindow() throws Exception {
+        precacher.update("home", Arrays.asList("a", "b"));
+        precacher.update("detail", Collections.singletonList("b"));
+        writer("a").awaitStarted();
+
+        // a离开首页窗口且不在其它窗口中，下载中也要取消；b仍在详情页窗口中
+        precacher.update("home", Collections.singletonList("c"));
+        assertTrue(writer("a").cancelled);
+
+        writer("b").awaitStarted();
+        writer("b").finish();
+        writer("c").awaitStarted();
+        writer("c").finish();
+        assertFalse(writer("b").cancelled);
+        assertFalse(writer("c").cancelled);
+    }
+
+    @Test
+    public void clear_cancelsRunningAndQueuedTasksOfOwnerOnly() throws Exception {
+        precacher.update("home", Arrays.asList("a", "b"));
+        precacher.update("detail", Collections.singletonList("c"));
+        writer("a").awaitStarted();
+
+        precacher.clear("home");
+        precacher.clear("unknown"); // 没有登记过的窗口，不影响其它任务
+        assertTrue(writer("a").cancelled);
+
+        // 排队中的b被取消后不会开始下载；c属于其它窗口，照常执行
+        writer("c").awaitStarted();
+        writer("c").finish();
+        assertFalse(created.contains("b"));
+        assertFalse(writer("c").cancelled);
+    }
+
+    @Test
+    public void update_zeroTierLimitClearsWindowAndSchedulesNothing() throws Exception {
+        precacher.update("home", Collections.singletonList("a"));
+        writer("a").awaitStarted();
+
+        // 弱网档位不预缓存：窗口变空，下载中的a被取消，b不登记
+        tier = NetworkQualityEstimator.NetworkTier.POOR;
+        precacher.update("home", Arrays.asList("a", "b"));
+        assertTrue(writer("a").cancelled);
+
+        // 中等档位只预缓存第一个
+        tier = NetworkQualityEstimator.NetworkTier.MODERATE;
+        precacher.update("detail", Arrays.asList("c", "d"));
+        writer("c").awaitStarted();
+        writer("c").finish();
+
+        // 下载串行执行，z开始时之前登记的任务都已处理完
+        tier = NetworkQualityEstimator.NetworkTier.GOOD;
+        precacher.update("marker", Collections.singletonList("z"));
+        writer("z").awaitStarted();
+        writer("z").finish();
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "c", "z")), created);
+    }
+
+    private FakeWriter writer(String url) {
+        return writers.computeIfAbsent(url, key -> new FakeWriter());
+    }
+
+    /**
+     * 阻塞到finish()或cancel()的模拟下载
+     */
+    private static final class FakeWriter implements VideoPrecacher.HeadWriter {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        volatile boolean cancelled = false;
+
+        @Override
+        public void cache() throws IOException {
+            started.countDown();
+            try {
+                if (!released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IOException("等待测试放行超时");
+                }
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            if (cancelled) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            released.countDown();
+        }
+
+        void finish() {
+            released.countDown();
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue("下载没有开始", started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.limtide.ugclite.ui.adapter;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.limtide.ugclite.R;
+import com.limtide.ugclite.data.model.CardModel;
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.databinding.NoteCardBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * NoteCardAdapter绑定路径测试
+ * - 点击监听器只在onCreateViewHolder中安装一次，绑定时不再替换
+ * - 稳态滑动时绑定本身不分配对象：与直接调用相同View setter的基准循环相比，平均每次绑定多出的分配量接近0
+ *   （View setter内部的分配如setImageResource创建Drawable两边相同，互相抵消；测试卡片不带封面和头像地址，不发起Glide请求）
+ */
+@RunWith(RobolectricTestRunner.class)
+public class NoteCardAdapterBindTest {
+
+    private static final int CARD_COUNT = 20;
+    private static final int HOLDER_COUNT = 6;       // 屏幕上同时存在的卡片数量
+    private static final int ROUNDS = 200;           // 每轮把全部卡片依次绑定到复用的ViewHolder上
+    private static final int MEASURE_REPEATS = 5;    // 取多次测量的最小值，排除JIT和GC的干扰
+    private static final long MAX_EXTRA_BYTES_PER_BIND = 8; // 一个lambda、Runnable或日志字符串都会超过此值
+
+    private Context context;
+    private NoteCardAdapter adapter;
+    private FrameLayout parent;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_UGCLite);
+        adapter = new NoteCardAdapter(context);
+        adapter.setCards(buildCards());
+        parent = new FrameLayout(context);
+        assertEquals(CARD_COUNT, adapter.getItemCount());
+    }
+
+    @Test
+    public void clickListeners_installedOncePerViewHolder() {
+        NoteCardAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        NoteCardBinding binding = holder.getBinding();
+        View.OnClickListener likeIconListener = shadowOf(binding.likeIcon).getOnClickListener();
+        View.OnClickListener likeCountListener = shadowOf(binding.likeCount).getOnClickListener();
+        View.OnClickListener cardListener = shadowOf(binding.getRoot()).getOnClickListener();
+        View.OnLongClickListener longClickListener = shadowOf(binding.getRoot()).getOnLongClickListener();
+        assertSame(likeIconListener, likeCountListener);
+
+        for (int position = 0; position < CARD_COUNT; position++) {
+            adapter.onBindViewHolder(holder, position);
+        }
+
+        assertSame(likeIconListener, shadowOf(binding.likeIcon).getOnClickListener());
+        assertSame(likeCountListener, shadowOf(binding.likeCount).getOnClickListener());
+        assertSame(cardListener, shadowOf(binding.getRoot()).getOnClickListener());
+        assertSame(longClickListener, shadowOf(binding.getRoot()).getOnLongClickListener());
+    }
+
+    @Test
+    public void steadyStateBind_allocatesNothingBeyondViewSetters() {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        assumeTrue("当前JVM不支持线程分配统计", threads != null);
+
+        List<NoteCardAdapter.ViewHolder> holders = new ArrayList<>();
+        for (int i = 0; i < HOLDER_COUNT; i++) {
+            holders.add(adapter.onCreateViewHolder(parent, 0));
+        }
+        // 预热：首次绑定会设置封面高度、加载Drawable缓存等
+        for (int i = 0; i < MEASURE_REPEATS; i++) {
+            bindLoop(holders);
+            setterLoop(holders);
+        }
+
+        long bindBytes = Long.MAX_VALUE;
+        long setterBytes = Long.MAX_VALUE;
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < MEASURE_REPEATS; i++) {
+            long start = threads.getThreadAllocatedBytes(threadId);
+            bindLoop(holders);
+            bindBytes = Math.min(bindBytes, threads.getThreadAllocatedBytes(threadId) - start);
+
+            start = threads.getThreadAllocatedBytes(threadId);
+            setterLoop(holders);
+            setterBytes = Math.min(setterBytes, threads.getThreadAllocatedBytes(threadId) - start);
+        }
+
+        long binds = (long) ROUNDS * CARD_COUNT;
+        long extraPerBind = (bindBytes - setterBytes) / binds;
+        assertTrue("每次绑定额外分配了" + extraPerBind + "字节（绑定: " + bindBytes
+                        + "，基准: " + setterBytes + "，次数: " + binds + "）",
+                extraPerBind <= MAX_EXTRA_BYTES_PER_BIND);
+    }
+
+    private void bindLoop(List<NoteCardAdapter.ViewHolder> holders) {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int position = 0; position < CARD_COUNT; position++) {
+                adapter.onBindViewHolder(holders.get(position % HOLDER_COUNT), position);
+            }
+        }
+    }
+
+    /**
+     * 基准：对同样的View依次调用绑定会调用的setter（无封面、无头像地址、无预计算标题的路径）
+     */
+    private void setterLoop(List<NoteCardAdapter.ViewHolder> holders) {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int position = 0; position < CARD_COUNT; position++) {
+                CardModel card = adapter.getCard(position);
+                NoteCardBinding binding = holders.get(position % HOLDER_COUNT).getBinding();
+                binding.coverImage.setImageResource(R.drawable.ic_empty_state);
+                binding.videoTitle.setText(card.displayText);
+                binding.userName.setText(card.authorName);
+                binding.userAvatar.setImageResource(R.drawable.ic_user);
+                binding.likeIcon.setImageResource(card.liked ? R.drawable.ic_like_filled : R.drawable.ic_like);
+                binding.likeCount.setText(card.likeCountText);
+            }
+        }
+    }
+
+    private static List<CardModel> buildCards() {
+        List<CardModel> cards = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            Post post = new Post();
+            post.postId = "post_" + i;
+            post.title = "标题 " + i;
+            cards.add(new CardModel(post, null, CardModel.COVER_NONE, 1f, 500, 500,
+                    post.title, 1, 700, "作者" + i, null, i % 3 == 0, i * 7));
+        }
+        return cards;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,208 @@
+package com.limtide.ugclite.ui.component;
+
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.Player;
+import androidx.media3.exoplayer.ExoPlayer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ExoPlayerPool租用和回收顺序测试
+ * - 播放器由PlayerFactory替换为Mockito模拟对象：prepare后进入READY，stop后回到IDLE，记录playWhenReady，不创建解码器
+ * - 覆盖热复用、同一视频不共享已租用的播放器、达到MAX_PLAYERS时拒绝、按LRU选择空闲播放器换绑、解码器上限的停止顺序
+ * 使用Robolectric提供Log、SystemClock和MediaItem使用的Uri
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ExoPlayerPoolTest {
+
+    private final List<ExoPlayer> created = new ArrayList<>();
+    private ExoPlayerPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ExoPlayerPool((profile, bytes) -> newFakePlayer());
+    }
+
+    @Test
+    public void acquire_sameUrlReusesIdlePreparedPlayer() {
+        ExoPlayer first = pool.acquire("a", 0);
+        pool.release(first);
+        ExoPlayer second = pool.acquire("a", 5000);
+
+        assertSame(first, second);
+        assertEquals(1, created.size());
+        // 热复用不重新绑定MediaItem，也不重新准备
+        verify(first, times(1)).setMediaItem(any(MediaItem.class), anyLong());
+        verify(first, times(1)).prepare();
+    }
+
+    @Test
+    public void acquire_leasedUrlGetsSeparatePlayer() {
+        ExoPlayer first = pool.acquire("a", 0);
+        ExoPlayer second = pool.acquire("a", 0);
+
+        // 同一视频的两个视图不共享播放器
+        assertNotSame(first, second);
+        assertEquals(2, created.size());
+        assertEquals("a", lastMediaItemUri(second));
+
+        // 归还其中一个后，再次租用拿到空闲的那个
+        pool.release(second);
+        assertSame(second, pool.acquire("a", 0));
+        assertEquals(2, created.size());
+    }
+
+    @Test
+    public void acquire_rejectsWhenAllPlayersInUse() {
+        ExoPlayer a = pool.acquire("a", 0);
+        for (int i = 1; i < ExoPlayerPool.MAX_PLAYERS; i++) {
+            assertNotNull(pool.acquire("url" + i, 0));
+        }
+        assertEquals(ExoPlayerPool.MAX_PLAYERS, created.size());
+        assertNull(pool.acquire("b", 0));
+        // 已被租用的同一视频也不能再租
+        assertNull(pool.acquire("a", 0));
+
+        // 归还后可换绑到新视频
+        pool.release(a);
+        assertSame(a, pool.acquire("b", 1200));
+        assertEquals(ExoPlayerPool.MAX_PLAYERS, created.size());
+        assertEquals("b", lastMediaItemUri(a));
+    }
+
+    @Test
+    public void acquire_rebindsLeastRecentlyUsedIdlePlayer() {
+        ExoPlayer a = pool.acquire("a", 0);
+        ExoPlayer b = pool.acquire("b", 0);
+        ExoPlayer c = pool.acquire("c", 0);
+        pool.release(a);
+        assertSame(a, pool.acquire("a", 0)); // 再次租用a，使b成为最久未使用
+
+        // 归还顺序与使用顺序无关，LRU按租用时间排序
+        pool.release(c);
+        pool.release(a);
+        pool.release(b);
+
+        assertSame(b, pool.acquire("d", 0));
+        assertSame(c, pool.acquire("e", 0));
+        assertSame(a, pool.acquire("f", 0));
+        assertEquals(3, created.size());
+        assertEquals("d", lastMediaItemUri(b));
+        assertEquals("e", lastMediaItemUri(c));
+        assertEquals("f", lastMediaItemUri(a));
+    }
+
+    @Test
+    public void release_pausesOnceAndIgnoresPlayersNotLeased() {
+        ExoPlayer a = pool.acquire("a", 0);
+        a.setPlayWhenReady(true);
+
+        pool.release(a);
+        assertFalse(a.getPlayWhenReady());
+
+        // 重复归还不影响已归还的播放器
+        a.setPlayWhenReady(true);
+        pool.release(a);
+        assertTrue(a.getPlayWhenReady());
+    }
+
+    @Test
+    public void decoderBudget_stopsLeastRecentPausedPlayerBeforePlayingOne() {
+        ExoPlayer a = pool.acquire("a", 0);
+        ExoPlayer b = pool.acquire("b", 0);
+        a.setPlayWhenReady(true);
+
+        ExoPlayer c = pool.acquire("c", 0);
+
+        // a更久未使用但正在播放，先停止未在播放的b
+        assertEquals(Player.STATE_READY, a.getPlaybackState());
+        assertEquals(Player.STATE_IDLE, b.getPlaybackState());
+        assertEquals(Player.STATE_READY, c.getPlaybackState());
+    }
+
+    @Test
+    public void decoderBudget_stopsIdlePlayerBeforeLeasedOnes() {
+        ExoPlayer a = pool.acquire("a", 0);
+        ExoPlayer b = pool.acquire("b", 0);
+        ExoPlayer c = pool.acquire("c", 0);
+        assertEquals(Player.STATE_IDLE, a.getPlaybackState()); // 最久未使用且未在播放
+
+        // 归还最近使用的c后重新准备a：c空闲，优先于更久未使用但仍被租用的b
+        pool.release(c);
+        pool.prepare(a);
+
+        assertEquals(Player.STATE_READY, a.getPlaybackState());
+        assertEquals(Player.STATE_READY, b.getPlaybackState());
+        assertEquals(Player.STATE_IDLE, c.getPlaybackState());
+    }
+
+    @Test
+    public void stopIdlePlayers_releasesDecodersOfIdlePlayersOnly() {
+        ExoPlayer a = pool.acquire("a", 0);
+        ExoPlayer b = pool.acquire("b", 0);
+        pool.release(a);
+
+        pool.stopIdlePlayers();
+
+        assertEquals(Player.STATE_IDLE, a.getPlaybackState());
+        assertEquals(Player.STATE_READY, b.getPlaybackState());
+        // 停止后再次租用同一视频，热复用并重新准备
+        assertSame(a, pool.acquire("a", 0));
+        assertEquals(Player.STATE_READY, a.getPlaybackState());
+    }
+
+    /**
+     * 只模拟池依赖的状态：播放状态和playWhenReady
+     */
+    private ExoPlayer newFakePlayer() {
+        ExoPlayer player = mock(ExoPlayer.class);
+        int[] playbackState = {Player.STATE_IDLE};
+        boolean[] playWhenReady = {false};
+        when(player.getPlaybackState()).thenAnswer(invocation -> playbackState[0]);
+        when(player.getPlayWhenReady()).thenAnswer(invocation -> playWhenReady[0]);
+        doAnswer(invocation -> {
+            playbackState[0] = Player.STATE_READY;
+            return null;
+        }).when(player).prepare();
+        doAnswer(invocation -> {
+            playbackState[0] = Player.STATE_IDLE;
+            return null;
+        }).when(player).stop();
+        doAnswer(invocation -> {
+            playWhenReady[0] = invocation.getArgument(0);
+            return null;
+        }).when(player).setPlayWhenReady(anyBoolean());
+        created.add(player);
+        return player;
+    }
+
+    private static String lastMediaItemUri(ExoPlayer player) {
+        ArgumentCaptor<MediaItem> captor = ArgumentCaptor.forClass(MediaItem.class);
+        verify(player, atLeastOnce()).setMediaItem(captor.capture(), anyLong());
+        return String.valueOf(captor.getValue().localConfiguration.uri);
+    }
+}
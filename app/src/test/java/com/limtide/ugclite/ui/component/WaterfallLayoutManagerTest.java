@@ -0,0 +1,324 @@
+package com.limtide.ugclite.ui.component;
+
+import android.content.Context;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WaterfallLayoutManager布局测试
+ * - 固定高度的item（估算高度与实测一致），列由测试适配器按最短列贪心分配
+ * - 覆盖列分配和item顶部、滚动N像素再滚回、锚点附近插入和删除、状态保存与恢复
+ * RecyclerView不挂到窗口上，直接measure/layout，不使用item动画
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WaterfallLayoutManagerTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 1000;
+    private static final int COLUMN_COUNT = 2;
+    private static final int ITEM_COUNT = 40;
+    private static final int[] HEIGHTS = {300, 200, 250, 100, 150, 400, 120, 180, 220, 260};
+    private static final int SCROLL_PX = 700;
+
+    private Context context;
+    private FixedHeightAdapter adapter;
+    private WaterfallLayoutManager layoutManager;
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        adapter = new FixedHeightAdapter();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            adapter.items.add(new Item(i, HEIGHTS[i % HEIGHTS.length]));
+        }
+        adapter.assignColumns();
+        layoutManager = new WaterfallLayoutManager(COLUMN_COUNT, adapter);
+        recyclerView = newRecyclerView(layoutManager);
+        layout(recyclerView);
+    }
+
+    @Test
+    public void layout_placesItemsInLookupColumnsAtExpectedTops() {
+        // 300/200/250/100：0在左列顶部，1在右列顶部，2接在1下面，3接在0下面
+        assertChildAt(0, 0, 0);
+        assertChildAt(1, 1, 0);
+        assertChildAt(2, 1, 200);
+        assertChildAt(3, 0, 300);
+
+        assertLaidOutAt(0);
+        assertEquals(0, layoutManager.findFirstVisibleItemPosition());
+        assertEquals(lastIntersecting(0), layoutManager.findLastVisibleItemPosition());
+    }
+
+    @Test
+    public void scrollBy_offsetsChildrenAndScrollsBackToSameLayout() {
+        List<Integer> initial = attachedPositions();
+
+        recyclerView.scrollBy(0, SCROLL_PX);
+        assertEquals(SCROLL_PX, recyclerView.computeVerticalScrollOffset());
+        assertLaidOutAt(SCROLL_PX);
+        assertEquals(firstIntersecting(SCROLL_PX), layoutManager.findFirstVisibleItemPosition());
+        assertEquals(lastIntersecting(SCROLL_PX), layoutManager.findLastVisibleItemPosition());
+
+        recyclerView.scrollBy(0, -SCROLL_PX);
+        assertEquals(0, recyclerView.computeVerticalScrollOffset());
+        assertLaidOutAt(0);
+        assertEquals(initial, attachedPositions());
+    }
+
+    @Test
+    public void insertBeforeAnchor_keepsAnchorOnScreen() {
+        recyclerView.scrollBy(0, SCROLL_PX);
+        View anchor = topmostChild();
+        int anchorPosition = layoutManager.getPosition(anchor);
+        Object anchorId = anchor.getTag();
+        int anchorTop = anchor.getTop();
+
+        adapter.items.add(anchorPosition, new Item(1000, 170));
+        adapter.assignColumns();
+        adapter.notifyItemInserted(anchorPosition);
+        layout(recyclerView);
+
+        View moved = layoutManager.findViewByPosition(anchorPosition + 1);
+        assertNotNull(moved);
+        assertEquals(anchorId, moved.getTag());
+        assertEquals(anchorTop, moved.getTop());
+        assertLaidOutAt(recyclerView.computeVerticalScrollOffset());
+    }
+
+    @Test
+    public void removeBeforeAnchor_keepsAnchorOnScreen() {
+        recyclerView.scrollBy(0, SCROLL_PX);
+        View anchor = topmostChild();
+        int anchorPosition = layoutManager.getPosition(anchor);
+        assertTrue(anchorPosition > 0);
+        Object anchorId = anchor.getTag();
+        int anchorTop = anchor.getTop();
+
+        adapter.items.remove(anchorPosition - 1);
+        adapter.assignColumns();
+        adapter.notifyItemRemoved(anchorPosition - 1);
+        layout(recyclerView);
+
+        View moved = layoutManager.findViewByPosition(anchorPosition - 1);
+        assertNotNull(moved);
+        assertEquals(anchorId, moved.getTag());
+        assertEquals(anchorTop, moved.getTop());
+        assertLaidOutAt(recyclerView.computeVerticalScrollOffset());
+    }
+
+    @Test
+    public void saveAndRestore_returnsToSameOffset() {
+        recyclerView.scrollBy(0, SCROLL_PX);
+        Parcelable saved = layoutManager.onSaveInstanceState();
+
+        // 经过Parcel往返，模拟进程重建
+        Parcel parcel = Parcel.obtain();
+        saved.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        Parcelable restored = WaterfallLayoutManager.SavedState.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        layoutManager = new WaterfallLayoutManager(COLUMN_COUNT, adapter);
+        layoutManager.onRestoreInstanceState(restored);
+        recyclerView = newRecyclerView(layoutManager);
+        layout(recyclerView);
+
+        assertEquals(SCROLL_PX, recyclerView.computeVerticalScrollOffset());
+        assertLaidOutAt(SCROLL_PX);
+        assertEquals(firstIntersecting(SCROLL_PX), layoutManager.findFirstVisibleItemPosition());
+    }
+
+    // ==========================================
+    // 辅助方法
+    // ==========================================
+
+    private RecyclerView newRecyclerView(WaterfallLayoutManager manager) {
+        RecyclerView view = new RecyclerView(context);
+        view.setItemAnimator(null);
+        view.setLayoutManager(manager);
+        view.setAdapter(adapter);
+        return view;
+    }
+
+    private static void layout(RecyclerView view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * 每个已摆放的item都在它的列中、按列内累计高度摆放，且视口内的位置全部有View
+     */
+    private void assertLaidOutAt(int offset) {
+        int[] tops = expectedTops();
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            int position = layoutManager.getPosition(child);
+            assertEquals("位置" + position + "的列", adapter.getColumn(position) * (WIDTH / COLUMN_COUNT), child.getLeft());
+            assertEquals("位置" + position + "的顶部", tops[position] - offset, child.getTop());
+            assertEquals(adapter.items.get(position).height, child.getHeight());
+            assertTrue("位置" + position + "不在视口内", child.getBottom() > 0 && child.getTop() < HEIGHT);
+        }
+        for (int position = 0; position < adapter.getItemCount(); position++) {
+            int top = tops[position] - offset;
+            if (top < HEIGHT && top + adapter.items.get(position).height > 0) {
+                assertNotNull("视口内的位置" + position + "没有View", layoutManager.findViewByPosition(position));
+            }
+        }
+    }
+
+    private void assertChildAt(int position, int column, int top) {
+        View child = layoutManager.findViewByPosition(position);
+        assertNotNull(child);
+        assertEquals(column, adapter.getColumn(position));
+        assertEquals(column * (WIDTH / COLUMN_COUNT), child.getLeft());
+        assertEquals(top, child.getTop());
+    }
+
+    /**
+     * 按适配器给出的列累加高度，得到每个位置的内容坐标
+     */
+    private int[] expectedTops() {
+        int[] columnBottoms = new int[COLUMN_COUNT];
+        int[] tops = new int[adapter.getItemCount()];
+        for (int position = 0; position < tops.length; position++) {
+            int column = adapter.getColumn(position);
+            tops[position] = columnBottoms[column];
+            columnBottoms[column] += adapter.items.get(position).height;
+        }
+        return tops;
+    }
+
+    private int firstIntersecting(int offset) {
+        int[] tops = expectedTops();
+        for (int position = 0; position < tops.length; position++) {
+            if (tops[position] + adapter.items.get(position).height > offset && tops[position] < offset + HEIGHT) {
+                return position;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    private int lastIntersecting(int offset) {
+        int[] tops = expectedTops();
+        for (int position = tops.length - 1; position >= 0; position--) {
+            if (tops[position] + adapter.items.get(position).height > offset && tops[position] < offset + HEIGHT) {
+                return position;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    private List<Integer> attachedPositions() {
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < adapter.getItemCount(); position++) {
+            if (layoutManager.findViewByPosition(position) != null) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    private View topmostChild() {
+        View topmost = null;
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            if (topmost == null || child.getTop() < topmost.getTop()) {
+                topmost = child;
+            }
+        }
+        assertNotNull(topmost);
+        return topmost;
+    }
+
+    private static final class Item {
+        final int id;
+        final int height;
+
+        Item(int id, int height) {
+            this.id = id;
+            this.height = height;
+        }
+    }
+
+    /**
+     * 固定高度的适配器，按最短列贪心分配列（与NoteCardAdapter相同的分配方式）
+     */
+    private static final class FixedHeightAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+            implements WaterfallLayoutManager.ColumnLookup {
+
+        final List<Item> items = new ArrayList<>();
+        private final List<Integer> columns = new ArrayList<>();
+
+        void assignColumns() {
+            columns.clear();
+            int[] bottoms = new int[COLUMN_COUNT];
+            for (Item item : items) {
+                int column = 0;
+                for (int c = 1; c < COLUMN_COUNT; c++) {
+                    if (bottoms[c] < bottoms[column]) {
+                        column = c;
+                    }
+                }
+                columns.add(column);
+                bottoms[column] += item.height;
+            }
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 0));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+            Item item = items.get(position);
+            holder.itemView.getLayoutParams().height = item.height;
+            holder.itemView.setTag(item.id);
+        }
+
+        @Override
+        public int getItemCount() {
+            return items.size();
+        }
+
+        @Override
+        public int getColumn(int position) {
+            return columns.get(position);
+        }
+
+        @Override
+        public int getEstimatedHeight(int position) {
+            return items.get(position).height;
+        }
+
+        @Override
+        public int getHeightClass(int position) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.limtide.ugclite.utils;
+
+import android.content.Context;
+import android.os.Looper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * VideoStateStore的LRU淘汰和持久化测试
+ * 每个用例直接构造新实例模拟冷启动，Robolectric在用例之间清空SharedPreferences
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VideoStateStoreTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyAccessedBeyondLimit() {
+        VideoStateStore store = new VideoStateStore(context);
+        for (int i = 0; i < VideoStateStore.MAX_ENTRIES; i++) {
+            store.put("url" + i, i, false, false);
+        }
+        // 读取会刷新访问顺序，url1成为最久未访问
+        assertNotNull(store.get("url0"));
+
+        store.put("new", 0, false, false);
+
+        assertEquals(VideoStateStore.MAX_ENTRIES, store.size());
+        assertNotNull(store.get("url0"));
+        assertNull(store.get("url1"));
+        assertNotNull(store.get("new"));
+    }
+
+    @Test
+    public void flush_roundTripRestoresPositionsAndAccessOrder() {
+        VideoStateStore store = new VideoStateStore(context);
+        store.put("a", 1000, true, true);
+        store.put("b", 2000, false, false);
+        store.put("c", 3000, false, true);
+        store.get("a"); // 访问顺序: b, c, a
+        store.flush();
+
+        VideoStateStore reloaded = new VideoStateStore(context);
+        assertEquals(3, reloaded.size());
+        VideoStateStore.VideoState a = reloaded.get("a");
+        assertEquals(1000, a.position);
+        // 跨启动只恢复播放位置
+        assertFalse(a.isPlaying);
+        assertFalse(a.isMuted);
+        assertEquals(3000, reloaded.get("c").position);
+
+        // 重新填满后最先淘汰的应是最久未访问的b（上面的get也刷新了a和c）
+        for (int i = 0; i < VideoStateStore.MAX_ENTRIES - 2; i++) {
+            reloaded.put("url" + i, i, false, false);
+        }
+        assertNull(reloaded.get("b"));
+        assertNotNull(reloaded.get("a"));
+        assertNotNull(reloaded.get("c"));
+    }
+
+    @Test
+    public void put_writesAfterFlushDelay() {
+        VideoStateStore store = new VideoStateStore(context);
+        store.put("a", 1000, false, false);
+        store.put("a", 1500, false, false);
+
+        // 合并窗口结束前没有写入
+        assertEquals(0, new VideoStateStore(context).size());
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(VideoStateStore.FLUSH_DELAY_MS));
+        VideoStateStore reloaded = new VideoStateStore(context);
+        assertEquals(1, reloaded.size());
+        assertEquals(1500, reloaded.get("a").position);
+    }
+
+    @Test
+    public void load_discardsCorruptData() {
+        context.getSharedPreferences("video_states", Context.MODE_PRIVATE)
+                .edit().putString("states", "not json").commit();
+
+        VideoStateStore store = new VideoStateStore(context);
+
+        assertEquals(0, store.size());
+        assertFalse(context.getSharedPreferences("video_states", Context.MODE_PRIVATE).contains("states"));
+    }
+}